@@ -62,6 +62,76 @@ public class EventBusOptionsConverter {
             obj.setClusterPingReplyInterval(((Number)member.getValue()).longValue());
           }
           break;
+        case "clusterWriteCoalescing":
+          if (member.getValue() instanceof Boolean) {
+            obj.setClusterWriteCoalescing((Boolean)member.getValue());
+          }
+          break;
+        case "clusterWriteCoalescingThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterWriteCoalescingThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterConnectionsPerNode":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterConnectionsPerNode(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterCompression":
+          if (member.getValue() instanceof String) {
+            obj.setClusterCompression(io.vertx.core.eventbus.MessageCompression.valueOf((String)member.getValue()));
+          }
+          break;
+        case "clusterCompressionThreshold":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterCompressionThreshold(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterMaxPendingSelections":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterMaxPendingSelections(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterMaxPendingWrites":
+          if (member.getValue() instanceof Number) {
+            obj.setClusterMaxPendingWrites(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "clusterPreloadedAddresses":
+          if (member.getValue() instanceof JsonArray) {
+            java.util.ArrayList<java.lang.String> list =  new java.util.ArrayList<>();
+            ((Iterable<Object>)member.getValue()).forEach( item -> {
+              if (item instanceof String)
+                list.add((String)item);
+            });
+            obj.setClusterPreloadedAddresses(list);
+          }
+          break;
+        case "handlerSelectionPolicy":
+          if (member.getValue() instanceof String) {
+            obj.setHandlerSelectionPolicy(io.vertx.core.eventbus.HandlerSelectionPolicy.valueOf((String)member.getValue()));
+          }
+          break;
+        case "sharedMessageBodies":
+          if (member.getValue() instanceof Boolean) {
+            obj.setSharedMessageBodies((Boolean)member.getValue());
+          }
+          break;
+        case "addressStatisticsEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAddressStatisticsEnabled((Boolean)member.getValue());
+          }
+          break;
+        case "slowConsumerWarningTime":
+          if (member.getValue() instanceof Number) {
+            obj.setSlowConsumerWarningTime(((Number)member.getValue()).longValue());
+          }
+          break;
+        case "slowConsumerWarningTimeUnit":
+          if (member.getValue() instanceof String) {
+            obj.setSlowConsumerWarningTimeUnit(java.util.concurrent.TimeUnit.valueOf((String)member.getValue()));
+          }
+          break;
         case "clusterPublicHost":
           if (member.getValue() instanceof String) {
             obj.setClusterPublicHost((String)member.getValue());
@@ -100,6 +170,29 @@ public class EventBusOptionsConverter {
     json.put("connectTimeout", obj.getConnectTimeout());
     json.put("clusterPingInterval", obj.getClusterPingInterval());
     json.put("clusterPingReplyInterval", obj.getClusterPingReplyInterval());
+    json.put("clusterWriteCoalescing", obj.isClusterWriteCoalescing());
+    json.put("clusterWriteCoalescingThreshold", obj.getClusterWriteCoalescingThreshold());
+    json.put("clusterConnectionsPerNode", obj.getClusterConnectionsPerNode());
+    if (obj.getClusterCompression() != null) {
+      json.put("clusterCompression", obj.getClusterCompression().name());
+    }
+    json.put("clusterCompressionThreshold", obj.getClusterCompressionThreshold());
+    json.put("clusterMaxPendingSelections", obj.getClusterMaxPendingSelections());
+    json.put("clusterMaxPendingWrites", obj.getClusterMaxPendingWrites());
+    if (obj.getClusterPreloadedAddresses() != null) {
+      JsonArray array = new JsonArray();
+      obj.getClusterPreloadedAddresses().forEach(item -> array.add(item));
+      json.put("clusterPreloadedAddresses", array);
+    }
+    if (obj.getHandlerSelectionPolicy() != null) {
+      json.put("handlerSelectionPolicy", obj.getHandlerSelectionPolicy().name());
+    }
+    json.put("sharedMessageBodies", obj.isSharedMessageBodies());
+    json.put("addressStatisticsEnabled", obj.isAddressStatisticsEnabled());
+    json.put("slowConsumerWarningTime", obj.getSlowConsumerWarningTime());
+    if (obj.getSlowConsumerWarningTimeUnit() != null) {
+      json.put("slowConsumerWarningTimeUnit", obj.getSlowConsumerWarningTimeUnit().name());
+    }
     if (obj.getClusterPublicHost() != null) {
       json.put("clusterPublicHost", obj.getClusterPublicHost());
     }
@@ -22,6 +22,11 @@ public class MessageConsumerOptionsConverter {
             obj.setLocalOnly((Boolean)member.getValue());
           }
           break;
+        case "addressPattern":
+          if (member.getValue() instanceof Boolean) {
+            obj.setAddressPattern((Boolean)member.getValue());
+          }
+          break;
         case "maxBufferedMessages":
           if (member.getValue() instanceof Number) {
             obj.setMaxBufferedMessages(((Number)member.getValue()).intValue());
@@ -40,6 +45,7 @@ public class MessageConsumerOptionsConverter {
       json.put("address", obj.getAddress());
     }
     json.put("localOnly", obj.isLocalOnly());
+    json.put("addressPattern", obj.isAddressPattern());
     json.put("maxBufferedMessages", obj.getMaxBufferedMessages());
   }
 }
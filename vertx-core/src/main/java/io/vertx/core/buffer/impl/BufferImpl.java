@@ -535,6 +535,14 @@ public class BufferImpl implements BufferInternal {
     return buffer.isReadOnly() ? this : new BufferImpl(buffer.copy());
   }
 
+  public BufferImpl asReadOnly() {
+    return buffer.isReadOnly() ? this : new BufferImpl(buffer.asReadOnly());
+  }
+
+  public boolean isReadOnly() {
+    return buffer.isReadOnly();
+  }
+
   public BufferImpl slice() {
     return new BufferImpl(buffer.slice());
   }
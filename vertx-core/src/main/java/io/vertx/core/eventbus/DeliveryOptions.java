@@ -47,11 +47,28 @@ public class DeliveryOptions {
    */
   public static final TracingPolicy DEFAULT_TRACING_POLICY = TracingPolicy.PROPAGATE;
 
+  /**
+   * Whether the message body is shared by the local consumers by default = false.
+   */
+  public static final boolean DEFAULT_SHARED_BODY = false;
+
+  /**
+   * The default message priority = 0, the lowest priority.
+   */
+  public static final int DEFAULT_PRIORITY = 0;
+
+  /**
+   * The highest message priority = 9.
+   */
+  public static final int MAX_PRIORITY = 9;
+
   private long timeout = DEFAULT_TIMEOUT;
   private String codecName;
   private MultiMap headers;
   private boolean localOnly = DEFAULT_LOCAL_ONLY;
   private TracingPolicy tracingPolicy = DEFAULT_TRACING_POLICY;
+  private boolean sharedBody = DEFAULT_SHARED_BODY;
+  private int priority = DEFAULT_PRIORITY;
 
   /**
    * Default constructor
@@ -72,6 +89,8 @@ public class DeliveryOptions {
     }
     this.localOnly = other.localOnly;
     this.tracingPolicy = other.tracingPolicy;
+    this.sharedBody = other.sharedBody;
+    this.priority = other.priority;
   }
 
   /**
@@ -95,6 +114,8 @@ public class DeliveryOptions {
     this.localOnly = json.getBoolean("localOnly", DEFAULT_LOCAL_ONLY);
     String tracingPolicyStr = json.getString("tracingPolicy");
     this.tracingPolicy = tracingPolicyStr != null ? TracingPolicy.valueOf(tracingPolicyStr) : DEFAULT_TRACING_POLICY;
+    this.sharedBody = json.getBoolean("sharedBody", DEFAULT_SHARED_BODY);
+    this.priority = json.getInteger("priority", DEFAULT_PRIORITY);
   }
 
   /**
@@ -115,6 +136,8 @@ public class DeliveryOptions {
     if (tracingPolicy != null) {
       json.put("tracingPolicy", tracingPolicy.name());
     }
+    json.put("sharedBody", sharedBody);
+    json.put("priority", priority);
     return json;
   }
 
@@ -250,4 +273,52 @@ public class DeliveryOptions {
     this.tracingPolicy = tracingPolicy;
     return this;
   }
+
+  /**
+   * @return whether the message body is shared by the local consumers
+   */
+  public boolean isSharedBody() {
+    return sharedBody;
+  }
+
+  /**
+   * Whether the message body is shared by the local consumers instead of being copied for each of them. Defaults to
+   * {@code false}.
+   * <p>
+   * A {@link io.vertx.core.json.JsonObject}, {@link io.vertx.core.json.JsonArray} or {@link io.vertx.core.buffer.Buffer}
+   * body is delivered as a read-only view of the sent body, modifying it throws an exception. The sender must not
+   * modify the body after sending it. Other bodies are delivered as usual.
+   *
+   * @param sharedBody {@code true} to share the body, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setSharedBody(boolean sharedBody) {
+    this.sharedBody = sharedBody;
+    return this;
+  }
+
+  /**
+   * @return the message priority
+   */
+  public int getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the message priority, between {@code 0} and {@link #MAX_PRIORITY}. Defaults to {@code 0}.
+   * <p>
+   * The messages buffered by a consumer are delivered by decreasing priority, the messages of the same priority are
+   * delivered in order. Each priority has its own buffer, so a consumer buffering too many messages of a priority
+   * still receives the messages of other priorities.
+   * <p>
+   * The priority is carried by a message header, so it applies to the messages received from other nodes as well.
+   *
+   * @param priority the message priority
+   * @return a reference to this, so the API can be used fluently
+   */
+  public DeliveryOptions setPriority(int priority) {
+    Arguments.requireInRange(priority, 0, MAX_PRIORITY, "priority must be between 0 and " + MAX_PRIORITY);
+    this.priority = priority;
+    return this;
+  }
 }
@@ -21,6 +21,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.eventbus.impl.DefaultSerializableChecker;
 import io.vertx.core.metrics.Measured;
 
+import java.util.List;
 import java.util.function.Function;
 
 import static io.vertx.codegen.annotations.GenIgnore.PERMITTED_TYPE;
@@ -116,6 +117,53 @@ public interface EventBus extends Measured {
   @Fluent
   EventBus publish(String address, @Nullable Object message, DeliveryOptions options);
 
+  /**
+   * Sends a batch of messages to the same address.
+   * <p>
+   * Each message will be delivered to at most one of the handlers registered to the address. The handlers and the
+   * codec are resolved once for the whole batch, the messages to a same handler are queued at once and the messages
+   * to a same remote node are written at once.
+   *
+   * @param address  the address to send them to
+   * @param messages  the messages, may contain {@code null} values
+   * @param options  delivery options
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  @GenIgnore(PERMITTED_TYPE)
+  EventBus sendBatch(String address, List<?> messages, DeliveryOptions options);
+
+  /**
+   * Like {@link #sendBatch(String, List, DeliveryOptions)} but expecting a reply to each message.
+   * <p>
+   * The returned future fails fast: it is failed as soon as one of the requests fails, the replies to the other
+   * requests are then dropped. Use {@link #request(String, Object, DeliveryOptions)} when the outcome of each
+   * message matters.
+   *
+   * @param address  the address to send them to
+   * @param messages  the messages, may contain {@code null} values
+   * @param options  delivery options
+   * @return a future notified with the replies to the messages, in the same order, or the first failure
+   */
+  @GenIgnore(PERMITTED_TYPE)
+  <T> Future<List<Message<T>>> requestBatch(String address, List<?> messages, DeliveryOptions options);
+
+  /**
+   * Publish a batch of messages to the same address.
+   * <p>
+   * Each message will be delivered to all handlers registered to the address. The handlers and the codec are
+   * resolved once for the whole batch, the messages to a same handler are queued at once and the messages to a same
+   * remote node are written at once.
+   *
+   * @param address  the address to publish them to
+   * @param messages  the messages, may contain {@code null} values
+   * @param options  delivery options
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  @GenIgnore(PERMITTED_TYPE)
+  EventBus publishBatch(String address, List<?> messages, DeliveryOptions options);
+
   /**
    * Create a message consumer against the specified options address.
    * <p>
@@ -19,6 +19,8 @@ import io.vertx.core.http.ClientAuth;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -63,11 +65,84 @@ public class EventBusOptions extends TCPSSLOptions {
    */
   public static final long DEFAULT_CLUSTER_PING_REPLY_INTERVAL = TimeUnit.SECONDS.toMillis(20);
 
+  /**
+   * The default value of whether cluster writes are coalesced = false
+   */
+  public static final boolean DEFAULT_CLUSTER_WRITE_COALESCING = false;
+
+  /**
+   * The default cluster write coalescing threshold = 65536 bytes
+   */
+  public static final int DEFAULT_CLUSTER_WRITE_COALESCING_THRESHOLD = 64 * 1024;
+
+  /**
+   * The default number of connections opened to each remote node = 1
+   */
+  public static final int DEFAULT_CLUSTER_CONNECTIONS_PER_NODE = 1;
+
+  /**
+   * The default compression of message bodies sent to remote nodes = {@link MessageCompression#NONE}
+   */
+  public static final MessageCompression DEFAULT_CLUSTER_COMPRESSION = MessageCompression.NONE;
+
+  /**
+   * The default size above which message bodies are compressed = 8192 bytes
+   */
+  public static final int DEFAULT_CLUSTER_COMPRESSION_THRESHOLD = 8192;
+
+  /**
+   * The default maximum number of node selections waiting for the registrations of an address = 65536
+   */
+  public static final int DEFAULT_CLUSTER_MAX_PENDING_SELECTIONS = 65536;
+
+  /**
+   * The default maximum number of messages waiting for the connection to a remote node = 65536
+   */
+  public static final int DEFAULT_CLUSTER_MAX_PENDING_WRITES = 65536;
+
+  /**
+   * The default selection of the local handler receiving a sent message = {@link HandlerSelectionPolicy#ROUND_ROBIN}
+   */
+  public static final HandlerSelectionPolicy DEFAULT_HANDLER_SELECTION_POLICY = HandlerSelectionPolicy.ROUND_ROBIN;
+
+  /**
+   * Whether message bodies are shared by the local consumers by default = false
+   */
+  public static final boolean DEFAULT_SHARED_MESSAGE_BODIES = false;
+
+  /**
+   * Whether the per address message counters are maintained by default = false
+   */
+  public static final boolean DEFAULT_ADDRESS_STATISTICS_ENABLED = false;
+
+  /**
+   * The default time a message can wait in the queue of a consumer before a warning is logged = 0, no warning
+   */
+  public static final long DEFAULT_SLOW_CONSUMER_WARNING_TIME = 0L;
+
+  /**
+   * The default time unit of the slow consumer warning time = {@link TimeUnit#MILLISECONDS}
+   */
+  public static final TimeUnit DEFAULT_SLOW_CONSUMER_WARNING_TIME_UNIT = TimeUnit.MILLISECONDS;
+
   private String clusterPublicHost = DEFAULT_CLUSTER_PUBLIC_HOST;
   private int clusterPublicPort = DEFAULT_CLUSTER_PUBLIC_PORT;
   private long clusterPingInterval = DEFAULT_CLUSTER_PING_INTERVAL;
   private long clusterPingReplyInterval = DEFAULT_CLUSTER_PING_REPLY_INTERVAL;
+  private boolean clusterWriteCoalescing = DEFAULT_CLUSTER_WRITE_COALESCING;
+  private int clusterWriteCoalescingThreshold = DEFAULT_CLUSTER_WRITE_COALESCING_THRESHOLD;
+  private int clusterConnectionsPerNode = DEFAULT_CLUSTER_CONNECTIONS_PER_NODE;
+  private MessageCompression clusterCompression = DEFAULT_CLUSTER_COMPRESSION;
+  private int clusterCompressionThreshold = DEFAULT_CLUSTER_COMPRESSION_THRESHOLD;
+  private int clusterMaxPendingSelections = DEFAULT_CLUSTER_MAX_PENDING_SELECTIONS;
+  private int clusterMaxPendingWrites = DEFAULT_CLUSTER_MAX_PENDING_WRITES;
+  private List<String> clusterPreloadedAddresses = new ArrayList<>();
   private JsonObject clusterNodeMetadata;
+  private HandlerSelectionPolicy handlerSelectionPolicy = DEFAULT_HANDLER_SELECTION_POLICY;
+  private boolean sharedMessageBodies = DEFAULT_SHARED_MESSAGE_BODIES;
+  private boolean addressStatisticsEnabled = DEFAULT_ADDRESS_STATISTICS_ENABLED;
+  private long slowConsumerWarningTime = DEFAULT_SLOW_CONSUMER_WARNING_TIME;
+  private TimeUnit slowConsumerWarningTimeUnit = DEFAULT_SLOW_CONSUMER_WARNING_TIME_UNIT;
 
   // Attributes used to configure the server of the event bus when the event bus is clustered.
 
@@ -144,7 +219,20 @@ public class EventBusOptions extends TCPSSLOptions {
     this.clusterPublicPort = other.clusterPublicPort;
     this.clusterPingInterval = other.clusterPingInterval;
     this.clusterPingReplyInterval = other.clusterPingReplyInterval;
+    this.clusterWriteCoalescing = other.clusterWriteCoalescing;
+    this.clusterWriteCoalescingThreshold = other.clusterWriteCoalescingThreshold;
+    this.clusterConnectionsPerNode = other.clusterConnectionsPerNode;
+    this.clusterCompression = other.clusterCompression;
+    this.clusterCompressionThreshold = other.clusterCompressionThreshold;
+    this.clusterMaxPendingSelections = other.clusterMaxPendingSelections;
+    this.clusterMaxPendingWrites = other.clusterMaxPendingWrites;
+    this.clusterPreloadedAddresses = new ArrayList<>(other.clusterPreloadedAddresses);
     this.clusterNodeMetadata = other.clusterNodeMetadata == null ? null : other.clusterNodeMetadata.copy();
+    this.handlerSelectionPolicy = other.handlerSelectionPolicy;
+    this.sharedMessageBodies = other.sharedMessageBodies;
+    this.addressStatisticsEnabled = other.addressStatisticsEnabled;
+    this.slowConsumerWarningTime = other.slowConsumerWarningTime;
+    this.slowConsumerWarningTimeUnit = other.slowConsumerWarningTimeUnit;
 
     this.port = other.port;
     this.host = other.host;
@@ -578,6 +666,285 @@ public class EventBusOptions extends TCPSSLOptions {
     return this;
   }
 
+  /**
+   * @return whether messages sent to a remote node are coalesced into a single write
+   */
+  public boolean isClusterWriteCoalescing() {
+    return clusterWriteCoalescing;
+  }
+
+  /**
+   * Set whether messages sent to a remote node are coalesced into a single write.
+   * <p>
+   * When enabled, messages are encoded into a shared direct buffer which is written and flushed once per
+   * event-loop iteration, or as soon as it reaches the {@link #setClusterWriteCoalescingThreshold(int) threshold}.
+   *
+   * @param clusterWriteCoalescing {@code true} to coalesce writes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterWriteCoalescing(boolean clusterWriteCoalescing) {
+    this.clusterWriteCoalescing = clusterWriteCoalescing;
+    return this;
+  }
+
+  /**
+   * @return the number of coalesced bytes after which a write is flushed, in bytes
+   */
+  public int getClusterWriteCoalescingThreshold() {
+    return clusterWriteCoalescingThreshold;
+  }
+
+  /**
+   * Set the number of coalesced bytes after which a write is flushed without waiting for the next event-loop
+   * iteration, in bytes.
+   *
+   * @param clusterWriteCoalescingThreshold the threshold, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterWriteCoalescingThreshold(int clusterWriteCoalescingThreshold) {
+    if (clusterWriteCoalescingThreshold < 1) {
+      throw new IllegalArgumentException("clusterWriteCoalescingThreshold must be greater than 0");
+    }
+    this.clusterWriteCoalescingThreshold = clusterWriteCoalescingThreshold;
+    return this;
+  }
+
+  /**
+   * @return the number of connections opened to each remote node
+   */
+  public int getClusterConnectionsPerNode() {
+    return clusterConnectionsPerNode;
+  }
+
+  /**
+   * Set the number of connections opened to each remote node.
+   * <p>
+   * Messages are assigned to a connection according to their address, so messages sent to the same address
+   * are always written in order on the same connection.
+   *
+   * @param clusterConnectionsPerNode the number of connections
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterConnectionsPerNode(int clusterConnectionsPerNode) {
+    if (clusterConnectionsPerNode < 1) {
+      throw new IllegalArgumentException("clusterConnectionsPerNode must be greater than 0");
+    }
+    this.clusterConnectionsPerNode = clusterConnectionsPerNode;
+    return this;
+  }
+
+  /**
+   * @return the compression applied to the body of messages sent to remote nodes
+   */
+  public MessageCompression getClusterCompression() {
+    return clusterCompression;
+  }
+
+  /**
+   * Set the compression applied to the body of messages sent to remote nodes.
+   * <p>
+   * Only bodies larger than the {@link #setClusterCompressionThreshold(int) compression threshold} are compressed,
+   * and only when the remote node supports it, otherwise they are sent as is.
+   *
+   * @param clusterCompression the compression
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterCompression(MessageCompression clusterCompression) {
+    this.clusterCompression = clusterCompression == null ? MessageCompression.NONE : clusterCompression;
+    return this;
+  }
+
+  /**
+   * @return the size above which message bodies sent to remote nodes are compressed, in bytes
+   */
+  public int getClusterCompressionThreshold() {
+    return clusterCompressionThreshold;
+  }
+
+  /**
+   * Set the size above which message bodies sent to remote nodes are compressed, in bytes.
+   *
+   * @param clusterCompressionThreshold the threshold, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterCompressionThreshold(int clusterCompressionThreshold) {
+    if (clusterCompressionThreshold < 0) {
+      throw new IllegalArgumentException("clusterCompressionThreshold must be >= 0");
+    }
+    this.clusterCompressionThreshold = clusterCompressionThreshold;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of node selections waiting for the registrations of an address
+   */
+  public int getClusterMaxPendingSelections() {
+    return clusterMaxPendingSelections;
+  }
+
+  /**
+   * Set the maximum number of node selections waiting for the registrations of an address.
+   * <p>
+   * Messages sent to an address that has not been resolved yet wait for its registrations to be retrieved from the
+   * cluster manager, when the limit is reached they fail immediately.
+   *
+   * @param clusterMaxPendingSelections the maximum number of pending selections per address
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterMaxPendingSelections(int clusterMaxPendingSelections) {
+    if (clusterMaxPendingSelections < 1) {
+      throw new IllegalArgumentException("clusterMaxPendingSelections must be > 0");
+    }
+    this.clusterMaxPendingSelections = clusterMaxPendingSelections;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of messages waiting for the connection to a remote node
+   */
+  public int getClusterMaxPendingWrites() {
+    return clusterMaxPendingWrites;
+  }
+
+  /**
+   * Set the maximum number of messages waiting for the connection to a remote node to be established, when the limit
+   * is reached further messages to this node fail immediately.
+   *
+   * @param clusterMaxPendingWrites the maximum number of pending messages per remote node
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterMaxPendingWrites(int clusterMaxPendingWrites) {
+    if (clusterMaxPendingWrites < 1) {
+      throw new IllegalArgumentException("clusterMaxPendingWrites must be > 0");
+    }
+    this.clusterMaxPendingWrites = clusterMaxPendingWrites;
+    return this;
+  }
+
+  /**
+   * @return the addresses whose registrations are retrieved when the event bus starts
+   */
+  public List<String> getClusterPreloadedAddresses() {
+    return clusterPreloadedAddresses;
+  }
+
+  /**
+   * Set the addresses whose registrations are retrieved when the event bus starts.
+   * <p>
+   * The node selection of these addresses is kept up to date from then on, so the first messages sent to them
+   * do not wait for the cluster manager.
+   *
+   * @param clusterPreloadedAddresses the addresses
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setClusterPreloadedAddresses(List<String> clusterPreloadedAddresses) {
+    this.clusterPreloadedAddresses = clusterPreloadedAddresses == null ? new ArrayList<>() : clusterPreloadedAddresses;
+    return this;
+  }
+
+  /**
+   * @return how the local handler receiving a sent message is selected
+   */
+  public HandlerSelectionPolicy getHandlerSelectionPolicy() {
+    return handlerSelectionPolicy;
+  }
+
+  /**
+   * Set how the local handler receiving a sent message is selected when several handlers are registered at its address.
+   * <p>
+   * Published messages are delivered to all handlers regardless of this policy.
+   *
+   * @param handlerSelectionPolicy the policy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setHandlerSelectionPolicy(HandlerSelectionPolicy handlerSelectionPolicy) {
+    this.handlerSelectionPolicy = handlerSelectionPolicy == null ? DEFAULT_HANDLER_SELECTION_POLICY : handlerSelectionPolicy;
+    return this;
+  }
+
+  /**
+   * @return whether message bodies are shared by the local consumers
+   */
+  public boolean isSharedMessageBodies() {
+    return sharedMessageBodies;
+  }
+
+  /**
+   * Set whether message bodies are shared by the local consumers instead of being copied for each of them, for all
+   * messages regardless of {@link DeliveryOptions#setSharedBody(boolean)}.
+   *
+   * @param sharedMessageBodies {@code true} to share the bodies, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setSharedMessageBodies(boolean sharedMessageBodies) {
+    this.sharedMessageBodies = sharedMessageBodies;
+    return this;
+  }
+
+  /**
+   * @return whether the per address message counters are maintained
+   */
+  public boolean isAddressStatisticsEnabled() {
+    return addressStatisticsEnabled;
+  }
+
+  /**
+   * Set whether the per address message counters are maintained.
+   * <p>
+   * The counters are cheap to update, they are not pushed to the metrics SPI, instead they can be read
+   * periodically as snapshots. They include histograms of the time messages wait in the consumer queues, of the
+   * consumer handling time and of the request round trip time, these require to read the clock for each message.
+   *
+   * @param addressStatisticsEnabled {@code true} to maintain the counters, {@code false} otherwise
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setAddressStatisticsEnabled(boolean addressStatisticsEnabled) {
+    this.addressStatisticsEnabled = addressStatisticsEnabled;
+    return this;
+  }
+
+  /**
+   * @return the time a message can wait in the queue of a consumer before a warning is logged, in {@link #getSlowConsumerWarningTimeUnit()}
+   */
+  public long getSlowConsumerWarningTime() {
+    return slowConsumerWarningTime;
+  }
+
+  /**
+   * Set the time a message can wait in the queue of a consumer before a warning is logged, {@code 0} disables the
+   * warning. The warnings of a consumer are logged at most once per this time.
+   * <p>
+   * The wait time is only measured when the address statistics are enabled.
+   *
+   * @param slowConsumerWarningTime the time, in {@link #setSlowConsumerWarningTimeUnit(TimeUnit)}
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setSlowConsumerWarningTime(long slowConsumerWarningTime) {
+    if (slowConsumerWarningTime < 0) {
+      throw new IllegalArgumentException("slowConsumerWarningTime must be >= 0");
+    }
+    this.slowConsumerWarningTime = slowConsumerWarningTime;
+    return this;
+  }
+
+  /**
+   * @return the time unit of {@code slowConsumerWarningTime}
+   */
+  public TimeUnit getSlowConsumerWarningTimeUnit() {
+    return slowConsumerWarningTimeUnit;
+  }
+
+  /**
+   * Set the time unit of {@code slowConsumerWarningTime}. Defaults to {@link TimeUnit#MILLISECONDS}.
+   *
+   * @param slowConsumerWarningTimeUnit the time unit
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EventBusOptions setSlowConsumerWarningTimeUnit(TimeUnit slowConsumerWarningTimeUnit) {
+    this.slowConsumerWarningTimeUnit = slowConsumerWarningTimeUnit;
+    return this;
+  }
+
   /**
    * Get the public facing host to be used when clustering.
    *
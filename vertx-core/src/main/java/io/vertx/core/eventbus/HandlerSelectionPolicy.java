@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * How the handler receiving a message sent to an address with several local handlers is selected.
+ */
+@VertxGen
+public enum HandlerSelectionPolicy {
+
+  /**
+   * Handlers are selected in turn.
+   */
+  ROUND_ROBIN,
+
+  /**
+   * Handlers running on the event loop of the sender are selected in turn, the other handlers are selected in turn
+   * when there are none, saving a thread hop when the sender and a handler share an event loop.
+   */
+  EVENT_LOOP_AFFINITY
+
+}
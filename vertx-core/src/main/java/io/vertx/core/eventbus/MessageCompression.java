@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The compression applied to the body of messages sent over the cluster.
+ */
+@VertxGen
+public enum MessageCompression {
+
+  /**
+   * Message bodies are not compressed.
+   */
+  NONE,
+
+  /**
+   * Message bodies are compressed with the deflate algorithm, best compression ratio.
+   */
+  DEFLATE,
+
+  /**
+   * Message bodies are compressed with the Snappy algorithm, fastest compression.
+   */
+  SNAPPY
+
+}
@@ -11,11 +11,18 @@
 
 package io.vertx.core.eventbus;
 
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.streams.ReadStream;
 
+import java.time.Duration;
+import java.util.List;
+
+import static io.vertx.codegen.annotations.GenIgnore.PERMITTED_TYPE;
+
 /**
  * An event bus consumer object representing a stream of message to an {@link EventBus} address that can
  * be read from.
@@ -50,6 +57,25 @@ public interface MessageConsumer<T> extends ReadStream<Message<T>> {
   @Override
   MessageConsumer<T> endHandler(Handler<Void> endHandler);
 
+  /**
+   * Set a handler receiving the messages in batches instead of one by one, this registers the consumer like
+   * {@link #handler(Handler)} does and replaces the handler set by it.
+   * <p>
+   * A batch is delivered when it contains {@code maxBatch} messages or when {@code maxDelay} has elapsed since its
+   * first message was received, with a zero delay the messages already buffered are delivered at once.
+   * <p>
+   * The demand of {@link #pause()} and {@link #fetch(long)} is still counted in messages, the messages of
+   * the batch being filled are taken out of the buffer bounded by {@link MessageConsumerOptions#getMaxBufferedMessages()}.
+   *
+   * @param maxBatch the maximum number of messages of a batch
+   * @param maxDelay the maximum delay to wait for a batch to be filled, rounded up to the millisecond
+   * @param handler the batch handler, {@code null} unregisters the consumer
+   * @return this consumer
+   */
+  @Fluent
+  @GenIgnore(PERMITTED_TYPE)
+  MessageConsumer<T> batchHandler(int maxBatch, Duration maxDelay, Handler<List<Message<T>>> handler);
+
   /**
    * @return a read stream for the body of the message stream.
    */
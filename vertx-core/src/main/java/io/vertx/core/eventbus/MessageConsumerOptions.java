@@ -34,8 +34,14 @@ public class MessageConsumerOptions {
    */
   public static final boolean DEFAULT_LOCAL_ONLY = false;
 
+  /**
+   * The default consumer address pattern = {@code false}
+   */
+  public static final boolean DEFAULT_ADDRESS_PATTERN = false;
+
   private String address;
   private boolean localOnly;
+  private boolean addressPattern;
   private int maxBufferedMessages;
 
   /**
@@ -44,6 +50,7 @@ public class MessageConsumerOptions {
   public MessageConsumerOptions() {
     maxBufferedMessages = DEFAULT_MAX_BUFFERED_MESSAGES;
     localOnly = DEFAULT_LOCAL_ONLY;
+    addressPattern = DEFAULT_ADDRESS_PATTERN;
   }
 
   /**
@@ -55,6 +62,7 @@ public class MessageConsumerOptions {
     this();
     maxBufferedMessages = other.getMaxBufferedMessages();
     localOnly = other.isLocalOnly();
+    addressPattern = other.isAddressPattern();
     address = other.getAddress();
   }
 
@@ -104,6 +112,31 @@ public class MessageConsumerOptions {
     return this;
   }
 
+  /**
+   * @return whether the consumer address is a pattern
+   */
+  public boolean isAddressPattern() {
+    return addressPattern;
+  }
+
+  /**
+   * Set whether the consumer address is a pattern matching several addresses.
+   * <p>
+   * A pattern is made of tokens separated by {@code .}, the {@code *} token matches any single token and the
+   * {@code >} token, only allowed at the end of the pattern, matches one or more tokens. For instance {@code orders.*}
+   * matches {@code orders.123} and {@code orders.>} matches {@code orders.123} and {@code orders.123.created}.
+   * <p>
+   * The consumer receives the messages sent or published to the addresses matching the pattern, a clustered event bus
+   * registers the pattern once in the cluster manager.
+   *
+   * @param addressPattern whether the consumer address is a pattern
+   * @return this options
+   */
+  public MessageConsumerOptions setAddressPattern(boolean addressPattern) {
+    this.addressPattern = addressPattern;
+    return this;
+  }
+
   /**
    * @return the maximum number of messages that can be buffered when this stream is paused
    */
@@ -14,6 +14,7 @@ package io.vertx.core.eventbus;
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 
 /**
  * Represents a stream of message that can be written to.
@@ -54,6 +55,44 @@ public interface MessageProducer<T> {
    */
   Future<Void> write(T body);
 
+  /**
+   * Enable the credit based flow control of this producer, bounding the number of messages not yet handled by
+   * the consumers to {@code maxSize}.
+   * <p>
+   * Consumers grant a credit back to the producer for each message they handle, over the cluster when they live
+   * on a remote node. Messages written while no credits are available wait in the producer, at most {@code maxSize}
+   * of them, further writes fail.
+   * <p>
+   * Only a sender can be flow controlled, a producer that does not support flow control ignores this call.
+   *
+   * @param maxSize the maximum number of messages not yet handled by the consumers
+   * @return this producer object
+   * @throws IllegalStateException when the producer is a publisher
+   */
+  @Fluent
+  default MessageProducer<T> setWriteQueueMaxSize(int maxSize) {
+    return this;
+  }
+
+  /**
+   * @return {@code true} when the producer is flow controlled and the consumers have no remaining capacity
+   */
+  default boolean writeQueueFull() {
+    return false;
+  }
+
+  /**
+   * Set a drain handler on the producer, called when the consumers capacity of a flow controlled producer
+   * is back to half of the write queue max size.
+   *
+   * @param handler the handler
+   * @return this producer object
+   */
+  @Fluent
+  default MessageProducer<T> drainHandler(Handler<Void> handler) {
+    return this;
+  }
+
   /**
    * Closes the producer, this method should be called when the message producer is not used anymore.
    *
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The message counters of an address, resolved once by the registrations and the producers of the address so
+ * counting a message does not look the address up.
+ */
+public final class AddressCounters {
+
+  private static final AtomicReferenceFieldUpdater<AddressCounters, LatencyHistogram> QUEUE_WAIT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(AddressCounters.class, LatencyHistogram.class, "queueWait");
+  private static final AtomicReferenceFieldUpdater<AddressCounters, LatencyHistogram> HANDLER_TIME_UPDATER = AtomicReferenceFieldUpdater.newUpdater(AddressCounters.class, LatencyHistogram.class, "handlerTime");
+  private static final AtomicReferenceFieldUpdater<AddressCounters, LatencyHistogram> ROUND_TRIP_UPDATER = AtomicReferenceFieldUpdater.newUpdater(AddressCounters.class, LatencyHistogram.class, "roundTrip");
+
+  private final String address;
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder published = new LongAdder();
+  private final LongAdder received = new LongAdder();
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder discarded = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+  private final LongAdder bytesRead = new LongAdder();
+  // Allocated by the first recorded latency, only the addresses of consumers and requests record latencies
+  private volatile LatencyHistogram queueWait;
+  private volatile LatencyHistogram handlerTime;
+  private volatile LatencyHistogram roundTrip;
+  // The registrations and producers of the address, guarded by the map of the counters
+  int owners;
+
+  AddressCounters(String address) {
+    this.address = address;
+  }
+
+  public String address() {
+    return address;
+  }
+
+  void sent(boolean publish) {
+    (publish ? published : sent).increment();
+  }
+
+  void received(int count) {
+    received.add(count);
+  }
+
+  void delivered() {
+    delivered.increment();
+  }
+
+  void discarded() {
+    discarded.increment();
+  }
+
+  void queueWait(long nanos) {
+    histogram(QUEUE_WAIT_UPDATER).record(nanos);
+  }
+
+  void handlerTime(long nanos) {
+    histogram(HANDLER_TIME_UPDATER).record(nanos);
+  }
+
+  void roundTrip(long nanos) {
+    histogram(ROUND_TRIP_UPDATER).record(nanos);
+  }
+
+  private LatencyHistogram histogram(AtomicReferenceFieldUpdater<AddressCounters, LatencyHistogram> updater) {
+    LatencyHistogram histogram = updater.get(this);
+    if (histogram == null) {
+      updater.compareAndSet(this, null, new LatencyHistogram());
+      histogram = updater.get(this);
+    }
+    return histogram;
+  }
+
+  private static LatencyStatistics snapshot(LatencyHistogram histogram) {
+    return histogram != null ? histogram.snapshot() : LatencyStatistics.EMPTY;
+  }
+
+  public void written(int numberOfBytes) {
+    bytesWritten.add(numberOfBytes);
+  }
+
+  public void read(int numberOfBytes) {
+    bytesRead.add(numberOfBytes);
+  }
+
+  AddressStatistics snapshot(long pending) {
+    return new AddressStatistics(address, sent.sum(), published.sum(), received.sum(), delivered.sum(), discarded.sum(),
+      pending, bytesWritten.sum(), bytesRead.sum(), snapshot(queueWait), snapshot(handlerTime), snapshot(roundTrip));
+  }
+}
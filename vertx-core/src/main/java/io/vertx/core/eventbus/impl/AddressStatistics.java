@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+/**
+ * A snapshot of the message counters and latencies of an address, they are cumulative since the counters of the
+ * address were created. The counters of an address are dropped when its last consumer and producer are gone.
+ * <p>
+ * The messages received by a pattern consumer are counted under the pattern, while the messages sent to the
+ * addresses matching the pattern are counted under these addresses.
+ */
+public final class AddressStatistics {
+
+  private final String address;
+  private final long sent;
+  private final long published;
+  private final long received;
+  private final long delivered;
+  private final long discarded;
+  private final long pending;
+  private final long bytesWritten;
+  private final long bytesRead;
+  private final LatencyStatistics queueWait;
+  private final LatencyStatistics handlerTime;
+  private final LatencyStatistics roundTrip;
+
+  AddressStatistics(String address, long sent, long published, long received, long delivered, long discarded,
+                    long pending, long bytesWritten, long bytesRead, LatencyStatistics queueWait,
+                    LatencyStatistics handlerTime, LatencyStatistics roundTrip) {
+    this.address = address;
+    this.sent = sent;
+    this.published = published;
+    this.received = received;
+    this.delivered = delivered;
+    this.discarded = discarded;
+    this.pending = pending;
+    this.bytesWritten = bytesWritten;
+    this.bytesRead = bytesRead;
+    this.queueWait = queueWait;
+    this.handlerTime = handlerTime;
+    this.roundTrip = roundTrip;
+  }
+
+  /**
+   * @return the address, or the pattern of pattern consumers
+   */
+  public String address() {
+    return address;
+  }
+
+  /**
+   * @return the number of messages sent from this node
+   */
+  public long sent() {
+    return sent;
+  }
+
+  /**
+   * @return the number of messages published from this node
+   */
+  public long published() {
+    return published;
+  }
+
+  /**
+   * @return the number of messages scheduled for delivery to the local consumers
+   */
+  public long received() {
+    return received;
+  }
+
+  /**
+   * @return the number of messages delivered to the local consumers
+   */
+  public long delivered() {
+    return delivered;
+  }
+
+  /**
+   * @return the number of messages discarded by the local consumers
+   */
+  public long discarded() {
+    return discarded;
+  }
+
+  /**
+   * @return the number of messages waiting in the queues of the local consumers when the snapshot was taken
+   */
+  public long pending() {
+    return pending;
+  }
+
+  /**
+   * @return the number of bytes written to remote nodes
+   */
+  public long bytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * @return the number of bytes read from remote nodes
+   */
+  public long bytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * @return the time the delivered messages waited between their reception and their dispatch to the local consumers
+   */
+  public LatencyStatistics queueWait() {
+    return queueWait;
+  }
+
+  /**
+   * @return the time spent by the local consumers dispatching the delivered messages
+   */
+  public LatencyStatistics handlerTime() {
+    return handlerTime;
+  }
+
+  /**
+   * @return the time between sending a request from this node and receiving its reply, the requests failed by a
+   *         timeout are not recorded
+   */
+  public LatencyStatistics roundTrip() {
+    return roundTrip;
+  }
+
+  @Override
+  public String toString() {
+    return "AddressStatistics[address=" + address + ",sent=" + sent + ",published=" + published + ",received=" + received +
+      ",delivered=" + delivered + ",discarded=" + discarded + ",pending=" + pending + ",bytesWritten=" + bytesWritten +
+      ",bytesRead=" + bytesRead + ",queueWait=" + queueWait + ",handlerTime=" + handlerTime + ",roundTrip=" + roundTrip + "]";
+  }
+}
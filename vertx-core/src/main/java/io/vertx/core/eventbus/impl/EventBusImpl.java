@@ -23,12 +23,17 @@ import io.vertx.core.spi.metrics.VertxMetrics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -42,19 +47,57 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   private static final AtomicReferenceFieldUpdater<EventBusImpl, Handler[]> OUTBOUND_INTERCEPTORS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(EventBusImpl.class, Handler[].class, "outboundInterceptors");
   private static final AtomicReferenceFieldUpdater<EventBusImpl, Handler[]> INBOUND_INTERCEPTORS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(EventBusImpl.class, Handler[].class, "inboundInterceptors");
 
+  static final DeliveryOptions DEFAULT_DELIVERY_OPTIONS = new DeliveryOptions();
+
+  /**
+   * The prefix of the addresses used by Vert.x itself, these addresses are not counted.
+   */
+  private static final String INTERNAL_ADDRESS_PREFIX = "__vertx";
+
+  /**
+   * The maximum number of addresses whose handlers merged with the pattern handlers are cached, the handlers of the
+   * other addresses are merged on each lookup.
+   */
+  private static final int MAX_MERGED_HANDLERS = 4096;
+
+  /**
+   * The maximum number of addresses counted without a registration or a producer, such as the addresses of the
+   * messages sent directly by the bus.
+   */
+  private static final int MAX_UNOWNED_ADDRESS_COUNTERS = 4096;
+
   private volatile Handler<DeliveryContext<?>>[] outboundInterceptors = new Handler[0];
   private volatile Handler<DeliveryContext<?>>[] inboundInterceptors = new Handler[0];
-  private final AtomicLong replySequence = new AtomicLong(0);
   protected final VertxInternal vertx;
   protected final EventBusMetrics metrics;
   protected final ConcurrentMap<String, ConcurrentCyclicSequence<HandlerHolder>> handlerMap = new ConcurrentHashMap<>();
+  protected final PatternIndex<HandlerHolder> patternIndex = new PatternIndex<>();
+  private final AtomicInteger patternHandlersPos = new AtomicInteger();
+  // Replaced when a pattern handler is (un)registered
+  private volatile ConcurrentMap<String, MergedHandlers> mergedHandlers = new ConcurrentHashMap<>();
   protected final CodecManager codecManager = new CodecManager();
+  final ReplyTable replies;
+  private final boolean eventLoopAffinity;
+  private final boolean sharedMessageBodies;
+  private final ConcurrentMap<String, AddressCounters> addressCounters;
+  final long slowConsumerWarningTime;
+  private final LongAdder affineDeliveries = new LongAdder();
+  private final LongAdder crossThreadDeliveries = new LongAdder();
   protected volatile boolean started;
 
   public EventBusImpl(VertxInternal vertx) {
+    this(vertx, new EventBusOptions());
+  }
+
+  public EventBusImpl(VertxInternal vertx, EventBusOptions options) {
     VertxMetrics metrics = vertx.metrics();
     this.vertx = vertx;
     this.metrics = metrics != null ? metrics.createEventBusMetrics() : null;
+    this.replies = new ReplyTable(this, vertx.nettyEventLoopGroup());
+    this.eventLoopAffinity = options.getHandlerSelectionPolicy() == HandlerSelectionPolicy.EVENT_LOOP_AFFINITY;
+    this.sharedMessageBodies = options.isSharedMessageBodies();
+    this.addressCounters = options.isAddressStatisticsEnabled() ? new ConcurrentHashMap<>() : null;
+    this.slowConsumerWarningTime = options.getSlowConsumerWarningTimeUnit().toNanos(options.getSlowConsumerWarningTime());
   }
 
   @Override
@@ -112,21 +155,25 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
 
   @Override
   public EventBus send(String address, Object message) {
-    return send(address, message, new DeliveryOptions());
+    return send(address, message, DEFAULT_DELIVERY_OPTIONS);
   }
 
   @Override
   public EventBus send(String address, Object message, DeliveryOptions options) {
-    MessageImpl msg = createMessage(true, isLocalOnly(options), address, options.getHeaders(), message, options.getCodecName());
-    sendOrPubInternal(msg, options, null);
+    MessageImpl msg = createMessage(true, address, message, options);
+    if (!sendDirectly(msg, options, null)) {
+      sendOrPubInternal(msg, options, null);
+    }
     return this;
   }
 
   @Override
   public <T> Future<Message<T>> request(String address, Object message, DeliveryOptions options) {
-    MessageImpl msg = createMessage(true, isLocalOnly(options), address, options.getHeaders(), message, options.getCodecName());
+    MessageImpl msg = createMessage(true, address, message, options);
     ReplyHandler<T> handler = createReplyHandler(msg, true, options);
-    sendOrPubInternal(msg, options, handler);
+    if (!sendDirectly(msg, options, handler)) {
+      sendOrPubInternal(msg, options, handler);
+    }
     return handler.result();
   }
 
@@ -158,21 +205,89 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
 
   @Override
   public EventBus publish(String address, Object message) {
-    return publish(address, message, new DeliveryOptions());
+    return publish(address, message, DEFAULT_DELIVERY_OPTIONS);
   }
 
   @Override
   public EventBus publish(String address, Object message, DeliveryOptions options) {
-    sendOrPubInternal(createMessage(false, isLocalOnly(options), address, options.getHeaders(), message, options.getCodecName()), options, null);
+    sendOrPubInternal(createMessage(false, address, message, options), options, null);
+    return this;
+  }
+
+  @Override
+  public EventBus sendBatch(String address, List<?> messages, DeliveryOptions options) {
+    List<MessageImpl<?, ?>> batch = createBatch(true, address, messages, options);
+    if (!batch.isEmpty() && !sendBatchDirectly(batch, options, null)) {
+      sendOrPubBatch(batch, options);
+    }
+    return this;
+  }
+
+  @Override
+  public <T> Future<List<Message<T>>> requestBatch(String address, List<?> messages, DeliveryOptions options) {
+    List<MessageImpl<?, ?>> batch = createBatch(true, address, messages, options);
+    List<ReplyHandler<?>> handlers = new ArrayList<>(batch.size());
+    List<Future<Message<T>>> replies = new ArrayList<>(batch.size());
+    for (MessageImpl<?, ?> msg : batch) {
+      ReplyHandler<T> handler = createReplyHandler(msg, true, options);
+      handlers.add(handler);
+      replies.add(handler.result());
+    }
+    if (!batch.isEmpty() && !sendBatchDirectly(batch, options, handlers)) {
+      // Requests are sent one by one as each of them can fail
+      for (int i = 0;i < batch.size();i++) {
+        sendOrPubInternal((MessageImpl) batch.get(i), options, handlers.get(i));
+      }
+    }
+    return Future.all(replies).map(CompositeFuture::list);
+  }
+
+  @Override
+  public EventBus publishBatch(String address, List<?> messages, DeliveryOptions options) {
+    List<MessageImpl<?, ?>> batch = createBatch(false, address, messages, options);
+    if (!batch.isEmpty() && !sendBatchDirectly(batch, options, null)) {
+      sendOrPubBatch(batch, options);
+    }
     return this;
   }
 
+  private List<MessageImpl<?, ?>> createBatch(boolean send, String address, List<?> messages, DeliveryOptions options) {
+    Objects.requireNonNull(address, "no null address accepted");
+    boolean localOnly = isLocalOnly(options);
+    String codecName = options.getCodecName();
+    MessageCodec codec = codecName != null ? codecManager.lookupCodec(null, codecName, localOnly) : null;
+    boolean sharedBody = isSharedBody(options);
+    MultiMap headers = deliveryHeaders(options);
+    List<MessageImpl<?, ?>> batch = new ArrayList<>(messages.size());
+    for (Object body : messages) {
+      MessageCodec c = codec != null ? codec : codecManager.lookupCodec(body, null, localOnly);
+      MessageImpl<?, ?> msg = createMessage(send, address, headers, body, c);
+      if (sharedBody) {
+        msg.shareBody();
+      }
+      batch.add(msg);
+    }
+    return batch;
+  }
+
+  /**
+   * Send or publish the messages of a batch that cannot be delivered directly, no reply is expected.
+   */
+  protected void sendOrPubBatch(List<MessageImpl<?, ?>> batch, DeliveryOptions options) {
+    for (MessageImpl<?, ?> msg : batch) {
+      sendOrPubInternal((MessageImpl) msg, options, null);
+    }
+  }
+
   @Override
   public <T> MessageConsumer<T> consumer(MessageConsumerOptions options) {
     checkStarted();
     String address = options.getAddress();
     Arguments.require(options.getAddress() != null, "Consumer address must not be null");
-    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, options.isLocalOnly(), options.getMaxBufferedMessages());
+    if (options.isAddressPattern()) {
+      PatternIndex.checkPattern(address);
+    }
+    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, options.isLocalOnly(), options.isAddressPattern(), options.getMaxBufferedMessages());
   }
 
   @Override
@@ -187,7 +302,7 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   public <T> MessageConsumer<T> consumer(String address) {
     checkStarted();
     Objects.requireNonNull(address, "address");
-    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, false, MessageConsumerOptions.DEFAULT_MAX_BUFFERED_MESSAGES);
+    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, false, false, MessageConsumerOptions.DEFAULT_MAX_BUFFERED_MESSAGES);
   }
 
   @Override
@@ -202,7 +317,7 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   public <T> MessageConsumer<T> localConsumer(String address) {
     checkStarted();
     Objects.requireNonNull(address, "address");
-    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, true, MessageConsumerOptions.DEFAULT_MAX_BUFFERED_MESSAGES);
+    return new MessageConsumerImpl<>(vertx.getOrCreateContext(), this, address, true, false, MessageConsumerOptions.DEFAULT_MAX_BUFFERED_MESSAGES);
   }
 
   @Override
@@ -249,6 +364,7 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
       promise.complete();
       return;
     }
+    replies.close();
     unregisterAll().onComplete(ar -> {
       if (metrics != null) {
         metrics.close();
@@ -270,6 +386,42 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   public MessageImpl createMessage(boolean send, boolean localOnly, String address, MultiMap headers, Object body, String codecName) {
     Objects.requireNonNull(address, "no null address accepted");
     MessageCodec codec = codecManager.lookupCodec(body, codecName, localOnly);
+    return createMessage(send, address, headers, body, codec);
+  }
+
+  private MessageImpl createMessage(boolean send, String address, Object body, DeliveryOptions options) {
+    MessageImpl msg = createMessage(send, isLocalOnly(options), address, deliveryHeaders(options), body, options.getCodecName());
+    if (isSharedBody(options)) {
+      msg.shareBody();
+    }
+    return msg;
+  }
+
+  /**
+   * @return the headers of a message sent with the {@code options}, the priority is carried by a header
+   */
+  MultiMap deliveryHeaders(DeliveryOptions options) {
+    MultiMap headers = options.getHeaders();
+    int priority = options.getPriority();
+    if (priority == DeliveryOptions.DEFAULT_PRIORITY) {
+      return headers;
+    }
+    MultiMap copy = MultiMap.caseInsensitiveMultiMap();
+    if (headers != null) {
+      copy.addAll(headers);
+    }
+    copy.set(MessageImpl.PRIORITY_HEADER_NAME, Integer.toString(priority));
+    return copy;
+  }
+
+  /**
+   * @return whether the body of a message sent with the {@code options} is shared by the local receivers
+   */
+  boolean isSharedBody(DeliveryOptions options) {
+    return sharedMessageBodies || options.isSharedBody();
+  }
+
+  protected MessageImpl createMessage(boolean send, String address, MultiMap headers, Object body, MessageCodec codec) {
     @SuppressWarnings("unchecked")
     MessageImpl msg = new MessageImpl(address, headers, body, codec, send, this);
     return msg;
@@ -299,11 +451,16 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
 
     HandlerHolder<T> holder = createHandlerHolder(registration, localOnly, context);
 
-    ConcurrentCyclicSequence<HandlerHolder> handlers = new ConcurrentCyclicSequence<HandlerHolder>().add(holder);
-    ConcurrentCyclicSequence<HandlerHolder> actualHandlers = handlerMap.merge(
-      address,
-      handlers,
-      (old, prev) -> old.add(prev.first()));
+    if (registration.isPattern()) {
+      patternIndex.add(address, holder);
+      mergedHandlers = new ConcurrentHashMap<>();
+    } else {
+      ConcurrentCyclicSequence<HandlerHolder> handlers = new ConcurrentCyclicSequence<HandlerHolder>().add(holder);
+      handlerMap.merge(
+        address,
+        handlers,
+        (old, prev) -> old.add(prev.first()));
+    }
 
     if (context.isDeployment()) {
       context.addCloseHook(registration);
@@ -331,13 +488,18 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
 
   private <T> void removeLocalRegistration(HandlerHolder<T> holder) {
     String address = holder.getHandler().address;
-    handlerMap.compute(address, (key, val) -> {
-      if (val == null) {
-        return null;
-      }
-      ConcurrentCyclicSequence<HandlerHolder> next = val.remove(holder);
-      return next.size() == 0 ? null : next;
-    });
+    if (holder.getHandler().isPattern()) {
+      patternIndex.remove(address, holder);
+      mergedHandlers = new ConcurrentHashMap<>();
+    } else {
+      handlerMap.compute(address, (key, val) -> {
+        if (val == null) {
+          return null;
+        }
+        ConcurrentCyclicSequence<HandlerHolder> next = val.remove(holder);
+        return next.size() == 0 ? null : next;
+      });
+    }
     if (holder.setRemoved() && holder.getContext().deploymentID() != null) {
       holder.getContext().removeCloseHook(holder.getHandler());
     }
@@ -346,7 +508,7 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   protected <T> void sendReply(MessageImpl<?, T> replyMessage, DeliveryOptions options, ReplyHandler<T> replyHandler) {
     if (replyMessage.address() == null) {
       throw new IllegalStateException("address not specified");
-    } else {
+    } else if (!sendDirectly(replyMessage, options, replyHandler)) {
       sendOrPubInternal(new SendContext<>(vertx.getOrCreateContext(), replyMessage, options, replyHandler));
     }
   }
@@ -373,8 +535,16 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
   }
 
   protected ReplyException deliverMessageLocally(MessageImpl msg) {
-    ConcurrentCyclicSequence<HandlerHolder> handlers = handlerMap.get(msg.address());
+    ReplyHandler<?> replyHandler = replies.lookup(msg.address());
     boolean messageLocal = isMessageLocal(msg);
+    if (replyHandler != null) {
+      if (metrics != null) {
+        metrics.messageReceived(msg.address(), !msg.isSend(), messageLocal, 1);
+      }
+      replyHandler.receive(msg.copyBeforeReceive());
+      return null;
+    }
+    ConcurrentCyclicSequence<HandlerHolder> handlers = handlers(msg.address());
     if (handlers != null) {
       if (msg.isSend()) {
         //Choose one
@@ -407,8 +577,291 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
     }
   }
 
+  /**
+   * @return whether the sent or published {@code msg} can be delivered to a local handler without the outbound interceptors,
+   *         metrics and tracing
+   */
+  protected boolean canSendDirectly(MessageImpl<?, ?> msg, DeliveryOptions options) {
+    return metrics == null && !isOutboundObserved();
+  }
+
+  /**
+   * @return whether sent messages are observed by outbound interceptors or tracing
+   */
+  protected boolean isOutboundObserved() {
+    return outboundInterceptors.length > 0 || vertx.tracer() != null;
+  }
+
+  /**
+   * Send the {@code msg} straight to the next local handler when {@link #canSendDirectly} allows it, no send
+   * context nor copy of the message is created since no one else observes the message.
+   *
+   * @return {@code false} when the message must go through {@link #sendOrPubInternal(SendContext)}
+   */
+  <T> boolean sendDirectly(MessageImpl<?, T> msg, DeliveryOptions options, ReplyHandler<T> replyHandler) {
+    if (!canSendDirectly(msg, options)) {
+      return false;
+    }
+    checkStarted();
+    ReplyHandler<?> replied = replies.lookup(msg.address());
+    if (replied != null) {
+      replied.receive(msg.prepareBeforeReceive());
+      return true;
+    }
+    ConcurrentCyclicSequence<HandlerHolder> handlers = handlers(msg.address());
+    if (handlers != null) {
+      HandlerHolder holder = nextHandler(handlers, isMessageLocal(msg));
+      if (holder == null) {
+        // The handlers were unregistered concurrently, let the regular path deliver or fail the message
+        return false;
+      }
+      reportSent(msg);
+      holder.handler.receive(msg.prepareBeforeReceive());
+    } else {
+      reportSent(msg);
+      if (replyHandler != null) {
+        replyHandler.fail(new ReplyException(ReplyFailure.NO_HANDLERS, "No handlers for address " + msg.address));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Like {@link #sendDirectly} for a batch, the messages received by a same handler are queued at once.
+   */
+  <T> boolean sendBatchDirectly(List<MessageImpl<?, ?>> batch, DeliveryOptions options, List<ReplyHandler<?>> replyHandlers) {
+    MessageImpl<?, ?> first = batch.get(0);
+    if (!canSendDirectly(first, options) || replies.lookup(first.address()) != null) {
+      return false;
+    }
+    checkStarted();
+    ConcurrentCyclicSequence<HandlerHolder> handlers = handlers(first.address());
+    if (handlers == null) {
+      for (MessageImpl<?, ?> msg : batch) {
+        reportSent(msg);
+      }
+      if (replyHandlers != null) {
+        for (ReplyHandler<?> replyHandler : replyHandlers) {
+          replyHandler.fail(new ReplyException(ReplyFailure.NO_HANDLERS, "No handlers for address " + first.address));
+        }
+      }
+      return true;
+    }
+    boolean messageLocal = isMessageLocal(first);
+    if (first.isSend()) {
+      Map<HandlerHolder, List<MessageImpl<?, ?>>> received = new IdentityHashMap<>();
+      for (int i = 0;i < batch.size();i++) {
+        MessageImpl msg = batch.get(i);
+        HandlerHolder holder = nextHandler(handlers, messageLocal);
+        if (holder == null) {
+          // The handlers were unregistered concurrently, let the regular path deliver or fail the message
+          sendOrPubInternal(msg, options, replyHandlers != null ? (ReplyHandler) replyHandlers.get(i) : null);
+          continue;
+        }
+        reportSent(msg);
+        received.computeIfAbsent(holder, h -> new ArrayList<>()).add(msg.prepareBeforeReceive());
+      }
+      received.forEach((holder, msgs) -> holder.handler.receive(msgs));
+    } else {
+      for (MessageImpl<?, ?> msg : batch) {
+        reportSent(msg);
+      }
+      for (HandlerHolder holder : handlers) {
+        if (messageLocal || !holder.isLocalOnly()) {
+          List<MessageImpl<?, ?>> msgs = new ArrayList<>(batch.size());
+          for (MessageImpl<?, ?> msg : batch) {
+            msgs.add(msg.copyBeforeReceive());
+          }
+          holder.handler.receive(msgs);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the handlers registered at the {@code address} followed by the handlers of the patterns matching it,
+   *         or {@code null} when there are none
+   */
+  protected ConcurrentCyclicSequence<HandlerHolder> handlers(String address) {
+    ConcurrentCyclicSequence<HandlerHolder> handlers = handlerMap.get(address);
+    if (patternIndex.isEmpty()) {
+      return handlers;
+    }
+    // Read the cache before the index, a cache replaced meanwhile only holds lookups of the updated index
+    ConcurrentMap<String, MergedHandlers> cache = mergedHandlers;
+    MergedHandlers entry = cache.get(address);
+    if (entry != null && entry.exact == handlers) {
+      return entry.merged;
+    }
+    List<HandlerHolder> matching;
+    int pos;
+    if (entry != null) {
+      // Only the handlers registered at the address changed
+      matching = entry.matching;
+      pos = entry.merged != null ? entry.merged.index() : 0;
+    } else {
+      matching = new ArrayList<>();
+      patternIndex.match(address, matching);
+      pos = 0;
+    }
+    boolean cacheable = entry != null || cache.size() < MAX_MERGED_HANDLERS;
+    ConcurrentCyclicSequence<HandlerHolder> merged = handlers;
+    if (!matching.isEmpty()) {
+      if (!cacheable) {
+        // The merged sequence is transient, the round robin position is kept by the bus
+        pos = patternHandlersPos.getAndIncrement();
+      }
+      merged = (handlers != null ? handlers : new ConcurrentCyclicSequence<HandlerHolder>()).addAll(matching, pos);
+    }
+    if (cacheable) {
+      cache.put(address, new MergedHandlers(handlers, matching, merged));
+    }
+    return merged;
+  }
+
+  /**
+   * The handlers registered at an address followed by the handlers of the patterns matching it, valid as long as the
+   * handlers registered at the address are {@code exact}, the merged sequence keeps the round robin position of the
+   * address.
+   */
+  private static final class MergedHandlers {
+
+    final ConcurrentCyclicSequence<HandlerHolder> exact;
+    final List<HandlerHolder> matching;
+    final ConcurrentCyclicSequence<HandlerHolder> merged;
+
+    MergedHandlers(ConcurrentCyclicSequence<HandlerHolder> exact, List<HandlerHolder> matching, ConcurrentCyclicSequence<HandlerHolder> merged) {
+      this.exact = exact;
+      this.matching = matching;
+      this.merged = merged;
+    }
+  }
+
+  /**
+   * @return the counters of the {@code address}, or {@code null} when the address statistics are disabled, the
+   *         address is used by Vert.x itself or too many addresses are counted
+   */
+  public AddressCounters addressCounters(String address) {
+    ConcurrentMap<String, AddressCounters> map = addressCounters;
+    if (map == null || address.startsWith(INTERNAL_ADDRESS_PREFIX)) {
+      return null;
+    }
+    AddressCounters counters = map.get(address);
+    if (counters == null && map.size() < MAX_UNOWNED_ADDRESS_COUNTERS) {
+      counters = map.computeIfAbsent(address, AddressCounters::new);
+    }
+    return counters;
+  }
+
+  /**
+   * Like {@link #addressCounters(String)} but the counters are kept until they are released by
+   * {@link #releaseAddressCounters(AddressCounters)}, the counters are removed when the last owner releases them.
+   */
+  AddressCounters acquireAddressCounters(String address) {
+    ConcurrentMap<String, AddressCounters> map = addressCounters;
+    if (map == null || address.startsWith(INTERNAL_ADDRESS_PREFIX)) {
+      return null;
+    }
+    return map.compute(address, (key, counters) -> {
+      if (counters == null) {
+        counters = new AddressCounters(key);
+      }
+      counters.owners++;
+      return counters;
+    });
+  }
+
+  void releaseAddressCounters(AddressCounters counters) {
+    addressCounters.computeIfPresent(counters.address(), (key, current) -> {
+      if (current == counters && --current.owners == 0) {
+        return null;
+      }
+      return current;
+    });
+  }
+
+  /**
+   * Count the {@code msg} as sent or published.
+   */
+  protected void reportSent(MessageImpl<?, ?> msg) {
+    if (addressCounters != null) {
+      AddressCounters counters = msg.counters;
+      if (counters == null) {
+        counters = addressCounters(msg.address);
+      }
+      if (counters != null) {
+        counters.sent(!msg.send);
+      }
+    }
+  }
+
+  /**
+   * Take a snapshot of the per address message counters, the number of pending messages is the sum of the messages
+   * waiting in the queues of the consumers registered at the address.
+   *
+   * @return the snapshots, empty when the address statistics are disabled
+   */
+  public List<AddressStatistics> addressStatistics() {
+    ConcurrentMap<String, AddressCounters> map = addressCounters;
+    if (map == null) {
+      return Collections.emptyList();
+    }
+    Map<String, Long> pending = new HashMap<>();
+    Consumer<HandlerHolder> collector = holder -> {
+      HandlerRegistration<?> registration = holder.handler;
+      pending.merge(registration.address, registration.queuedMessages(), Long::sum);
+    };
+    for (ConcurrentCyclicSequence<HandlerHolder> handlers : handlerMap.values()) {
+      handlers.forEach(collector);
+    }
+    patternIndex.values().forEach(collector);
+    List<AddressStatistics> snapshot = new ArrayList<>(map.size());
+    for (AddressCounters counters : map.values()) {
+      snapshot.add(counters.snapshot(pending.getOrDefault(counters.address(), 0L)));
+    }
+    return snapshot;
+  }
+
   protected HandlerHolder nextHandler(ConcurrentCyclicSequence<HandlerHolder> handlers, boolean messageLocal) {
-    return handlers.next();
+    if (!eventLoopAffinity) {
+      return handlers.next();
+    }
+    HandlerHolder holder;
+    if (Context.isOnEventLoopThread()) {
+      holder = handlers.next(EventBusImpl::isOnCurrentEventLoop);
+    } else {
+      holder = handlers.next();
+    }
+    if (holder != null) {
+      if (isOnCurrentEventLoop(holder)) {
+        affineDeliveries.increment();
+      } else {
+        crossThreadDeliveries.increment();
+      }
+    }
+    return holder;
+  }
+
+  private static boolean isOnCurrentEventLoop(HandlerHolder holder) {
+    ContextInternal context = holder.context;
+    return context.isEventLoopContext() && context.nettyEventLoop().inEventLoop();
+  }
+
+  /**
+   * @return the number of sent messages delivered to a handler running on the event loop of the sender, only
+   *         counted with the {@link HandlerSelectionPolicy#EVENT_LOOP_AFFINITY} policy
+   */
+  public long affineDeliveries() {
+    return affineDeliveries.sum();
+  }
+
+  /**
+   * @return the number of sent messages delivered to a handler running on another thread than the sender, only
+   *         counted with the {@link HandlerSelectionPolicy#EVENT_LOOP_AFFINITY} policy
+   */
+  public long crossThreadDeliveries() {
+    return crossThreadDeliveries.sum();
   }
 
   protected void checkStarted() {
@@ -417,17 +870,25 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
     }
   }
 
-  protected String generateReplyAddress() {
-    return "__vertx.reply." + Long.toString(replySequence.incrementAndGet());
+  /**
+   * @return whether the {@code address} is the one-shot reply address of a request
+   */
+  public static boolean isReplyAddress(String address) {
+    return address.startsWith(ReplyTable.REPLY_ADDRESS_PREFIX);
+  }
+
+  /**
+   * @return the reply address of the request tracked by the reply table {@code shard} under {@code sequence}
+   */
+  protected String generateReplyAddress(int shard, long sequence) {
+    return ReplyTable.REPLY_ADDRESS_PREFIX + shard + '.' + sequence;
   }
 
   <T> ReplyHandler<T> createReplyHandler(MessageImpl message,
                                          boolean src,
                                          DeliveryOptions options) {
-    long timeout = options.getSendTimeout();
-    String replyAddress = generateReplyAddress();
-    message.setReplyAddress(replyAddress);
-    ReplyHandler<T> handler = new ReplyHandler<>(this, vertx.getOrCreateContext(), replyAddress, message.address, src, timeout);
+    ReplyHandler<T> handler = replies.create(vertx.getOrCreateContext(), message.address, src, options.getSendTimeout());
+    message.setReplyAddress(handler.address);
     handler.register();
     return handler;
   }
@@ -469,6 +930,9 @@ public class EventBusImpl implements EventBusInternal, MetricsProvider {
         futures.add(holder.getHandler().unregister());
       }
     }
+    for (HandlerHolder holder : patternIndex.values()) {
+      futures.add(holder.getHandler().unregister());
+    }
     return Future.join(futures).mapEmpty();
   }
 
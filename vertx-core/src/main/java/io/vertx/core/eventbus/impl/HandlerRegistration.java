@@ -16,21 +16,35 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.spi.tracing.SpanKind;
 import io.vertx.core.spi.tracing.TagExtractor;
 import io.vertx.core.spi.tracing.VertxTracer;
 import io.vertx.core.tracing.TracingPolicy;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Consumer;
 
 public abstract class HandlerRegistration<T> implements Closeable {
 
+  private static final Logger log = LoggerFactory.getLogger(HandlerRegistration.class);
+
+  private static final AtomicLongFieldUpdater<HandlerRegistration> QUEUED_UPDATER = AtomicLongFieldUpdater.newUpdater(HandlerRegistration.class, "queued");
+
   protected final ContextInternal context;
   protected final EventBusImpl bus;
   protected final String address;
   protected final boolean src;
   private Consumer<Promise<Void>> registered;
   private Object metric;
+  // Only set when the address statistics are enabled
+  private AddressCounters counters;
+  private volatile long queued;
+  // Accessed from the consumer thread
+  private long slowWarningAt;
 
   HandlerRegistration(ContextInternal context,
                       EventBusImpl bus,
@@ -46,6 +60,12 @@ public abstract class HandlerRegistration<T> implements Closeable {
     if (bus.metrics != null) {
       bus.metrics.scheduleMessage(metric, msg.isLocal());
     }
+    AddressCounters c = counters;
+    if (c != null) {
+      c.received(1);
+      QUEUED_UPDATER.incrementAndGet(this);
+      msg.receivedAt = System.nanoTime();
+    }
     context.executor().execute(() -> {
       // Need to check handler is still there - the handler might have been removed after the message were sent but
       // before it was received
@@ -53,24 +73,74 @@ public abstract class HandlerRegistration<T> implements Closeable {
     });
   }
 
+  void receive(List<MessageImpl<?, ?>> msgs) {
+    if (bus.metrics != null) {
+      for (MessageImpl<?, ?> msg : msgs) {
+        bus.metrics.scheduleMessage(metric, msg.isLocal());
+      }
+    }
+    AddressCounters c = counters;
+    if (c != null) {
+      c.received(msgs.size());
+      QUEUED_UPDATER.addAndGet(this, msgs.size());
+      long now = System.nanoTime();
+      for (MessageImpl<?, ?> msg : msgs) {
+        msg.receivedAt = now;
+      }
+    }
+    context.executor().execute(() -> doReceive((List) msgs));
+  }
+
   public String address() {
     return address;
   }
 
+  /**
+   * @return whether the {@link #address()} is a pattern matching several addresses
+   */
+  public boolean isPattern() {
+    return false;
+  }
+
   protected abstract void doReceive(Message<T> msg);
 
+  protected void doReceive(List<Message<T>> msgs) {
+    for (Message<T> msg : msgs) {
+      doReceive(msg);
+    }
+  }
+
   protected abstract void dispatchMessage(Message<T> msg, ContextInternal context, Handler<Message<T>> handler);
 
   synchronized void register(boolean broadcast, boolean localOnly, Completable<Void> promise) {
     if (registered != null) {
       throw new IllegalStateException();
     }
+    counters = bus.acquireAddressCounters(address);
     registered = bus.addRegistration(address, this, broadcast, localOnly, promise);
+    registerMetric();
+  }
+
+  /**
+   * @return the number of messages received and waiting to be delivered or discarded, only maintained when the
+   *         address statistics are enabled
+   */
+  public long queuedMessages() {
+    return queued;
+  }
+
+  void registerMetric() {
     if (bus.metrics != null) {
       metric = bus.metrics.handlerRegistered(address);
     }
   }
 
+  void unregisterMetric() {
+    if (bus.metrics != null) {
+      bus.metrics.handlerUnregistered(metric);
+    }
+  }
+
   public synchronized boolean isRegistered() {
     return registered != null;
   }
@@ -81,8 +151,9 @@ public abstract class HandlerRegistration<T> implements Closeable {
       if (registered != null) {
         registered.accept(promise);
         registered = null;
-        if (bus.metrics != null) {
-          bus.metrics.handlerUnregistered(metric);
+        unregisterMetric();
+        if (counters != null) {
+          bus.releaseAddressCounters(counters);
         }
       } else {
         promise.complete();
@@ -92,6 +163,11 @@ public abstract class HandlerRegistration<T> implements Closeable {
   }
 
   void dispatchMessage(Handler<Message<T>> handler, MessageImpl<?, T> message, ContextInternal context) {
+    AddressCounters c = counters;
+    if (c != null) {
+      // The message leaves the queue even if an interceptor drops it
+      dequeued(c, message);
+    }
     Handler<DeliveryContext<?>>[] interceptors = message.bus.inboundInterceptors();
     if (interceptors.length > 0) {
       Runnable dispatch = () -> dispatch(context, message, handler);
@@ -108,6 +184,12 @@ public abstract class HandlerRegistration<T> implements Closeable {
     if (bus.metrics != null) {
       bus.metrics.messageDelivered(m, message.isLocal());
     }
+    AddressCounters c = counters;
+    long dispatchedAt = 0L;
+    if (c != null) {
+      c.delivered();
+      dispatchedAt = System.nanoTime();
+    }
     if (tracer != null && !src) {
       message.trace = tracer.receiveRequest(ctx, SpanKind.RPC, TracingPolicy.PROPAGATE, message, message.isSend() ? "send" : "publish", message.headers(), MessageTagExtractor.INSTANCE);
       dispatchMessage(message, ctx, handler);
@@ -118,12 +200,35 @@ public abstract class HandlerRegistration<T> implements Closeable {
     } else {
       dispatchMessage(message, ctx, handler);
     }
+    if (c != null) {
+      c.handlerTime(System.nanoTime() - dispatchedAt);
+    }
+  }
+
+  private void dequeued(AddressCounters c, MessageImpl<?, T> message) {
+    long pending = QUEUED_UPDATER.decrementAndGet(this);
+    long now = System.nanoTime();
+    long wait = now - message.receivedAt;
+    c.queueWait(wait);
+    long threshold = bus.slowConsumerWarningTime;
+    if (threshold > 0L && wait > threshold && (slowWarningAt == 0L || now - slowWarningAt > threshold)) {
+      slowWarningAt = now;
+      if (log.isWarnEnabled()) {
+        log.warn("Message waited " + TimeUnit.NANOSECONDS.toMillis(wait) + " ms before being dispatched to a consumer, " +
+          pending + " messages pending. address: " + address);
+      }
+    }
   }
 
   void discardMessage(Message<T> msg) {
     if (bus.metrics != null) {
       bus.metrics.discardMessage(metric, ((MessageImpl)msg).isLocal(), msg);
     }
+    AddressCounters c = counters;
+    if (c != null) {
+      c.discarded();
+      QUEUED_UPDATER.decrementAndGet(this);
+    }
 
     String replyAddress = msg.replyAddress();
     if (replyAddress != null) {
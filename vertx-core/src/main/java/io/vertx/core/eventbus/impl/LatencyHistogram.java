@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of durations in nanoseconds with a bounded memory footprint.
+ * <p>
+ * The values below {@code 32} are counted exactly, the larger values are counted in buckets splitting each power of
+ * two range in {@code 16} linear sub-ranges, so the recorded values are precise to about 6%, whatever their magnitude.
+ * <p>
+ * The buckets of a power of two range are allocated when a first value falls in the range, the durations of an
+ * address usually span a few ranges.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+  static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  /**
+   * @return the index of the bucket counting the {@code value}
+   */
+  static int index(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) Math.max(value, 0L);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * @return the highest value counted by the bucket at {@code index}
+   */
+  static long highestValue(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int sub = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+    long upper = (SUB_BUCKETS + sub + 1L) << (exponent - SUB_BUCKET_BITS);
+    // The last bucket upper bound overflows
+    return upper > 0 ? upper - 1 : Long.MAX_VALUE;
+  }
+
+  // The buckets by block of SUB_BUCKETS
+  private final AtomicReferenceArray<AtomicLongArray> blocks = new AtomicReferenceArray<>(BUCKETS / SUB_BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  void record(long nanos) {
+    if (nanos < 0L) {
+      // Not monotonic
+      nanos = 0L;
+    }
+    int index = index(nanos);
+    int block = index >>> SUB_BUCKET_BITS;
+    AtomicLongArray counts = blocks.get(block);
+    if (counts == null) {
+      blocks.compareAndSet(block, null, new AtomicLongArray(SUB_BUCKETS));
+      counts = blocks.get(block);
+    }
+    counts.incrementAndGet(index & (SUB_BUCKETS - 1));
+    sum.add(nanos);
+    max.accumulate(nanos);
+  }
+
+  LatencyStatistics snapshot() {
+    int length = 0;
+    for (int block = blocks.length() - 1;block >= 0;block--) {
+      if (blocks.get(block) != null) {
+        length = (block + 1) * SUB_BUCKETS;
+        break;
+      }
+    }
+    // The buckets above the highest allocated block are empty
+    long[] copy = new long[length];
+    long count = 0L;
+    for (int block = 0;block < length / SUB_BUCKETS;block++) {
+      AtomicLongArray counts = blocks.get(block);
+      if (counts != null) {
+        for (int i = 0;i < SUB_BUCKETS;i++) {
+          long c = counts.get(i);
+          copy[block * SUB_BUCKETS + i] = c;
+          count += c;
+        }
+      }
+    }
+    return new LatencyStatistics(copy, count, sum.sum(), max.get());
+  }
+}
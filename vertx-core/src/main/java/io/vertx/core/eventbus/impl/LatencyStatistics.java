@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of a latency histogram, the durations are in nanoseconds and cumulative since the event bus started.
+ */
+public final class LatencyStatistics {
+
+  static final LatencyStatistics EMPTY = new LatencyStatistics(new long[0], 0L, 0L, 0L);
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  LatencyStatistics(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * @return the number of recorded durations
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * @return the mean duration, or {@code 0} when no duration was recorded
+   */
+  public long mean() {
+    return count == 0L ? 0L : sum / count;
+  }
+
+  /**
+   * @return the maximum duration, or {@code 0} when no duration was recorded
+   */
+  public long max() {
+    return max;
+  }
+
+  /**
+   * @param percentile the percentile, between {@code 0} and {@code 100}
+   * @return the duration below which {@code percentile} percent of the durations fall, or {@code 0} when no duration
+   *         was recorded
+   */
+  public long valueAtPercentile(double percentile) {
+    if (percentile < 0D || percentile > 100D) {
+      throw new IllegalArgumentException("Invalid percentile " + percentile);
+    }
+    if (count == 0L) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100D * count));
+    long cumulated = 0L;
+    for (int i = 0;i < counts.length;i++) {
+      cumulated += counts[i];
+      if (cumulated >= rank) {
+        return Math.min(LatencyHistogram.highestValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyStatistics[count=" + count + ",mean=" + format(mean()) + ",p50=" + format(valueAtPercentile(50)) +
+      ",p99=" + format(valueAtPercentile(99)) + ",max=" + format(max) + "]";
+  }
+
+  private static String format(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+  }
+}
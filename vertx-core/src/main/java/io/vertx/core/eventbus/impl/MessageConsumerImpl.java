@@ -12,52 +12,85 @@
 package io.vertx.core.eventbus.impl;
 
 import io.vertx.core.*;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.impl.Arguments;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.concurrent.InboundMessageQueue;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.streams.ReadStream;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  */
 public class MessageConsumerImpl<T> extends HandlerRegistration<T> implements MessageConsumer<T> {
 
   private static final Logger log = LoggerFactory.getLogger(MessageConsumerImpl.class);
 
+  /**
+   * The number of credits granted at once to a flow controlled producer, the remaining credits are granted at the
+   * next iteration of the consumer context.
+   */
+  static final int CREDIT_BATCH_SIZE = 32;
+
   private final boolean localOnly;
+  private final boolean pattern;
   private Handler<Message<T>> handler;
+  private Handler<List<Message<T>>> batchHandler;
+  private int maxBatch;
+  private long maxBatchDelay;
   private Handler<Void> endHandler;
   private Handler<Message<T>> discardHandler;
   private final int maxBufferedMessages;
   private final InboundMessageQueue<Message<T>> pending;
   private Promise<Void> result;
   private boolean registered;
-  private boolean full;
+  // The lanes that are full, a lane per message priority
+  private int fullLanes;
+  // The credits not yet granted back, per credit address
+  private Map<String, Integer> credits;
+
+  // Accessed from the consumer thread
+  private final Handler<Message<T>> batcher = this::addToBatch;
+  private List<Message<T>> batch;
+  private long batchTimer = -1L;
 
-  MessageConsumerImpl(ContextInternal context, EventBusImpl eventBus, String address, boolean localOnly, int maxBufferedMessages) {
+  MessageConsumerImpl(ContextInternal context, EventBusImpl eventBus, String address, boolean localOnly, boolean pattern, int maxBufferedMessages) {
     super(context, eventBus, address, false);
     this.localOnly = localOnly;
+    this.pattern = pattern;
     this.result = context.promise();
     this.maxBufferedMessages = maxBufferedMessages;
-    this.pending = new InboundMessageQueue<>(context.executor(), context.executor(), maxBufferedMessages, maxBufferedMessages) {
+    this.pending = new InboundMessageQueue<>(context.executor(), context.executor(), DeliveryOptions.MAX_PRIORITY + 1, maxBufferedMessages, maxBufferedMessages) {
       @Override
-      protected void handleResume() {
-        full = false;
+      protected void handleResume(int lane) {
+        fullLanes &= ~(1 << lane);
       }
       @Override
-      protected void handlePause() {
-        full = true;
+      protected void handlePause(int lane) {
+        fullLanes |= 1 << lane;
       }
       @Override
       protected void handleMessage(Message<T> msg) {
         Handler<Message<T>> handler;
+        boolean batched;
         synchronized (MessageConsumerImpl.this) {
           handler = MessageConsumerImpl.this.handler;
+          batched = batchHandler != null;
         }
-        if (handler != null) {
+        if (batched) {
+          // Interceptors and tracing still apply to each message, the batcher replaces the handler dispatch
+          dispatchMessage(batcher, (MessageImpl<?, T>) msg, context.tracer() != null ? context.duplicate() : context);
+        } else if (handler != null) {
           dispatchMessage(handler, (MessageImpl<?, T>) msg, context.duplicate());
+          grantCredit(msg);
         } else {
           handleDiscard(msg, false);
         }
@@ -78,6 +111,7 @@ public class MessageConsumerImpl<T> extends HandlerRegistration<T> implements Me
   @Override
   public synchronized Future<Void> unregister() {
     handler = null;
+    batchHandler = null;
     if (endHandler != null) {
       endHandler.handle(null);
     }
@@ -107,14 +141,80 @@ public class MessageConsumerImpl<T> extends HandlerRegistration<T> implements Me
 
     // Cleanup message
     discardMessage(message);
+    grantCredit(message);
+  }
+
+  /**
+   * Grant a credit back to the flow controlled producer of the {@code message}, if any.
+   * <p>
+   * Credits are granted by batches of {@link #CREDIT_BATCH_SIZE}, the credits of a burst of messages smaller than a
+   * batch are granted once the burst is handled.
+   */
+  private void grantCredit(Message<T> message) {
+    String creditAddress = ((MessageImpl<?, T>) message).header(MessageProducerImpl.CREDIT_ADDRESS_HEADER_NAME);
+    if (creditAddress == null) {
+      return;
+    }
+    boolean schedule;
+    int amount;
+    synchronized (this) {
+      schedule = credits == null;
+      if (schedule) {
+        credits = new HashMap<>();
+      }
+      amount = credits.merge(creditAddress, 1, Integer::sum);
+      if (amount >= CREDIT_BATCH_SIZE) {
+        credits.remove(creditAddress);
+      } else {
+        amount = 0;
+      }
+    }
+    if (amount > 0) {
+      bus.send(creditAddress, amount);
+    }
+    if (schedule) {
+      context.runOnContext(v -> flushCredits());
+    }
+  }
+
+  private void flushCredits() {
+    Map<String, Integer> toGrant;
+    synchronized (this) {
+      toGrant = credits;
+      credits = null;
+    }
+    toGrant.forEach(bus::send);
   }
 
   protected void doReceive(Message<T> message) {
-    if (full) {
+    if (enqueue(message)) {
+      pending.drain();
+    }
+  }
+
+  @Override
+  protected void doReceive(List<Message<T>> messages) {
+    boolean drain = false;
+    for (Message<T> message : messages) {
+      drain |= enqueue(message);
+    }
+    if (drain) {
+      pending.drain();
+    }
+  }
+
+  /**
+   * Add the {@code message} to the lane of its priority or discard it when the lane is full.
+   *
+   * @return whether the queue should be drained
+   */
+  private boolean enqueue(Message<T> message) {
+    int lane = ((MessageImpl<?, T>) message).priority();
+    if ((fullLanes & (1 << lane)) != 0) {
       handleDiscard(message, true);
-    } else {
-      pending.write(message);
+      return false;
     }
+    return pending.add(lane, message);
   }
 
   @Override
@@ -122,7 +222,59 @@ public class MessageConsumerImpl<T> extends HandlerRegistration<T> implements Me
     if (handler == null) {
       throw new NullPointerException();
     }
-    context.dispatch(msg, handler);
+    if (handler == batcher) {
+      addToBatch(msg);
+    } else {
+      context.dispatch(msg, handler);
+    }
+  }
+
+  private void addToBatch(Message<T> msg) {
+    List<Message<T>> b = batch;
+    if (b == null) {
+      b = new ArrayList<>(Math.min(maxBatch, 64));
+      batch = b;
+    }
+    b.add(msg);
+    if (b.size() >= maxBatch) {
+      flushBatch();
+    } else if (b.size() == 1) {
+      if (maxBatchDelay > 0L) {
+        batchTimer = context.setTimer(maxBatchDelay, id -> {
+          batchTimer = -1L;
+          flushBatch();
+        });
+      } else {
+        // Executed after the current drain of the queue
+        context.executor().execute(this::flushBatch);
+      }
+    }
+  }
+
+  private void flushBatch() {
+    if (batchTimer != -1L) {
+      context.owner().cancelTimer(batchTimer);
+      batchTimer = -1L;
+    }
+    List<Message<T>> messages = batch;
+    if (messages == null) {
+      return;
+    }
+    batch = null;
+    Handler<List<Message<T>>> handler;
+    synchronized (this) {
+      handler = batchHandler;
+    }
+    if (handler != null) {
+      context.duplicate().dispatch(messages, handler);
+      for (Message<T> message : messages) {
+        grantCredit(message);
+      }
+    } else {
+      for (Message<T> message : messages) {
+        handleDiscard(message, false);
+      }
+    }
   }
 
   /*
@@ -135,28 +287,57 @@ public class MessageConsumerImpl<T> extends HandlerRegistration<T> implements Me
   @Override
   public synchronized MessageConsumer<T> handler(Handler<Message<T>> h) {
     if (h != null) {
-      synchronized (this) {
-        handler = h;
-        if (!registered) {
-          registered = true;
-          Promise<Void> p = result;
-          Promise<Void> registration = context.promise();
-          register(true, localOnly, registration);
-          registration.future().onComplete(ar -> {
-            if (ar.succeeded()) {
-              p.tryComplete();
-            } else {
-              p.tryFail(ar.cause());
-            }
-          });
-        }
+      handler = h;
+      batchHandler = null;
+      register();
+    } else {
+      unregister();
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized MessageConsumer<T> batchHandler(int maxBatch, Duration maxDelay, Handler<List<Message<T>>> h) {
+    Arguments.require(maxBatch > 0, "maxBatch must be > 0");
+    Arguments.require(maxDelay != null && !maxDelay.isNegative(), "maxDelay must be >= 0");
+    if (h != null) {
+      this.maxBatch = maxBatch;
+      long millis = maxDelay.toMillis();
+      if (maxDelay.compareTo(Duration.ofMillis(millis)) > 0) {
+        // Do not truncate a sub-millisecond delay to 0
+        millis++;
       }
+      this.maxBatchDelay = millis;
+      handler = null;
+      batchHandler = h;
+      register();
     } else {
       unregister();
     }
     return this;
   }
 
+  private void register() {
+    if (!registered) {
+      registered = true;
+      Promise<Void> p = result;
+      Promise<Void> registration = context.promise();
+      register(true, localOnly, registration);
+      registration.future().onComplete(ar -> {
+        if (ar.succeeded()) {
+          p.tryComplete();
+        } else {
+          p.tryFail(ar.cause());
+        }
+      });
+    }
+  }
+
+  @Override
+  public boolean isPattern() {
+    return pattern;
+  }
+
   @Override
   public ReadStream<T> bodyStream() {
     return new BodyReadStream<>(this);
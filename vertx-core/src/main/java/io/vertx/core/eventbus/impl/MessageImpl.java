@@ -14,6 +14,9 @@ package io.vertx.core.eventbus.impl;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.eventbus.*;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,11 @@ import java.util.Map;
  */
 public class MessageImpl<U, V> implements Message<V> {
 
+  /**
+   * The header carrying the priority of a message, see {@link io.vertx.core.eventbus.DeliveryOptions#setPriority(int)}.
+   */
+  public static final String PRIORITY_HEADER_NAME = "__vertx.priority";
+
   protected MessageCodec<U, V> messageCodec;
   protected final EventBusImpl bus;
   protected String address;
@@ -32,6 +40,10 @@ public class MessageImpl<U, V> implements Message<V> {
   protected V receivedBody;
   protected boolean send;
   protected Object trace;
+  // The counters of the address, when resolved by the sender
+  AddressCounters counters;
+  // When the message was received by a consumer, only set when the address statistics are enabled
+  long receivedAt;
 
   public MessageImpl(EventBusImpl bus) {
     this.bus = bus;
@@ -71,6 +83,39 @@ public class MessageImpl<U, V> implements Message<V> {
     return new MessageImpl<>(this);
   }
 
+  /**
+   * Prepare this message to be received in place of a {@link #copyBeforeReceive() copy}, when the sender does not
+   * retain it and a single handler receives it.
+   */
+  MessageImpl<U, V> prepareBeforeReceive() {
+    if (headers != null) {
+      MultiMap copy = MultiMap.caseInsensitiveMultiMap();
+      for (Map.Entry<String, String> entry: headers.entries()) {
+        copy.add(entry.getKey(), entry.getValue());
+      }
+      headers = copy;
+    }
+    if (sentBody != null) {
+      receivedBody = messageCodec.transform(sentBody);
+    }
+    return this;
+  }
+
+  /**
+   * Replace the body by a read-only view that the codec delivers as is to the receivers instead of copying it.
+   */
+  @SuppressWarnings("unchecked")
+  void shareBody() {
+    U body = sentBody;
+    if (body instanceof JsonObject) {
+      sentBody = (U) ((JsonObject) body).asReadOnly();
+    } else if (body instanceof JsonArray) {
+      sentBody = (U) ((JsonArray) body).asReadOnly();
+    } else if (body instanceof BufferInternal) {
+      sentBody = (U) ((BufferInternal) body).asReadOnly();
+    }
+  }
+
   @Override
   public String address() {
     return address;
@@ -85,6 +130,30 @@ public class MessageImpl<U, V> implements Message<V> {
     return headers;
   }
 
+  /**
+   * @return the value of the header with the specified {@code name} or {@code null}, unlike {@link #headers()} this
+   *         method does not allocate when the message has no headers
+   */
+  public String header(String name) {
+    MultiMap h = headers;
+    return h != null ? h.get(name) : null;
+  }
+
+  /**
+   * @return the priority of this message, a missing or invalid priority header is the default priority
+   */
+  int priority() {
+    String value = header(PRIORITY_HEADER_NAME);
+    // Priorities are single digits
+    if (value != null && value.length() == 1) {
+      char c = value.charAt(0);
+      if (c >= '0' && c <= '0' + DeliveryOptions.MAX_PRIORITY) {
+        return c - '0';
+      }
+    }
+    return DeliveryOptions.DEFAULT_PRIORITY;
+  }
+
   @Override
   public V body() {
     if (receivedBody == null && sentBody != null) {
@@ -98,6 +167,11 @@ public class MessageImpl<U, V> implements Message<V> {
     return replyAddress;
   }
 
+  @Override
+  public void reply(Object message) {
+    reply(message, EventBusImpl.DEFAULT_DELIVERY_OPTIONS);
+  }
+
   @Override
   public void reply(Object message, DeliveryOptions options) {
     if (replyAddress != null) {
@@ -119,7 +193,10 @@ public class MessageImpl<U, V> implements Message<V> {
   }
 
   protected MessageImpl createReply(Object message, DeliveryOptions options) {
-    MessageImpl reply = bus.createMessage(true, isLocal(), replyAddress, options.getHeaders(), message, options.getCodecName());
+    MessageImpl reply = bus.createMessage(true, isLocal(), replyAddress, bus.deliveryHeaders(options), message, options.getCodecName());
+    if (bus.isSharedBody(options)) {
+      reply.shareBody();
+    }
     reply.trace = trace;
     return reply;
   }
@@ -12,22 +12,51 @@
 package io.vertx.core.eventbus.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
 import io.vertx.core.eventbus.*;
 import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.spi.metrics.EventBusMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class MessageProducerImpl<T> implements MessageProducer<T> {
 
+  /**
+   * Header carrying the address on which the consumers of a flow controlled producer grant credits.
+   */
+  public static final String CREDIT_ADDRESS_HEADER_NAME = "__vertx.credit";
+
   private final Vertx vertx;
   private final EventBusImpl bus;
   private final boolean send;
   private final String address;
   private final boolean localOnly;
+  private final AddressCounters counters;
   private DeliveryOptions options;
 
+  // Flow control, only used once the write queue max size is set
+  private MessageConsumer<Integer> creditConsumer;
+  private String creditAddress;
+  private int maxSize;
+  private int credits;
+  private int waiting;
+  private boolean registered;
+  private Queue<PendingWrite<T>> pending;
+  private boolean full;
+  private Handler<Void> drainHandler;
+  private boolean closed;
+
   public MessageProducerImpl(Vertx vertx, String address, boolean send, DeliveryOptions options) {
     this.vertx = vertx;
     this.bus = (EventBusImpl) vertx.eventBus();
@@ -35,6 +64,7 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
     this.send = send;
     this.options = options;
     this.localOnly = vertx.isClustered() ? options.isLocalOnly() : true;
+    this.counters = bus.acquireAddressCounters(address);
   }
 
   @Override
@@ -45,10 +75,143 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
 
   @Override
   public Future<Void> write(T body) {
-    MessageImpl msg = bus.createMessage(send, localOnly, address, options.getHeaders(), body, options.getCodecName());
+    DeliveryOptions options;
+    synchronized (this) {
+      options = this.options;
+      if (creditAddress != null) {
+        boolean credited = credits > 0;
+        if (credited) {
+          credits--;
+          full = credits <= 0;
+          if (registered) {
+            return writeWithCredit(body, options);
+          }
+        } else if (waiting >= maxSize) {
+          return ((ContextInternal)vertx.getOrCreateContext()).failedFuture(new VertxException("Write queue full", true));
+        } else {
+          waiting++;
+          full = true;
+        }
+        // Wait for credits or for the credit consumer registration
+        Promise<Void> promise = ((ContextInternal)vertx.getOrCreateContext()).promise();
+        pending.add(new PendingWrite<>(body, options, promise, credited));
+        reportPending();
+        return promise.future();
+      }
+    }
+    return doWrite(body, options, bus.deliveryHeaders(options));
+  }
+
+  private Future<Void> doWrite(T body, DeliveryOptions options, MultiMap headers) {
+    MessageImpl msg = bus.createMessage(send, localOnly, address, headers, body, options.getCodecName());
+    if (bus.isSharedBody(options)) {
+      msg.shareBody();
+    }
+    msg.counters = counters;
     return bus.sendOrPubInternal(msg, options, null);
   }
 
+  private Future<Void> writeWithCredit(T body, DeliveryOptions options) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    MultiMap deliveryHeaders = bus.deliveryHeaders(options);
+    if (deliveryHeaders != null) {
+      headers.addAll(deliveryHeaders);
+    }
+    headers.set(CREDIT_ADDRESS_HEADER_NAME, creditAddress);
+    Future<Void> fut = doWrite(body, options, headers);
+    // A message that was not written will never be handled by a consumer
+    fut.onFailure(err -> receiveCredits(1));
+    return fut;
+  }
+
+  private void receiveCredits(int amount) {
+    List<PendingWrite<T>> writes = null;
+    Handler<Void> handler = null;
+    synchronized (this) {
+      if (creditAddress == null) {
+        return;
+      }
+      credits += amount;
+      PendingWrite<T> write;
+      while (registered && (write = pending.peek()) != null) {
+        if (!write.credited) {
+          if (credits <= 0) {
+            break;
+          }
+          credits--;
+          waiting--;
+        }
+        pending.poll();
+        if (writes == null) {
+          writes = new ArrayList<>();
+        }
+        writes.add(write);
+      }
+      if (writes != null) {
+        reportPending();
+      }
+      if (full && waiting == 0 && credits >= maxSize / 2) {
+        full = false;
+        handler = drainHandler;
+      }
+    }
+    if (writes != null) {
+      for (PendingWrite<T> write : writes) {
+        writeWithCredit(write.body, write.options).onComplete(write.promise);
+      }
+    }
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  private void reportPending() {
+    EventBusMetrics<?> metrics = bus.getMetrics();
+    if (metrics != null) {
+      metrics.producerPendingWrites(address, pending.size());
+    }
+  }
+
+  @Override
+  public MessageProducer<T> setWriteQueueMaxSize(int maxSize) {
+    if (!send) {
+      throw new IllegalStateException("A publisher cannot be flow controlled");
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    synchronized (this) {
+      if (creditAddress == null) {
+        creditAddress = "__vertx.credit." + UUID.randomUUID();
+        creditConsumer = bus.<Integer>consumer(creditAddress).handler(msg -> receiveCredits(msg.body()));
+        credits = maxSize;
+        pending = new ArrayDeque<>();
+        // Credits sent before the registration has reached the cluster would be lost
+        creditConsumer.completion().onSuccess(v -> {
+          synchronized (MessageProducerImpl.this) {
+            registered = true;
+          }
+          receiveCredits(0);
+        });
+      } else {
+        credits += maxSize - this.maxSize;
+      }
+      this.maxSize = maxSize;
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized boolean writeQueueFull() {
+    return full;
+  }
+
+  @Override
+  public synchronized MessageProducer<T> drainHandler(Handler<Void> handler) {
+    this.drainHandler = handler;
+    return this;
+  }
+
   @Override
   public String address() {
     return address;
@@ -56,7 +219,40 @@ public class MessageProducerImpl<T> implements MessageProducer<T> {
 
   @Override
   public Future<Void> close() {
-    return ((ContextInternal)vertx.getOrCreateContext()).succeededFuture();
+    MessageConsumer<Integer> consumer;
+    Queue<PendingWrite<T>> writes;
+    boolean release;
+    synchronized (this) {
+      release = !closed && counters != null;
+      closed = true;
+      consumer = creditConsumer;
+      writes = pending;
+      creditConsumer = null;
+      creditAddress = null;
+      pending = null;
+    }
+    if (release) {
+      bus.releaseAddressCounters(counters);
+    }
+    if (consumer == null) {
+      return ((ContextInternal)vertx.getOrCreateContext()).succeededFuture();
+    }
+    for (PendingWrite<T> write : writes) {
+      write.promise.tryFail(new VertxException("Producer closed", true));
+    }
+    return consumer.unregister();
   }
 
+  private static class PendingWrite<T> {
+    final T body;
+    final DeliveryOptions options;
+    final Promise<Void> promise;
+    final boolean credited;
+    PendingWrite(T body, DeliveryOptions options, Promise<Void> promise, boolean credited) {
+      this.body = body;
+      this.options = options;
+      this.promise = promise;
+      this.credited = credited;
+    }
+  }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.vertx.core.impl.utils.ConcurrentCyclicSequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A trie of address patterns, a pattern is made of tokens separated by {@code .}, the {@code *} token matches
+ * any single token and the {@code >} last token matches one or more tokens: {@code orders.*} matches {@code orders.123}
+ * and {@code orders.>} matches {@code orders.123} as well as {@code orders.123.created}.
+ * <p>
+ * Modifications are serialized, matching is lock free.
+ */
+public final class PatternIndex<T> {
+
+  private static final String ANY_TOKEN = "*";
+  private static final String ANY_TOKENS = ">";
+
+  /**
+   * Check the {@code pattern} is valid.
+   *
+   * @throws IllegalArgumentException when the pattern is not valid
+   */
+  public static void checkPattern(String pattern) {
+    if (pattern.isEmpty()) {
+      throw new IllegalArgumentException("Empty pattern");
+    }
+    int from = 0;
+    while (true) {
+      int to = pattern.indexOf('.', from);
+      boolean last = to == -1;
+      String token = pattern.substring(from, last ? pattern.length() : to);
+      if (token.isEmpty()) {
+        throw new IllegalArgumentException("Empty token in pattern " + pattern);
+      }
+      if (token.equals(ANY_TOKENS) && !last) {
+        throw new IllegalArgumentException("Token " + ANY_TOKENS + " must be the last token of pattern " + pattern);
+      }
+      if (last) {
+        break;
+      }
+      from = to + 1;
+    }
+  }
+
+  private static class Node<T> {
+
+    private final ConcurrentMap<String, Node<T>> children = new ConcurrentHashMap<>();
+    private volatile ConcurrentCyclicSequence<T> values = new ConcurrentCyclicSequence<>();
+
+    private boolean isEmpty() {
+      return children.isEmpty() && values.size() == 0;
+    }
+
+    private void collect(List<T> out) {
+      for (T value : values) {
+        out.add(value);
+      }
+    }
+  }
+
+  private final Node<T> root = new Node<>();
+  private volatile int size;
+
+  /**
+   * @return whether the index has no patterns, this is cheap
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Add a {@code value} for the {@code pattern}, the same value can be added several times.
+   */
+  public synchronized void add(String pattern, T value) {
+    Node<T> node = root;
+    int from = 0;
+    while (true) {
+      int to = pattern.indexOf('.', from);
+      String token = pattern.substring(from, to == -1 ? pattern.length() : to);
+      node = node.children.computeIfAbsent(token, t -> new Node<>());
+      if (to == -1) {
+        break;
+      }
+      from = to + 1;
+    }
+    node.values = node.values.add(value);
+    size++;
+  }
+
+  /**
+   * Remove a {@code value} of the {@code pattern}.
+   *
+   * @return whether the value was removed
+   */
+  public synchronized boolean remove(String pattern, T value) {
+    if (!remove(root, pattern, 0, value)) {
+      return false;
+    }
+    size--;
+    return true;
+  }
+
+  private static <T> boolean remove(Node<T> node, String pattern, int from, T value) {
+    int to = pattern.indexOf('.', from);
+    String token = pattern.substring(from, to == -1 ? pattern.length() : to);
+    Node<T> child = node.children.get(token);
+    if (child == null) {
+      return false;
+    }
+    boolean removed;
+    if (to == -1) {
+      ConcurrentCyclicSequence<T> prev = child.values;
+      child.values = prev.remove(value);
+      removed = child.values != prev;
+    } else {
+      removed = remove(child, pattern, to + 1, value);
+    }
+    if (removed && child.isEmpty()) {
+      node.children.remove(token, child);
+    }
+    return removed;
+  }
+
+  /**
+   * Add the values of the patterns matching the {@code address} to {@code out}.
+   */
+  public void match(String address, List<T> out) {
+    if (size > 0) {
+      match(root, address, 0, out);
+    }
+  }
+
+  private static <T> void match(Node<T> node, String address, int from, List<T> out) {
+    int to = address.indexOf('.', from);
+    boolean last = to == -1;
+    if (last) {
+      to = address.length();
+    }
+    String token = address.substring(from, to);
+    // A wildcard token of the address only matches itself once
+    Node<T> child = token.equals(ANY_TOKEN) || token.equals(ANY_TOKENS) ? null : node.children.get(token);
+    if (child != null) {
+      if (last) {
+        child.collect(out);
+      } else {
+        match(child, address, to + 1, out);
+      }
+    }
+    child = node.children.get(ANY_TOKEN);
+    if (child != null) {
+      if (last) {
+        child.collect(out);
+      } else {
+        match(child, address, to + 1, out);
+      }
+    }
+    child = node.children.get(ANY_TOKENS);
+    if (child != null) {
+      child.collect(out);
+    }
+  }
+
+  /**
+   * @return all the values of the index
+   */
+  public List<T> values() {
+    List<T> values = new ArrayList<>();
+    collectAll(root, values);
+    return values;
+  }
+
+  private static <T> void collectAll(Node<T> node, List<T> out) {
+    node.collect(out);
+    for (Node<T> child : node.children.values()) {
+      collectAll(child, out);
+    }
+  }
+}
@@ -11,7 +11,6 @@
 
 package io.vertx.core.eventbus.impl;
 
-import io.vertx.core.Completable;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -22,22 +21,34 @@ import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.spi.tracing.TagExtractor;
 import io.vertx.core.spi.tracing.VertxTracer;
 
-class ReplyHandler<T> extends HandlerRegistration<T> implements Handler<Long> {
-
-  private static final Completable<Void> NULL_COMPLETABLE = (res, err) -> {};
+/**
+ * Awaits the reply of a request, the handler is tracked by the {@link ReplyTable} which also expires it.
+ */
+class ReplyHandler<T> extends HandlerRegistration<T> {
 
   private final Promise<Message<T>> result;
-  private final long timeoutID;
-  private final long timeout;
+  final long timeout;
   private final String repliedAddress;
+  // Only set when the address statistics are enabled
+  private final AddressCounters requestCounters;
+  private final long sentAt;
   Object trace;
 
+  // Managed by the reply table
+  ReplyTable.Shard shard;
+  ReplyTable.Lane lane;
+  long sequence;
+  long deadline;
+  ReplyHandler<?> prev;
+  ReplyHandler<?> next;
+
   ReplyHandler(EventBusImpl eventBus, ContextInternal context, String address, String repliedAddress, boolean src, long timeout) {
     super(context, eventBus, address, src);
     this.result = context.promise();
     this.repliedAddress = repliedAddress;
-    this.timeoutID = context.setTimer(timeout, this);
     this.timeout = timeout;
+    this.requestCounters = eventBus.addressCounters(repliedAddress);
+    this.sentAt = requestCounters != null ? System.nanoTime() : 0L;
   }
 
   private void trace(Object reply, Throwable failure) {
@@ -53,8 +64,8 @@ class ReplyHandler<T> extends HandlerRegistration<T> implements Handler<Long> {
   }
 
   void fail(ReplyException failure) {
-    if (context.owner().cancelTimer(timeoutID)) {
-      unregister();
+    if (bus.replies.remove(this)) {
+      unregisterMetric();
       doFail(failure);
     }
   }
@@ -67,10 +78,13 @@ class ReplyHandler<T> extends HandlerRegistration<T> implements Handler<Long> {
     }
   }
 
-  @Override
-  public void handle(Long id) {
-    unregister();
-    doFail(new ReplyException(ReplyFailure.TIMEOUT, "Timed out after waiting " + timeout + "(ms) for a reply. address: " + address + ", repliedAddress: " + repliedAddress));
+  /**
+   * Called by the reply table when the request has expired.
+   */
+  void timeout() {
+    unregisterMetric();
+    ReplyException failure = new ReplyException(ReplyFailure.TIMEOUT, "Timed out after waiting " + timeout + "(ms) for a reply. address: " + address + ", repliedAddress: " + repliedAddress);
+    context.runOnContext(v -> doFail(failure));
   }
 
   @Override
@@ -79,13 +93,32 @@ class ReplyHandler<T> extends HandlerRegistration<T> implements Handler<Long> {
   }
 
   void register() {
-    register(false, false, NULL_COMPLETABLE);
+    registerMetric();
+    bus.replies.add(this);
+  }
+
+  @Override
+  public boolean isRegistered() {
+    synchronized (shard) {
+      return lane != null;
+    }
+  }
+
+  @Override
+  public Future<Void> unregister() {
+    if (bus.replies.remove(this)) {
+      unregisterMetric();
+    }
+    return context.succeededFuture();
   }
 
   @Override
   protected void dispatchMessage(Message<T> reply, ContextInternal context, Handler<Message<T>> handler /* null */) {
-    if (context.owner().cancelTimer(timeoutID)) {
-      unregister();
+    if (bus.replies.remove(this)) {
+      unregisterMetric();
+      if (requestCounters != null) {
+        requestCounters.roundTrip(System.nanoTime() - sentAt);
+      }
       if (reply.body() instanceof ReplyException) {
         doFail((ReplyException) reply.body());
       } else {
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.eventbus.impl;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.vertx.core.internal.ContextInternal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlates the replies with the pending requests, reply handlers are not registered in the event bus handler map.
+ * <p>
+ * The table is split in one shard per event loop, a request is tracked by the shard of the event loop of its
+ * context under a sequence number that is part of the reply address: {@code __vertx.reply.<shard>.<sequence>}
+ * optionally followed by a suffix. The shard lock is only contended by a reply delivered from another thread.
+ * <p>
+ * The timeouts are swept by the shard event loop: the requests with the same timeout are linked in insertion order,
+ * which is also their deadline order, so a single scheduled task per shard is enough to expire them.
+ */
+final class ReplyTable {
+
+  static final String REPLY_ADDRESS_PREFIX = "__vertx.reply.";
+
+  /**
+   * The sweeper does not wake up more often than this, a timeout fires at most this late.
+   */
+  private static final long SWEEP_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * Longer timeouts are capped so deadlines do not overflow and can be compared with {@code a - b < 0}.
+   */
+  private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE >> 2;
+
+  private final EventBusImpl bus;
+  private final Shard[] shards;
+  private final Map<EventExecutor, Shard> shardByEventLoop;
+
+  ReplyTable(EventBusImpl bus, Iterable<EventExecutor> eventLoops) {
+    List<Shard> list = new ArrayList<>();
+    Map<EventExecutor, Shard> map = new IdentityHashMap<>();
+    for (EventExecutor eventLoop : eventLoops) {
+      Shard shard = new Shard(list.size(), eventLoop);
+      list.add(shard);
+      map.put(eventLoop, shard);
+    }
+    this.bus = bus;
+    this.shards = list.toArray(new Shard[0]);
+    this.shardByEventLoop = map;
+  }
+
+  /**
+   * Create a reply handler tracked by the shard of the {@code context} event loop.
+   */
+  <T> ReplyHandler<T> create(ContextInternal context, String repliedAddress, boolean src, long timeout) {
+    EventLoop eventLoop = context.nettyEventLoop();
+    Shard shard = shardByEventLoop.get(eventLoop);
+    if (shard == null) {
+      // Event loop not managed by Vert.x
+      shard = shards[(System.identityHashCode(eventLoop) & 0x7FFFFFFF) % shards.length];
+    }
+    long sequence = shard.sequence.incrementAndGet();
+    String address = bus.generateReplyAddress(shard.index, sequence);
+    ReplyHandler<T> handler = new ReplyHandler<>(bus, context, address, repliedAddress, src, timeout);
+    handler.shard = shard;
+    handler.sequence = sequence;
+    return handler;
+  }
+
+  /**
+   * @return the handler awaiting a reply at the {@code address}, or {@code null} when the address is not a reply
+   *         address or the request is not pending anymore
+   */
+  ReplyHandler<?> lookup(String address) {
+    if (!address.startsWith(REPLY_ADDRESS_PREFIX)) {
+      return null;
+    }
+    int len = address.length();
+    int pos = REPLY_ADDRESS_PREFIX.length();
+    int index = 0;
+    int start = pos;
+    char c;
+    while (pos < len && (c = address.charAt(pos)) >= '0' && c <= '9' && pos - start < 9) {
+      index = index * 10 + (c - '0');
+      pos++;
+    }
+    if (pos == start || pos == len || address.charAt(pos++) != '.' || index >= shards.length) {
+      return null;
+    }
+    long sequence = 0;
+    start = pos;
+    while (pos < len && (c = address.charAt(pos)) >= '0' && c <= '9' && pos - start < 18) {
+      sequence = sequence * 10 + (c - '0');
+      pos++;
+    }
+    if (pos == start) {
+      return null;
+    }
+    Shard shard = shards[index];
+    ReplyHandler<?> handler;
+    synchronized (shard) {
+      handler = shard.handlers.get(sequence);
+    }
+    // The full address is compared since it can have a suffix that must not be guessed
+    return handler != null && handler.address.equals(address) ? handler : null;
+  }
+
+  void add(ReplyHandler<?> handler) {
+    Shard shard = handler.shard;
+    boolean schedule;
+    synchronized (shard) {
+      handler.deadline = System.nanoTime() + Math.min(TimeUnit.MILLISECONDS.toNanos(handler.timeout), MAX_TIMEOUT_NANOS);
+      shard.handlers.put(handler.sequence, handler);
+      shard.lane(handler.timeout).append(handler);
+      schedule = !shard.sweepPending || handler.deadline - shard.sweepAt < 0;
+      if (schedule) {
+        shard.sweepPending = true;
+        shard.sweepAt = handler.deadline;
+      }
+    }
+    if (schedule) {
+      shard.schedule(handler.deadline);
+    }
+  }
+
+  /**
+   * Stop tracking the {@code handler}.
+   *
+   * @return whether the handler was still tracked, only one caller observes {@code true}
+   */
+  boolean remove(ReplyHandler<?> handler) {
+    Shard shard = handler.shard;
+    synchronized (shard) {
+      if (handler.lane == null) {
+        return false;
+      }
+      shard.handlers.remove(handler.sequence);
+      shard.unlink(handler);
+      return true;
+    }
+  }
+
+  /**
+   * Stop tracking all the pending requests, their reply handlers are not failed.
+   */
+  void close() {
+    for (Shard shard : shards) {
+      List<ReplyHandler<?>> removed = new ArrayList<>();
+      synchronized (shard) {
+        removed.addAll(shard.handlers.values());
+        for (ReplyHandler<?> handler : removed) {
+          shard.unlink(handler);
+        }
+        shard.handlers.clear();
+        shard.sweepPending = false;
+        if (shard.sweep != null) {
+          shard.sweep.cancel(false);
+          shard.sweep = null;
+        }
+      }
+      for (ReplyHandler<?> handler : removed) {
+        handler.unregisterMetric();
+      }
+    }
+  }
+
+  /**
+   * The requests with the same timeout, linked in deadline order.
+   */
+  static final class Lane {
+
+    private final long timeout;
+    private ReplyHandler<?> head;
+    private ReplyHandler<?> tail;
+
+    private Lane(long timeout) {
+      this.timeout = timeout;
+    }
+
+    private void append(ReplyHandler<?> handler) {
+      handler.lane = this;
+      handler.prev = tail;
+      if (tail == null) {
+        head = handler;
+      } else {
+        tail.next = handler;
+      }
+      tail = handler;
+    }
+  }
+
+  static final class Shard implements Runnable {
+
+    private final int index;
+    private final EventExecutor eventLoop;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongObjectHashMap<ReplyHandler<?>> handlers = new LongObjectHashMap<>();
+    private final List<Lane> lanes = new ArrayList<>(2);
+    private ScheduledFuture<?> sweep;
+    // The deadline of the next sweep, only meaningful when a sweep is pending
+    private boolean sweepPending;
+    private long sweepAt;
+
+    private Shard(int index, EventExecutor eventLoop) {
+      this.index = index;
+      this.eventLoop = eventLoop;
+    }
+
+    private Lane lane(long timeout) {
+      for (int i = 0;i < lanes.size();i++) {
+        Lane lane = lanes.get(i);
+        if (lane.timeout == timeout) {
+          return lane;
+        }
+      }
+      Lane lane = new Lane(timeout);
+      lanes.add(lane);
+      return lane;
+    }
+
+    private void unlink(ReplyHandler<?> handler) {
+      Lane lane = handler.lane;
+      ReplyHandler<?> prev = handler.prev;
+      ReplyHandler<?> next = handler.next;
+      if (prev == null) {
+        lane.head = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        lane.tail = prev;
+      } else {
+        next.prev = prev;
+      }
+      handler.lane = null;
+      handler.prev = null;
+      handler.next = null;
+      if (lane.head == null) {
+        lanes.remove(lane);
+      }
+    }
+
+    // Called without the shard lock held
+    private void schedule(long deadline) {
+      long delay = Math.max(deadline - System.nanoTime(), SWEEP_RESOLUTION_NANOS);
+      ScheduledFuture<?> next = eventLoop.schedule(this, delay, TimeUnit.NANOSECONDS);
+      ScheduledFuture<?> prev;
+      synchronized (this) {
+        if (!sweepPending || sweepAt != deadline) {
+          // Superseded by a sooner deadline or the table was closed meanwhile
+          next.cancel(false);
+          return;
+        }
+        prev = sweep;
+        sweep = next;
+      }
+      if (prev != null) {
+        prev.cancel(false);
+      }
+    }
+
+    @Override
+    public void run() {
+      List<ReplyHandler<?>> expired = null;
+      boolean reschedule = false;
+      long next = 0L;
+      synchronized (this) {
+        sweep = null;
+        long now = System.nanoTime();
+        for (int i = 0;i < lanes.size();i++) {
+          Lane lane = lanes.get(i);
+          ReplyHandler<?> handler;
+          while ((handler = lane.head) != null && handler.deadline - now <= 0) {
+            if (expired == null) {
+              expired = new ArrayList<>();
+            }
+            expired.add(handler);
+            handlers.remove(handler.sequence);
+            unlink(handler);
+            if (lane.head == null) {
+              // The lane was removed
+              i--;
+            }
+          }
+          if (handler != null && (!reschedule || handler.deadline - next < 0)) {
+            reschedule = true;
+            next = handler.deadline;
+          }
+        }
+        sweepPending = reschedule;
+        sweepAt = next;
+      }
+      if (reschedule) {
+        schedule(next);
+      }
+      if (expired != null) {
+        for (ReplyHandler<?> handler : expired) {
+          handler.timeout();
+        }
+      }
+    }
+  }
+}
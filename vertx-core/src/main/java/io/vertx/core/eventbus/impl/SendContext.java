@@ -80,6 +80,7 @@ public class SendContext<T> implements Promise<Void> {
       boolean remote = (message instanceof ClusteredMessage) && ((ClusteredMessage<?, ?>)message).isToWire();
       metrics.messageSent(message.address(), !message.send, !remote, remote);
     }
+    message.bus.reportSent(message);
 
     // Tracing
     VertxTracer tracer = ctx.tracer();
@@ -36,13 +36,19 @@ import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * An event bus implementation that clusters with other Vert.x nodes
@@ -53,13 +59,18 @@ public final class ClusteredEventBus extends EventBusImpl {
 
   private static final Logger log = LoggerFactory.getLogger(ClusteredEventBus.class);
 
+  /**
+   * The cluster manager address of the pattern registrations, their {@link RegistrationInfo#pattern()} is set.
+   */
+  public static final String PATTERN_REGISTRATIONS_ADDRESS = "__vertx.patterns";
+
   private final EventBusOptions options;
   private final ClusterManager clusterManager;
   private final NodeSelector nodeSelector;
   private final AtomicLong handlerSequence = new AtomicLong(0);
   private final NetClient client;
 
-  private final ConcurrentMap<String, OutboundConnection> outboundConnections = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicReferenceArray<OutboundConnection>> outboundConnections = new ConcurrentHashMap<>();
   private final ContextInternal context;
 
   private NodeInfo nodeInfo;
@@ -67,7 +78,7 @@ public final class ClusteredEventBus extends EventBusImpl {
   private NetServerInternal server;
 
   public ClusteredEventBus(VertxInternal vertx, VertxOptions options, ClusterManager clusterManager, NodeSelector nodeSelector) {
-    super(vertx);
+    super(vertx, options.getEventBusOptions());
 
     NetClient client = createNetClient(vertx, new NetClientOptions(options.getEventBusOptions().toJson())
       .setHostnameVerificationAlgorithm("")
@@ -76,6 +87,9 @@ public final class ClusteredEventBus extends EventBusImpl {
     this.options = options.getEventBusOptions();
     this.clusterManager = clusterManager;
     this.nodeSelector = nodeSelector;
+    if (nodeSelector instanceof DefaultNodeSelector) {
+      ((DefaultNodeSelector) nodeSelector).metrics(metrics);
+    }
     this.context = vertx.contextBuilder()
       .withClassLoader(Thread.currentThread().getContextClassLoader())
       .withCloseFuture(new CloseFuture())
@@ -146,9 +160,10 @@ public final class ClusteredEventBus extends EventBusImpl {
     NetServerOptions serverOptions = getServerOptions();
     server = vertx.createNetServer(serverOptions);
     server.connectHandler(socket -> {
-      InboundConnection inboundConnection = new InboundConnection(this, socket);
+      NetSocketInternal soi = (NetSocketInternal) socket;
+      InboundConnection inboundConnection = new InboundConnection(this, soi);
       inboundConnection.handler(this::deliverMessageLocally);
-      socket.handler(inboundConnection);
+      soi.messageHandler(inboundConnection);
     });
     int port = getClusterPort();
     String host = getClusterHost();
@@ -184,9 +199,7 @@ public final class ClusteredEventBus extends EventBusImpl {
   }
 
   @Override
-  public MessageImpl createMessage(boolean send, boolean local, String address, MultiMap headers, Object body, String codecName) {
-    Objects.requireNonNull(address, "no null address accepted");
-    MessageCodec codec = codecManager.lookupCodec(body, codecName, local);
+  protected MessageImpl createMessage(boolean send, String address, MultiMap headers, Object body, MessageCodec codec) {
     @SuppressWarnings("unchecked")
     ClusteredMessage msg = new ClusteredMessage(nodeId, address, headers, body, codec, send, this);
     return msg;
@@ -194,12 +207,30 @@ public final class ClusteredEventBus extends EventBusImpl {
 
   @Override
   protected <T> void onLocalRegistration(HandlerHolder<T> handlerHolder, Completable<Void> promise) {
-    RegistrationInfo registrationInfo = new RegistrationInfo(
+    String address = registrationAddress(handlerHolder);
+    clusterManager.addRegistration(address, registrationInfo(address, handlerHolder), Objects.requireNonNull(promise));
+  }
+
+  /**
+   * The pattern is only stored in the registrations of the {@link #PATTERN_REGISTRATIONS_ADDRESS}, see
+   * {@link RegistrationInfo#RegistrationInfo(String, long, boolean, String)}.
+   */
+  private <T> RegistrationInfo registrationInfo(String address, HandlerHolder<T> handlerHolder) {
+    HandlerRegistration<T> registration = handlerHolder.getHandler();
+    return new RegistrationInfo(
       nodeId,
       handlerHolder.getSeq(),
-      handlerHolder.isLocalOnly()
+      handlerHolder.isLocalOnly(),
+      PATTERN_REGISTRATIONS_ADDRESS.equals(address) ? registration.address() : null
     );
-    clusterManager.addRegistration(handlerHolder.getHandler().address(), registrationInfo, Objects.requireNonNull(promise));
+  }
+
+  /**
+   * Patterns are all registered at the same address so node selectors can find the patterns matching an address.
+   */
+  private static <T> String registrationAddress(HandlerHolder<T> handlerHolder) {
+    HandlerRegistration<T> registration = handlerHolder.getHandler();
+    return registration.isPattern() ? PATTERN_REGISTRATIONS_ADDRESS : registration.address();
   }
 
   @Override
@@ -209,12 +240,8 @@ public final class ClusteredEventBus extends EventBusImpl {
 
   @Override
   protected <T> void onLocalUnregistration(HandlerHolder<T> handlerHolder, Completable<Void> completionHandler) {
-    RegistrationInfo registrationInfo = new RegistrationInfo(
-      nodeId,
-      handlerHolder.getSeq(),
-      handlerHolder.isLocalOnly()
-    );
-    clusterManager.removeRegistration(handlerHolder.getHandler().address(), registrationInfo, completionHandler);
+    String address = registrationAddress(handlerHolder);
+    clusterManager.removeRegistration(address, registrationInfo(address, handlerHolder), completionHandler);
   }
 
   @Override
@@ -244,6 +271,116 @@ public final class ClusteredEventBus extends EventBusImpl {
     }
   }
 
+  @Override
+  protected boolean canSendDirectly(MessageImpl<?, ?> msg, DeliveryOptions options) {
+    return options.isLocalOnly() && ((ClusteredMessage<?, ?>) msg).getRepliedTo() == null && super.canSendDirectly(msg, options);
+  }
+
+  @Override
+  protected void sendOrPubBatch(List<MessageImpl<?, ?>> batch, DeliveryOptions options) {
+    if (options.isLocalOnly() || isOutboundObserved()) {
+      super.sendOrPubBatch(batch, options);
+      return;
+    }
+    checkStarted();
+    MessageImpl<?, ?> first = batch.get(0);
+    if (first.isSend()) {
+      // A node is selected for each message, the whole batch is written when all of them are known
+      Object[] targets = new Object[batch.size()];
+      AtomicInteger remaining = new AtomicInteger(batch.size());
+      for (int i = 0;i < batch.size();i++) {
+        int idx = i;
+        nodeSelector.selectForSend(first.address(), (nodeId, failure) -> {
+          targets[idx] = failure != null ? failure : nodeId;
+          if (remaining.decrementAndGet() == 0) {
+            sendBatchToNodes(batch, targets);
+          }
+        });
+      }
+    } else {
+      nodeSelector.selectForPublish(first.address(), (nodeIds, failure) -> {
+        if (failure == null) {
+          publishBatchToNodes(batch, nodeIds);
+        } else {
+          for (int i = 0;i < batch.size();i++) {
+            sendOrPublishFailed(Promise.promise(), failure);
+          }
+        }
+      });
+    }
+  }
+
+  private void sendBatchToNodes(List<MessageImpl<?, ?>> batch, Object[] targets) {
+    Map<String, List<MessageImpl<?, ?>>> remote = new HashMap<>();
+    for (int i = 0;i < batch.size();i++) {
+      MessageImpl<?, ?> msg = batch.get(i);
+      Object target = targets[i];
+      if (target instanceof Throwable) {
+        sendOrPublishFailed(Promise.promise(), (Throwable) target);
+        continue;
+      } else if (target != null && !target.equals(nodeId)) {
+        remote.computeIfAbsent((String) target, k -> new ArrayList<>()).add(msg);
+      } else {
+        sendLocally(msg, Promise.promise());
+      }
+      reportBatchSent(msg, target != null && !target.equals(nodeId));
+    }
+    remote.forEach((nid, msgs) -> getOutboundConnection(nid, msgs.get(0).address()).writeMessages(msgs, batchWritePromises(msgs)));
+  }
+
+  private void publishBatchToNodes(List<MessageImpl<?, ?>> batch, Iterable<String> nodeIds) {
+    int remoteNodes = 0;
+    boolean local = false;
+    for (String nid : nodeIds) {
+      if (nid != null && !nid.equals(nodeId)) {
+        remoteNodes++;
+      } else {
+        local = true;
+      }
+    }
+    if (remoteNodes > 1) {
+      // Encode the bodies once for all the remote nodes
+      for (MessageImpl<?, ?> msg : batch) {
+        ((ClusteredMessage<?, ?>) msg).shareBody();
+      }
+    }
+    for (String nid : nodeIds) {
+      if (nid != null && !nid.equals(nodeId)) {
+        getOutboundConnection(nid, batch.get(0).address()).writeMessages(batch, batchWritePromises(batch));
+      }
+    }
+    for (MessageImpl<?, ?> msg : batch) {
+      if (local || remoteNodes == 0) {
+        sendLocally(msg, Promise.promise());
+      }
+      reportBatchSent(msg, remoteNodes > 0);
+    }
+  }
+
+  /**
+   * @return the write promises of a batch, there is no sender waiting for the completion of the writes
+   */
+  private List<Promise<Void>> batchWritePromises(List<MessageImpl<?, ?>> batch) {
+    List<Promise<Void>> promises = new ArrayList<>(batch.size());
+    for (int i = 0;i < batch.size();i++) {
+      Promise<Void> promise = Promise.promise();
+      promise.future().onFailure(err -> {
+        if (log.isDebugEnabled()) {
+          log.error("Failed to send message", err);
+        }
+      });
+      promises.add(promise);
+    }
+    return promises;
+  }
+
+  private void reportBatchSent(MessageImpl<?, ?> msg, boolean remote) {
+    if (metrics != null) {
+      metrics.messageSent(msg.address(), !msg.isSend(), !remote, remote);
+    }
+    reportSent(msg);
+  }
+
   private void sendOrPublishFailed(Promise<Void> promise, Throwable cause) {
     if (log.isDebugEnabled()) {
       log.error("Failed to send message", cause);
@@ -252,9 +389,9 @@ public final class ClusteredEventBus extends EventBusImpl {
   }
 
   @Override
-  protected String generateReplyAddress() {
-    // The address is a cryptographically secure id that can't be guessed
-    return "__vertx.reply." + UUID.randomUUID().toString();
+  protected String generateReplyAddress(int shard, long sequence) {
+    // The address ends with a cryptographically secure id that can't be guessed
+    return super.generateReplyAddress(shard, sequence) + '.' + UUID.randomUUID();
   }
 
   @Override
@@ -267,7 +404,7 @@ public final class ClusteredEventBus extends EventBusImpl {
   protected HandlerHolder nextHandler(ConcurrentCyclicSequence<HandlerHolder> handlers, boolean messageLocal) {
     HandlerHolder handlerHolder = null;
     if (messageLocal) {
-      handlerHolder = handlers.next();
+      handlerHolder = super.nextHandler(handlers, true);
     } else {
       Iterator<HandlerHolder> iterator = handlers.iterator(false);
       while (iterator.hasNext()) {
@@ -326,6 +463,14 @@ public final class ClusteredEventBus extends EventBusImpl {
   private <T> void sendToNodes(Iterable<String> nodeIds, MessageImpl<?, T> message, Promise<Void> writePromise) {
     boolean sentRemote = false;
     if (nodeIds != null) {
+      int remoteNodes = 0;
+      for (String nid : nodeIds) {
+        if (nid != null && !nid.equals(nodeId) && ++remoteNodes > 1) {
+          // Encode the body once for all the remote nodes
+          ((ClusteredMessage<?, ?>) message).shareBody();
+          break;
+        }
+      }
       for (String nid : nodeIds) {
         if (!sentRemote) {
           sentRemote = true;
@@ -348,35 +493,71 @@ public final class ClusteredEventBus extends EventBusImpl {
   }
 
   private void sendRemote(String remoteNodeId, MessageImpl<?, ?> message, Promise<Void> writePromise) {
-    OutboundConnection outboundConnection = getOutboundConnection(remoteNodeId);
+    OutboundConnection outboundConnection = getOutboundConnection(remoteNodeId, message.address());
     outboundConnection.writeMessage(message, writePromise);
   }
 
-  private OutboundConnection getOutboundConnection(String remoteNodeId) {
-    OutboundConnection conn = outboundConnections.get(remoteNodeId);
-    if (conn == null) {
-      conn = new OutboundConnection(this, remoteNodeId);
-      OutboundConnection prev = outboundConnections.putIfAbsent(remoteNodeId, conn);
-      if (prev != null) {
-        conn = prev;
-      } else {
-        connect(conn);
+  private OutboundConnection getOutboundConnection(String remoteNodeId, String address) {
+    int size = options.getClusterConnectionsPerNode();
+    // Messages sent to the same address always use the same connection to preserve ordering
+    int index = size == 1 ? 0 : (address.hashCode() & 0x7FFFFFFF) % size;
+    AtomicReferenceArray<OutboundConnection> connections = outboundConnections.get(remoteNodeId);
+    OutboundConnection conn;
+    if (connections != null && (conn = connections.get(index)) != null) {
+      return conn;
+    }
+    // Slots are filled and the connections of a node removed under the lock of the map entry
+    OutboundConnection[] slot = new OutboundConnection[1];
+    boolean[] created = new boolean[1];
+    connections = outboundConnections.compute(remoteNodeId, (id, array) -> {
+      if (array == null) {
+        array = new AtomicReferenceArray<>(size);
       }
+      slot[0] = array.get(index);
+      if (slot[0] == null) {
+        slot[0] = new OutboundConnection(this, id);
+        array.set(index, slot[0]);
+        created[0] = true;
+      }
+      return array;
+    });
+    if (created[0]) {
+      connect(slot[0], connections, index);
     }
-    return conn;
+    return slot[0];
+  }
+
+  /**
+   * Clear the slot of a closed connection, the connections of the node are removed once all its slots are empty.
+   */
+  private boolean removeOutboundConnection(OutboundConnection conn, AtomicReferenceArray<OutboundConnection> connections, int index) {
+    boolean[] removed = new boolean[1];
+    outboundConnections.computeIfPresent(conn.remoteNodeId(), (id, array) -> {
+      removed[0] = connections.compareAndSet(index, conn, null);
+      if (array != connections) {
+        return array;
+      }
+      for (int i = 0;i < array.length();i++) {
+        if (array.get(i) != null) {
+          return array;
+        }
+      }
+      return null;
+    });
+    return removed[0];
   }
 
-  private void connect(OutboundConnection conn) {
+  private void connect(OutboundConnection conn, AtomicReferenceArray<OutboundConnection> connections, int index) {
     Promise<NodeInfo> promise = Promise.promise();
     clusterManager.getNodeInfo(conn.remoteNodeId(), promise);
     promise.future()
       .flatMap(info -> client.connect(info.port(), info.host()))
       .onComplete(ar -> {
         if (ar.succeeded()) {
-          NetSocket connection = ar.result();
+          NetSocketInternal connection = (NetSocketInternal) ar.result();
           connection.handler(conn);
           connection.closeHandler(v -> {
-            if (outboundConnections.remove(conn.remoteNodeId(), conn)) {
+            if (removeOutboundConnection(conn, connections, index)) {
               if (log.isDebugEnabled()) {
                 log.debug("Cluster connection closed for server " + conn.remoteNodeId());
               }
@@ -11,6 +11,8 @@
 
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
@@ -21,6 +23,7 @@ import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.eventbus.impl.CodecManager;
 import io.vertx.core.eventbus.impl.EventBusImpl;
 import io.vertx.core.eventbus.impl.MessageImpl;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 
@@ -34,7 +37,15 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
 
   private static final Logger log = LoggerFactory.getLogger(ClusteredMessage.class);
 
-  private static final byte WIRE_PROTOCOL_VERSION = 2;
+  /**
+   * The version written by default, understood by all nodes.
+   */
+  static final byte LEGACY_WIRE_PROTOCOL_VERSION = 2;
+
+  /**
+   * The latest version, only written after the remote node has acknowledged it, see {@link WireDictionary}.
+   */
+  static final byte WIRE_PROTOCOL_VERSION = 3;
 
   private String sender;
   private String repliedTo;
@@ -44,6 +55,13 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   private boolean fromWire;
   private boolean toWire;
   private String failure;
+  private int bodyCompression;
+  private int compressionSavings;
+  private boolean shareBody;
+  private Buffer sharedBody;
+  private Buffer sharedCompressedBody;
+  private int sharedCompression = -1;
+  private boolean bodyReused;
 
   public ClusteredMessage(EventBusImpl bus) {
     super(bus);
@@ -62,6 +80,7 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
       this.wireBuffer = other.wireBuffer;
       this.bodyPos = other.bodyPos;
       this.headersPos = other.headersPos;
+      this.bodyCompression = other.bodyCompression;
     }
     this.fromWire = other.fromWire;
   }
@@ -92,6 +111,14 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     return headers;
   }
 
+  @Override
+  public String header(String name) {
+    if (headers == null && headersPos != 0) {
+      decodeHeaders();
+    }
+    return super.header(name);
+  }
+
   @Override
   public V body() {
     // Lazily decode the body
@@ -108,11 +135,75 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   }
 
   public Buffer encodeToWire() {
-    toWire = true;
     int length = 1024; // TODO make this configurable
     Buffer buffer = Buffer.buffer(length);
+    encodeToWire(buffer);
+    return buffer;
+  }
+
+  /**
+   * Append the wire frame of this message to the end of the given {@code buffer}.
+   *
+   * @param buffer the buffer to append to
+   * @return the number of bytes appended
+   */
+  public int encodeToWire(Buffer buffer) {
+    return encodeToWire(buffer, null, null);
+  }
+
+  /**
+   * Append the wire frame of this message to the end of the given {@code buffer}, using the latest wire protocol
+   * version when a {@code dictionary} is provided.
+   *
+   * @param buffer the buffer to append to
+   * @param dictionary the connection dictionary, or {@code null} for the legacy wire protocol version
+   * @param compression the body compression, only used with the latest wire protocol version, or {@code null}
+   * @return the number of bytes appended
+   */
+  int encodeToWire(Buffer buffer, WireDictionary dictionary, WireCompression compression) {
+    return encodeToWire(buffer, dictionary, compression, null);
+  }
+
+  /**
+   * Encode the wire frame of this message for a single socket write. When the body is shared, the frame is a
+   * composite of the encoded header and of a slice of the shared body, so the body bytes are not copied in the frame
+   * written to each node.
+   *
+   * @param dictionary the connection dictionary, or {@code null} for the legacy wire protocol version
+   * @param compression the body compression, only used with the latest wire protocol version, or {@code null}
+   * @return the frame
+   */
+  ByteBuf encodeFrame(WireDictionary dictionary, WireCompression compression) {
+    Buffer header = Buffer.buffer(shareBody ? 256 : 1024);
+    Buffer[] body = shareBody ? new Buffer[1] : null;
+    encodeToWire(header, dictionary, compression, body);
+    if (body == null || body[0] == null) {
+      return ((BufferInternal) header).getByteBuf();
+    }
+    return Unpooled.wrappedBuffer(((BufferInternal) header).getByteBuf(), ((BufferInternal) body[0]).getByteBuf());
+  }
+
+  /**
+   * @param sharedTail when not {@code null}, receives the shared body instead of appending it to the {@code buffer},
+   *                   the frame length accounts for it
+   */
+  private int encodeToWire(Buffer buffer, WireDictionary dictionary, WireCompression compression, Buffer[] sharedTail) {
+    toWire = true;
+    compressionSavings = 0;
+    bodyReused = false;
+    int start = buffer.length();
     buffer.appendInt(0);
-    buffer.appendByte(WIRE_PROTOCOL_VERSION);
+    if (dictionary != null) {
+      dictionary.mark();
+      try {
+        encodeCompact(buffer, dictionary, compression, sharedTail);
+      } catch (RuntimeException e) {
+        dictionary.rollback();
+        throw e;
+      }
+      return frameLength(buffer, start, sharedTail);
+    }
+    buffer.appendByte(LEGACY_WIRE_PROTOCOL_VERSION);
     byte systemCodecID = messageCodec.systemCodecID();
     buffer.appendByte(systemCodecID);
     if (systemCodecID == -1) {
@@ -128,17 +219,144 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     }
     writeString(buffer, sender);
     encodeHeaders(buffer);
-    writeBody(buffer);
-    buffer.setInt(0, buffer.length() - 4);
-    return buffer;
+    if (shareBody) {
+      appendSharedBody(buffer, sharedBody(), sharedTail);
+    } else {
+      writeBody(buffer);
+    }
+    return frameLength(buffer, start, sharedTail);
+  }
+
+  private static int frameLength(Buffer buffer, int start, Buffer[] sharedTail) {
+    int length = buffer.length() - start;
+    if (sharedTail != null && sharedTail[0] != null) {
+      length += sharedTail[0].length();
+    }
+    buffer.setInt(start, length - 4);
+    return length;
+  }
+
+  private static void appendSharedBody(Buffer buffer, Buffer body, Buffer[] sharedTail) {
+    if (sharedTail != null) {
+      sharedTail[0] = body;
+    } else {
+      buffer.appendBuffer(body);
+    }
+  }
+
+  private void encodeCompact(Buffer buffer, WireDictionary dictionary, WireCompression compression, Buffer[] sharedTail) {
+    buffer.appendByte(WIRE_PROTOCOL_VERSION);
+    byte systemCodecID = messageCodec.systemCodecID();
+    buffer.appendByte(systemCodecID);
+    if (systemCodecID == -1) {
+      // User codec
+      dictionary.writeString(buffer, messageCodec.name());
+    }
+    // Flags: bit 0 is set for publish, bits 1-2 hold the body compression
+    int flagsPos = buffer.length();
+    buffer.appendByte(send ? (byte) 0 : (byte) 1);
+    // Reply addresses are unique, they are never added to the dictionary
+    if (EventBusImpl.isReplyAddress(address)) {
+      WireDictionary.writeUnindexed(buffer, address);
+    } else {
+      dictionary.writeString(buffer, address);
+    }
+    if (replyAddress != null) {
+      WireDictionary.writeVarInt(buffer, 1);
+      WireDictionary.writeLiteral(buffer, replyAddress);
+    } else {
+      WireDictionary.writeVarInt(buffer, 0);
+    }
+    dictionary.writeString(buffer, sender);
+    if (headers != null && !headers.isEmpty()) {
+      List<Map.Entry<String, String>> entries = headers.entries();
+      WireDictionary.writeVarInt(buffer, entries.size());
+      for (Map.Entry<String, String> entry: entries) {
+        dictionary.writeString(buffer, entry.getKey());
+        WireDictionary.writeLiteral(buffer, entry.getValue());
+      }
+    } else {
+      WireDictionary.writeVarInt(buffer, 0);
+    }
+    if (compression != null) {
+      Buffer body;
+      int bodyStart;
+      int algorithm;
+      if (shareBody) {
+        body = sharedBody();
+        bodyStart = buffer.length();
+        algorithm = sharedCompressedBody(body, compression);
+        appendSharedBody(buffer, algorithm != WireCompression.NONE ? sharedCompressedBody : body, sharedTail);
+      } else {
+        body = Buffer.buffer();
+        writeBody(body);
+        bodyStart = buffer.length();
+        algorithm = compression.compress(body, buffer);
+      }
+      if (algorithm != WireCompression.NONE) {
+        buffer.setByte(flagsPos, (byte) (buffer.getByte(flagsPos) | (algorithm << 1)));
+        compressionSavings = shareBody ? body.length() - sharedCompressedBody.length() : body.length() - (buffer.length() - bodyStart);
+      } else if (!shareBody) {
+        buffer.appendBuffer(body);
+      }
+    } else if (shareBody) {
+      appendSharedBody(buffer, sharedBody(), sharedTail);
+    } else {
+      writeBody(buffer);
+    }
+  }
+
+  /**
+   * Encode (and compress) the body once and reuse it for every frame written afterward, this is used when a message
+   * is published to several nodes. Frames written on their own ({@link #encodeFrame}) reference the shared body
+   * without copying it, frames appended to a coalesced batch still copy the body bytes.
+   */
+  void shareBody() {
+    shareBody = true;
+  }
+
+  private synchronized Buffer sharedBody() {
+    if (sharedBody == null) {
+      sharedBody = Buffer.buffer();
+      writeBody(sharedBody);
+    } else {
+      bodyReused = true;
+    }
+    return sharedBody;
+  }
+
+  private synchronized int sharedCompressedBody(Buffer body, WireCompression compression) {
+    // Compression settings are the same for every connection
+    if (sharedCompression == -1) {
+      sharedCompressedBody = Buffer.buffer();
+      sharedCompression = compression.compress(body, sharedCompressedBody);
+    }
+    return sharedCompression;
   }
 
   public void readFromWire(Buffer buffer, CodecManager codecManager) {
+    readFromWire(buffer, codecManager, null);
+  }
+
+  /**
+   * Read this message from a wire frame.
+   *
+   * @param buffer the frame, without the overall length
+   * @param codecManager the codec manager
+   * @param dictionary the connection dictionary used to decode the latest wire protocol version
+   */
+  void readFromWire(Buffer buffer, CodecManager codecManager, WireDictionary dictionary) {
     int pos = 0;
     // Overall Length already read when passed in here
     byte protocolVersion = buffer.getByte(pos);
-    if (protocolVersion > WIRE_PROTOCOL_VERSION) {
-      setFailure("Invalid wire protocol version " + protocolVersion + " should be <= " + WIRE_PROTOCOL_VERSION);
+    byte maxProtocolVersion = dictionary != null ? WIRE_PROTOCOL_VERSION : LEGACY_WIRE_PROTOCOL_VERSION;
+    if (protocolVersion > maxProtocolVersion) {
+      setFailure("Invalid wire protocol version " + protocolVersion + " should be <= " + maxProtocolVersion);
+      return;
+    }
+    if (protocolVersion == WIRE_PROTOCOL_VERSION) {
+      readCompact(buffer, codecManager, dictionary);
+      return;
     }
     pos++;
     byte systemCodecCode = buffer.getByte(pos);
@@ -185,6 +403,41 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     fromWire = true;
   }
 
+  private void readCompact(Buffer buffer, CodecManager codecManager, WireDictionary dictionary) {
+    int[] pos = { 1 };
+    byte systemCodecCode = buffer.getByte(pos[0]++);
+    if (systemCodecCode == -1) {
+      // User codec, the dictionary must be read even though the codec is missing
+      String codecName = dictionary.readString(buffer, pos);
+      messageCodec = codecManager.getCodec(codecName);
+      if (messageCodec == null) {
+        setFailure("No message codec registered with name " + codecName);
+      }
+    } else {
+      messageCodec = codecManager.systemCodecs()[systemCodecCode];
+    }
+    byte flags = buffer.getByte(pos[0]++);
+    send = (flags & 1) == 0;
+    bodyCompression = (flags >> 1) & 3;
+    address = dictionary.readString(buffer, pos);
+    if (WireDictionary.readVarInt(buffer, pos) != 0) {
+      replyAddress = WireDictionary.readLiteral(buffer, pos);
+    }
+    sender = dictionary.readString(buffer, pos);
+    // Headers are decoded eagerly, since the dictionary is not safe to use outside the connection event-loop
+    int numHeaders = WireDictionary.readVarInt(buffer, pos);
+    if (numHeaders > 0) {
+      headers = MultiMap.caseInsensitiveMultiMap();
+      for (int i = 0;i < numHeaders;i++) {
+        String key = dictionary.readString(buffer, pos);
+        headers.add(key, WireDictionary.readLiteral(buffer, pos));
+      }
+    }
+    bodyPos = pos[0];
+    wireBuffer = buffer;
+    fromWire = true;
+  }
+
   private void setFailure(String s) {
     if (failure == null) {
       failure = s;
@@ -192,7 +445,11 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
   }
 
   private void decodeBody() {
-    receivedBody = messageCodec.decodeFromWire(bodyPos, wireBuffer);
+    if (bodyCompression != WireCompression.NONE) {
+      receivedBody = messageCodec.decodeFromWire(0, WireCompression.decompress(bodyCompression, wireBuffer, bodyPos));
+    } else {
+      receivedBody = messageCodec.decodeFromWire(bodyPos, wireBuffer);
+    }
     bodyPos = 0;
   }
 
@@ -247,6 +504,21 @@ public class ClusteredMessage<U, V> extends MessageImpl<U, V> {
     buff.appendBytes(strBytes);
   }
 
+  /**
+   * @return the number of bytes saved by compressing the body when it was last encoded
+   */
+  int compressionSavings() {
+    return compressionSavings;
+  }
+
+  /**
+   * @return the length of the body encoded by a previous frame when it was reused by the last encoding of this
+   *         message, {@code 0} otherwise
+   */
+  synchronized int reusedBodyLength() {
+    return bodyReused ? sharedBody.length() : 0;
+  }
+
   String getSender() {
     return sender;
   }
@@ -12,10 +12,14 @@ package io.vertx.core.eventbus.impl.clustered;
 
 import io.netty.util.internal.PlatformDependent;
 import io.vertx.core.Completable;
+import io.vertx.core.VertxException;
+import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.eventbus.impl.PatternIndex;
 import io.vertx.core.eventbus.impl.clustered.selector.*;
 import io.vertx.core.spi.cluster.ClusteredNode;
 import io.vertx.core.spi.cluster.RegistrationInfo;
 import io.vertx.core.spi.cluster.RegistrationUpdateEvent;
+import io.vertx.core.spi.metrics.EventBusMetrics;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,11 +28,47 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Node selector implementation that preserves the ordering of select operations.
+ * <p>
+ * Selectors are cached per address and kept up to date with registration updates, a select operation on a cached
+ * address is resolved synchronously without allocating. Other select operations wait for the registrations of the
+ * address to be retrieved, up to {@link EventBusOptions#getClusterMaxPendingSelections()} per address.
+ * <p>
+ * The {@link EventBusOptions#getClusterPreloadedAddresses() preloaded addresses} are retrieved when the event bus
+ * starts and stay cached even when they have no registrations.
+ * <p>
+ * The pattern registrations are retrieved when the event bus starts, the nodes of the patterns matching an address
+ * are selected along with the nodes registered at the address. The cache is cleared when the patterns change.
  */
 public class DefaultNodeSelector implements NodeSelector {
 
+  private static final Action PRELOAD = new Action() {
+  };
+
   private ClusteredNode clusterManager;
   private final ConcurrentMap<String, Node> entries = new ConcurrentHashMap<>();
+  private final Set<String> preloadedAddresses;
+  private final int maxPendingSelections;
+  private EventBusMetrics<?> metrics;
+  private volatile PatternIndex<String> patterns = new PatternIndex<>();
+
+  public DefaultNodeSelector() {
+    this(new EventBusOptions());
+  }
+
+  public DefaultNodeSelector(EventBusOptions options) {
+    this.preloadedAddresses = new HashSet<>(options.getClusterPreloadedAddresses());
+    this.maxPendingSelections = options.getClusterMaxPendingSelections();
+  }
+
+  /**
+   * Report the cache hits and misses of select operations to the event bus metrics, this must be called before the
+   * event bus starts.
+   *
+   * @param metrics the event bus metrics, or {@code null}
+   */
+  public void metrics(EventBusMetrics<?> metrics) {
+    this.metrics = metrics;
+  }
 
   private interface Op<T> {
     Op<String> SEND = RoundRobinSelector::selectForSend;
@@ -39,15 +79,33 @@ public class DefaultNodeSelector implements NodeSelector {
   private static class Node {
 
     final AtomicInteger wip = new AtomicInteger(1);
+    final AtomicInteger pendingSelections = new AtomicInteger();
     final Queue<Action> queue = PlatformDependent.newMpscQueue();
     Object value;
 
+    /**
+     * Reserve a slot for a selection to enqueue, the slot is released when the selection is signalled.
+     *
+     * @return whether there were less than {@code max} pending selections
+     */
+    private boolean reserveSelection(int max) {
+      int pending;
+      do {
+        pending = pendingSelections.get();
+        if (pending >= max) {
+          return false;
+        }
+      } while (!pendingSelections.compareAndSet(pending, pending + 1));
+      return true;
+    }
+
     private void signal(Object value, int amount) {
       while (amount > 0) {
         for (int i = 0;i < amount;i++) {
           Action a = queue.poll();
           assert a != null;
           if (a instanceof Select) {
+            pendingSelections.decrementAndGet();
             Select<?> s = (Select<?>) a;
             if (value instanceof RoundRobinSelector) {
               s.resolve((RoundRobinSelector) value);
@@ -56,7 +114,7 @@ public class DefaultNodeSelector implements NodeSelector {
             }
           } else if (a instanceof Update) {
             value = ((Update)a).selector;
-          } else {
+          } else if (a != PRELOAD) {
             throw new UnsupportedOperationException();
           }
         }
@@ -97,25 +155,33 @@ public class DefaultNodeSelector implements NodeSelector {
     Node node = entries.get(address);
     if (node == null) {
       node = new Node();
+      node.pendingSelections.set(1);
       node.queue.add(new Select<>(op, callback));
       Node phantom = entries.putIfAbsent(address, node);
       if (phantom != null) {
         node = phantom;
       } else {
         // Obtained ownership
+        reportSelection(address, false);
         initializeNode(node, address);
         return;
       }
     }
-    if (node.wip.get() == 0) {
+    int wip = node.wip.get();
+    if (wip == 0) {
       // wip == 0 implies we can safely read a value
+      reportSelection(address, true);
       Object v = node.value;
       if (v instanceof RoundRobinSelector) {
         callback.succeed(op.select((RoundRobinSelector) v));
       } else {
         callback.fail((Throwable) v);
       }
+    } else if (!node.reserveSelection(maxPendingSelections)) {
+      reportSelection(address, false);
+      callback.fail(new VertxException("Too many pending node selections for address " + address, true));
     } else {
+      reportSelection(address, false);
       node.queue.add(new Select<>(op, callback));
       int amount = node.wip.incrementAndGet();
       if (amount == 1) {
@@ -138,10 +204,12 @@ public class DefaultNodeSelector implements NodeSelector {
   }
 
   private void succeed(Node node, String address, List<RegistrationInfo> registrations) {
-    List<String> accessible = computeAccessible(registrations);
+    List<String> accessible = computeAccessible(address, registrations);
     RoundRobinSelector selector = data(accessible);
     if (selector != null) {
       node.signal(selector, node.wip.get());
+    } else if (preloadedAddresses.contains(address)) {
+      node.signal(NullRoundRobinSelector.INSTANCE, node.wip.get());
     } else {
       if (entries.remove(address, node)) {
         node.signal(NullRoundRobinSelector.INSTANCE, node.wip.get());
@@ -171,7 +239,7 @@ public class DefaultNodeSelector implements NodeSelector {
 
   @Override
   public boolean wantsUpdatesFor(String address) {
-    return entries.containsKey(address);
+    return ClusteredEventBus.PATTERN_REGISTRATIONS_ADDRESS.equals(address) || entries.containsKey(address);
   }
 
   private RoundRobinSelector data(List<String> nodeIds) {
@@ -210,34 +278,88 @@ public class DefaultNodeSelector implements NodeSelector {
     return true;
   }
 
-  private List<String> computeAccessible(List<RegistrationInfo> registrations) {
-    if (registrations == null || registrations.isEmpty()) {
+  private List<String> computeAccessible(String address, List<RegistrationInfo> registrations) {
+    PatternIndex<String> p = patterns;
+    if ((registrations == null || registrations.isEmpty()) && p.isEmpty()) {
       return Collections.emptyList();
     }
-    ArrayList<String> list = new ArrayList<>(registrations.size());
-    for (RegistrationInfo registration : registrations) {
-      if (isAccessible(registration)) {
-        String nodeId = registration.nodeId();
-        list.add(nodeId);
+    ArrayList<String> list = new ArrayList<>(registrations != null ? registrations.size() : 1);
+    if (registrations != null) {
+      for (RegistrationInfo registration : registrations) {
+        if (isAccessible(registration)) {
+          String nodeId = registration.nodeId();
+          list.add(nodeId);
+        }
       }
     }
+    p.match(address, list);
     list.trimToSize();
     return list;
   }
 
+  private void updatePatterns(List<RegistrationInfo> registrations) {
+    PatternIndex<String> index = new PatternIndex<>();
+    if (registrations != null) {
+      for (RegistrationInfo registration : registrations) {
+        if (registration.pattern() != null && isAccessible(registration)) {
+          index.add(registration.pattern(), registration.nodeId());
+        }
+      }
+    }
+    PatternIndex<String> prev = patterns;
+    patterns = index;
+    if (prev.isEmpty() && index.isEmpty()) {
+      // No pattern before and after, the cached selectors are still accurate
+      return;
+    }
+    // The selectors of the cached addresses might not reflect the patterns anymore
+    entries.clear();
+    preload();
+  }
+
   private boolean isAccessible(RegistrationInfo registrationInfo) {
     return !registrationInfo.localOnly() || clusterManager.getNodeId().equals(registrationInfo.nodeId());
   }
 
   @Override
   public void eventBusStarted() {
+    preload();
+    clusterManager.getRegistrations(ClusteredEventBus.PATTERN_REGISTRATIONS_ADDRESS, (res, err) -> {
+      if (err == null) {
+        updatePatterns(res);
+      }
+    });
+  }
+
+  private void preload() {
+    for (String address : preloadedAddresses) {
+      Node node = new Node();
+      node.queue.add(PRELOAD);
+      if (entries.putIfAbsent(address, node) == null) {
+        initializeNode(node, address);
+      }
+    }
+  }
+
+  private void reportSelection(String address, boolean cached) {
+    EventBusMetrics<?> m = metrics;
+    if (m != null) {
+      m.nodeSelected(address, cached);
+    }
   }
 
   @Override
   public void registrationsUpdated(RegistrationUpdateEvent event) {
     String address = event.address();
-    List<String> accessible = computeAccessible(event.registrations());
+    if (ClusteredEventBus.PATTERN_REGISTRATIONS_ADDRESS.equals(address)) {
+      updatePatterns(event.registrations());
+      return;
+    }
+    List<String> accessible = computeAccessible(address, event.registrations());
     RoundRobinSelector selector = data(accessible);
+    if (selector == null && preloadedAddresses.contains(address)) {
+      selector = NullRoundRobinSelector.INSTANCE;
+    }
     if (selector != null) {
       Node node = entries.get(address);
       if (node != null) {
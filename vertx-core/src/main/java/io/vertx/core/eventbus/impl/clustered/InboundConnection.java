@@ -10,40 +10,61 @@
  */
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.impl.AddressCounters;
 import io.vertx.core.eventbus.impl.CodecManager;
-import io.vertx.core.net.NetSocket;
-import io.vertx.core.parsetools.RecordParser;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.internal.net.NetSocketInternal;
 import io.vertx.core.spi.metrics.EventBusMetrics;
 
 /**
  * Process event-bus server connections, this connection reads messages, the only data
  * it writes are pong replies.
+ * <p>
+ * Frames are delimited by a {@link LengthFieldBasedFrameDecoder} installed in the channel pipeline, which slices
+ * them out of the inbound buffers instead of copying them. Each frame is then copied once in a heap buffer owned by
+ * the message, and the pooled frame is released right away.
  */
-final class InboundConnection implements Handler<Buffer> {
+final class InboundConnection implements Handler<Object> {
 
   private static final Buffer PONG = Buffer.buffer(new byte[]{(byte) 1});
 
   private final ClusteredEventBus clusteredEventBus;
-  private final NetSocket socket;
-  private final RecordParser parser;
-  private int size = -1;
+  private final NetSocketInternal socket;
+  private final WireDictionary dictionary = new WireDictionary();
   private Handler<ClusteredMessage<?, ?>> handler;
 
-  public InboundConnection(ClusteredEventBus clusteredEventBus, NetSocket socket) {
+  public InboundConnection(ClusteredEventBus clusteredEventBus, NetSocketInternal socket) {
     this.clusteredEventBus = clusteredEventBus;
-
-    RecordParser parser = RecordParser.newFixed(4);
-    parser.setOutput(this::decodeMessage);
-
     this.socket = socket;
-    this.parser = parser;
+
+    socket
+      .channelHandlerContext()
+      .pipeline()
+      .addBefore("handler", "eventBusFrameDecoder", new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, 4, 0, 4));
   }
 
   @Override
-  public void handle(Buffer data) {
-    parser.handle(data);
+  public void handle(Object msg) {
+    if (msg instanceof ByteBuf) {
+      ByteBuf frame = (ByteBuf) msg;
+      Buffer buff;
+      try {
+        buff = BufferInternal.buffer(VertxByteBufAllocator.DEFAULT
+          .heapBuffer(frame.readableBytes())
+          .writeBytes(frame));
+      } finally {
+        frame.release();
+      }
+      decodeMessage(buff);
+    } else {
+      ReferenceCountUtil.release(msg);
+    }
   }
 
   InboundConnection handler(Handler<ClusteredMessage<?, ?>> messageHandler) {
@@ -52,26 +73,28 @@ final class InboundConnection implements Handler<Buffer> {
   }
 
   private void decodeMessage(Buffer buff) {
-    if (size == -1) {
-      size = buff.getInt(0);
-      parser.fixedSizeMode(size);
-    } else {
-      ClusteredMessage<?, ?> received = new ClusteredMessage<>(clusteredEventBus);
-      received.readFromWire(buff, clusteredEventBus.codecManager());
-      parser.fixedSizeMode(4);
-      size = -1;
-      if (received.hasFailure()) {
-        received.internalError();
-      } else if (received.codec() == CodecManager.PING_MESSAGE_CODEC) {
+    ClusteredMessage<?, ?> received = new ClusteredMessage<>(clusteredEventBus);
+    received.readFromWire(buff, clusteredEventBus.codecManager(), dictionary);
+    if (received.hasFailure()) {
+      received.internalError();
+    } else if (received.codec() == CodecManager.PING_MESSAGE_CODEC) {
+      if (received.headers().contains(OutboundConnection.WIRE_PROTOCOL_VERSION_HEADER)) {
+        // Version negotiation, reply with the latest version supported
+        socket.write(Buffer.buffer(new byte[]{ClusteredMessage.WIRE_PROTOCOL_VERSION}));
+      } else {
         // Just send back pong directly on connection
         socket.write(PONG);
-      } else {
-        EventBusMetrics<?> metrics = clusteredEventBus.metrics();
-        if (metrics != null) {
-          metrics.messageRead(received.address(), buff.length());
-        }
-        handler.handle(received);
       }
+    } else {
+      EventBusMetrics<?> metrics = clusteredEventBus.metrics();
+      if (metrics != null) {
+        metrics.messageRead(received.address(), buff.length());
+      }
+      AddressCounters counters = clusteredEventBus.addressCounters(received.address());
+      if (counters != null) {
+        counters.read(buff.length());
+      }
+      handler.handle(received);
     }
   }
 }
@@ -11,20 +11,29 @@
 
 package io.vertx.core.eventbus.impl.clustered;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.VertxException;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBusOptions;
+import io.vertx.core.eventbus.impl.AddressCounters;
 import io.vertx.core.eventbus.impl.MessageImpl;
 import io.vertx.core.eventbus.impl.codecs.PingMessageCodec;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
-import io.vertx.core.net.NetSocket;
+import io.vertx.core.internal.net.NetSocketInternal;
 import io.vertx.core.spi.metrics.EventBusMetrics;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 
 /**
@@ -39,14 +48,34 @@ final class OutboundConnection implements Handler<Buffer> {
 
   private static final String PING_ADDRESS = "__vertx_ping";
 
+  /**
+   * Header of the first ping sent on a connection, advertising the latest wire protocol version supported by this
+   * node. Nodes that support it reply with their own latest version instead of a pong, older nodes reply with a pong.
+   */
+  static final String WIRE_PROTOCOL_VERSION_HEADER = "__vertx.wire_protocol_version";
+
   private final ClusteredEventBus eventBus;
   private final String remoteNodeId;
   private final VertxInternal vertx;
   private final EventBusMetrics<?> metrics;
+  private final boolean reportWrites;
+  private final boolean coalescing;
+  private final int coalescingThreshold;
+  private final int maxPendingWrites;
 
   private Queue<MessageWrite> pendingWrites;
-  private NetSocket socket;
+  private NetSocketInternal socket;
+  private EventLoop eventLoop;
   private boolean connected;
+  private boolean closed;
+  private boolean negotiating;
+  private WireDictionary dictionary;
+  private WireCompression compression;
+
+  // Coalesced writes, only used when coalescing is enabled
+  private ByteBuf batch;
+  private List<Promise<Void>> batchPromises;
+  private boolean flushScheduled;
   private long pingReplyTimeoutID = -1;
   private long pingTimeoutID = -1;
 
@@ -55,6 +84,10 @@ final class OutboundConnection implements Handler<Buffer> {
     this.remoteNodeId = remoteNodeId;
     this.vertx = eventBus.vertx();
     this.metrics = eventBus.getMetrics();
+    this.reportWrites = metrics != null || eventBus.options().isAddressStatisticsEnabled();
+    this.coalescing = eventBus.options().isClusterWriteCoalescing();
+    this.coalescingThreshold = eventBus.options().getClusterWriteCoalescingThreshold();
+    this.maxPendingWrites = eventBus.options().getClusterMaxPendingWrites();
   }
 
   String remoteNodeId() {
@@ -63,8 +96,12 @@ final class OutboundConnection implements Handler<Buffer> {
 
   synchronized void writeMessage(MessageImpl<?, ?> message, Promise<Void> writePromise) {
     if (connected) {
-      writeMessage(message)
-        .onComplete(writePromise);
+      if (coalescing) {
+        coalesceMessage(message, writePromise);
+      } else {
+        writeMessage(message)
+          .onComplete(writePromise);
+      }
     } else {
       if (pendingWrites == null) {
         if (log.isDebugEnabled()) {
@@ -72,15 +109,81 @@ final class OutboundConnection implements Handler<Buffer> {
         }
         pendingWrites = new ArrayDeque<>();
       }
+      if (pendingWrites.size() >= maxPendingWrites) {
+        writePromise.tryFail(new VertxException("Too many messages waiting for the connection to " + remoteNodeId, true));
+        return;
+      }
       pendingWrites.add(new MessageWrite(message, writePromise));
+      if (metrics != null) {
+        metrics.connectionPendingWrites(remoteNodeId, pendingWrites.size());
+      }
     }
   }
 
+  /**
+   * Write a batch of messages with a single socket write.
+   *
+   * @param writePromises the write promise of each message
+   */
+  synchronized void writeMessages(List<MessageImpl<?, ?>> messages, List<Promise<Void>> writePromises) {
+    if (!connected || coalescing) {
+      // Pending and coalesced messages are written at once anyway
+      for (int i = 0;i < messages.size();i++) {
+        writeMessage(messages.get(i), writePromises.get(i));
+      }
+      return;
+    }
+    ByteBuf buf = VertxByteBufAllocator.DEFAULT.heapBuffer(Math.min(messages.size(), 64) * 1024);
+    Buffer data = BufferInternal.buffer(buf);
+    List<Promise<Void>> written = new ArrayList<>(messages.size());
+    for (int i = 0;i < messages.size();i++) {
+      ClusteredMessage<?, ?> clusteredMessage = (ClusteredMessage<?, ?>)messages.get(i);
+      int writerIndex = buf.writerIndex();
+      int length;
+      try {
+        length = clusteredMessage.encodeToWire(data, dictionary, compression);
+      } catch (RuntimeException e) {
+        // Discard the partially encoded frame, the rest of the batch is still written
+        buf.writerIndex(writerIndex);
+        log.error("Failed to encode message to " + clusteredMessage.address(), e);
+        writePromises.get(i).tryFail(e);
+        continue;
+      }
+      written.add(writePromises.get(i));
+      if (reportWrites) {
+        reportWritten(clusteredMessage, length);
+      }
+    }
+    if (written.isEmpty()) {
+      return;
+    }
+    socket.write(data).onComplete(ar -> {
+      for (Promise<Void> promise : written) {
+        promise.handle(ar);
+      }
+    });
+  }
+
   @Override
   public void handle(Buffer event) {
-    // Got a pong back
-    vertx.cancelTimer(pingReplyTimeoutID);
-    schedulePing();
+    int pongs = event.length();
+    synchronized (this) {
+      if (negotiating) {
+        // The first byte replies to the version negotiation
+        negotiating = false;
+        pongs--;
+        if (event.getByte(0) >= ClusteredMessage.WIRE_PROTOCOL_VERSION) {
+          dictionary = new WireDictionary();
+          EventBusOptions options = eventBus.options();
+          compression = WireCompression.create(options.getClusterCompression(), options.getClusterCompressionThreshold());
+        }
+      }
+    }
+    if (pongs > 0) {
+      // Got a pong back
+      vertx.cancelTimer(pingReplyTimeoutID);
+      schedulePing();
+    }
   }
 
   void handleClose(Throwable cause) {
@@ -91,11 +194,28 @@ final class OutboundConnection implements Handler<Buffer> {
       vertx.cancelTimer(pingTimeoutID);
     }
     synchronized (this) {
+      closed = true;
+      if (compression != null) {
+        // Release the native memory of the compressor, the messages written from now on are not compressed
+        compression.end();
+        compression = null;
+      }
       MessageWrite msg;
       if (pendingWrites != null) {
         while ((msg = pendingWrites.poll()) != null) {
           msg.writePromise.tryFail(cause);
         }
+        if (metrics != null) {
+          metrics.connectionPendingWrites(remoteNodeId, 0);
+        }
+      }
+      if (batch != null) {
+        batch.release();
+        batch = null;
+        for (Promise<Void> promise : batchPromises) {
+          promise.tryFail(cause);
+        }
+        batchPromises = null;
       }
     }
   }
@@ -109,21 +229,36 @@ final class OutboundConnection implements Handler<Buffer> {
         log.warn("No pong from server " + remoteNodeId + " - will consider it dead");
         socket.close();
       });
-      ClusteredMessage<?, ?> pingMessage = new ClusteredMessage<>(
-        remoteNodeId,
-        PING_ADDRESS,
-        null,
-        null,
-        new PingMessageCodec(),
-        true,
-        eventBus);
-      writeMessage(pingMessage);
+      synchronized (OutboundConnection.this) {
+        writePing(null);
+      }
     });
   }
 
-  synchronized void connected(NetSocket socket) {
+  private void writePing(MultiMap headers) {
+    ClusteredMessage<?, ?> pingMessage = new ClusteredMessage<>(
+      remoteNodeId,
+      PING_ADDRESS,
+      headers,
+      null,
+      new PingMessageCodec(),
+      true,
+      eventBus);
+    if (coalescing) {
+      coalesceMessage(pingMessage, null);
+    } else {
+      writeMessage(pingMessage);
+    }
+  }
+
+  synchronized void connected(NetSocketInternal socket) {
     this.socket = socket;
+    this.eventLoop = socket.channelHandlerContext().channel().eventLoop();
     this.connected = true;
+    // Negotiate the wire protocol version, messages use the legacy version until the remote node replies
+    negotiating = true;
+    writePing(MultiMap.caseInsensitiveMultiMap()
+      .set(WIRE_PROTOCOL_VERSION_HEADER, String.valueOf(ClusteredMessage.WIRE_PROTOCOL_VERSION)));
     // Start a pinger
     schedulePing();
     if (pendingWrites != null) {
@@ -131,19 +266,103 @@ final class OutboundConnection implements Handler<Buffer> {
         log.debug("Draining the queue for server " + remoteNodeId);
       }
       for (MessageWrite ctx : pendingWrites) {
-        writeMessage(ctx.message)
-          .onComplete(ctx.writePromise);
+        if (coalescing) {
+          coalesceMessage(ctx.message, ctx.writePromise);
+        } else {
+          writeMessage(ctx.message)
+            .onComplete(ctx.writePromise);
+        }
+      }
+      if (metrics != null) {
+        metrics.connectionPendingWrites(remoteNodeId, 0);
       }
     }
     pendingWrites = null;
   }
 
   private Future<Void> writeMessage(MessageImpl<?, ?> message) {
-    Buffer data = ((ClusteredMessage<?, ?>)message).encodeToWire();
+    ClusteredMessage<?, ?> clusteredMessage = (ClusteredMessage<?, ?>)message;
+    ByteBuf frame = clusteredMessage.encodeFrame(dictionary, compression);
+    if (reportWrites) {
+      reportWritten(clusteredMessage, frame.readableBytes());
+    }
+    return socket.writeMessage(frame);
+  }
+
+  /**
+   * Encode the message in the current batch, the batch is written when it reaches the coalescing threshold or
+   * on the next event-loop iteration.
+   */
+  private void coalesceMessage(MessageImpl<?, ?> message, Promise<Void> writePromise) {
+    if (closed) {
+      if (writePromise != null) {
+        writePromise.tryFail(NetSocketInternal.CLOSED_EXCEPTION);
+      }
+      return;
+    }
+    if (batch == null) {
+      batch = VertxByteBufAllocator.POOLED_ALLOCATOR.directBuffer(Math.min(coalescingThreshold, 1024), Integer.MAX_VALUE);
+      batchPromises = new ArrayList<>();
+    }
+    int writerIndex = batch.writerIndex();
+    ClusteredMessage<?, ?> clusteredMessage = (ClusteredMessage<?, ?>)message;
+    int length;
+    try {
+      length = clusteredMessage.encodeToWire(BufferInternal.buffer(batch), dictionary, compression);
+    } catch (RuntimeException e) {
+      // Discard the partially encoded frame
+      batch.writerIndex(writerIndex);
+      throw e;
+    }
+    if (reportWrites) {
+      reportWritten(clusteredMessage, length);
+    }
+    if (writePromise != null) {
+      batchPromises.add(writePromise);
+    }
+    if (batch.readableBytes() >= coalescingThreshold) {
+      flushBatch();
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      eventLoop.execute(this::scheduledFlush);
+    }
+  }
+
+  private void reportWritten(ClusteredMessage<?, ?> message, int length) {
     if (metrics != null) {
-      metrics.messageWritten(message.address(), data.length());
+      metrics.messageWritten(message.address(), length, length + message.compressionSavings());
+      int reusedBodyLength = message.reusedBodyLength();
+      if (reusedBodyLength > 0) {
+        metrics.messageBodyReused(message.address(), reusedBodyLength);
+      }
+    }
+    AddressCounters counters = eventBus.addressCounters(message.address());
+    if (counters != null) {
+      counters.written(length);
+    }
+  }
+
+  private synchronized void scheduledFlush() {
+    flushScheduled = false;
+    flushBatch();
+  }
+
+  private void flushBatch() {
+    ByteBuf buf = batch;
+    if (buf == null) {
+      return;
+    }
+    List<Promise<Void>> promises = batchPromises;
+    batch = null;
+    batchPromises = null;
+    Future<Void> fut = socket.writeMessage(buf);
+    if (!promises.isEmpty()) {
+      fut.onComplete(ar -> {
+        for (Promise<Void> promise : promises) {
+          promise.handle(ar);
+        }
+      });
     }
-    return socket.write(data);
   }
 
   private static class MessageWrite {
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.eventbus.impl.clustered;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.compression.Snappy;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCompression;
+import io.vertx.core.impl.buffer.VertxByteBufAllocator;
+import io.vertx.core.internal.buffer.BufferInternal;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of message bodies, used by the version 3 of the wire protocol.
+ * <p>
+ * A compressed body is written as the varint length of the uncompressed body followed by the compressed bytes,
+ * the algorithm is flagged in the message flags byte.
+ * <p>
+ * Compression is performed under the outbound connection lock, decompression is performed lazily when the message
+ * body is decoded, from any thread.
+ */
+final class WireCompression {
+
+  static final int NONE = 0;
+  static final int DEFLATE = 1;
+  static final int SNAPPY = 2;
+
+  /**
+   * The maximum expansion of compressed bytes: deflate expands a byte to at most 1032 bytes, snappy a 3 bytes copy to
+   * at most 64 bytes.
+   */
+  private static final int MAX_DEFLATE_RATIO = 1032;
+  private static final int MAX_SNAPPY_RATIO = 22;
+
+  /**
+   * @return the compression for the given {@code options}, or {@code null} when bodies are not compressed
+   */
+  static WireCompression create(MessageCompression compression, int threshold) {
+    switch (compression) {
+      case DEFLATE:
+        return new WireCompression(DEFLATE, threshold);
+      case SNAPPY:
+        return new WireCompression(SNAPPY, threshold);
+      default:
+        return null;
+    }
+  }
+
+  private final int algorithm;
+  private final int threshold;
+  private final Deflater deflater;
+  private final Snappy snappy;
+
+  private WireCompression(int algorithm, int threshold) {
+    this.algorithm = algorithm;
+    this.threshold = threshold;
+    this.deflater = algorithm == DEFLATE ? new Deflater() : null;
+    this.snappy = algorithm == SNAPPY ? new Snappy() : null;
+  }
+
+  /**
+   * Append the compressed {@code body} to the {@code buffer} when it is worth it.
+   *
+   * @return the algorithm used or {@link #NONE} when nothing was appended
+   */
+  int compress(Buffer body, Buffer buffer) {
+    int length = body.length();
+    if (length < threshold) {
+      return NONE;
+    }
+    byte[] compressed;
+    if (algorithm == DEFLATE) {
+      compressed = deflate(body);
+    } else {
+      compressed = snappy(body);
+    }
+    if (compressed.length >= length) {
+      return NONE;
+    }
+    WireDictionary.writeVarInt(buffer, length);
+    buffer.appendBytes(compressed);
+    return algorithm;
+  }
+
+  private byte[] deflate(Buffer body) {
+    deflater.reset();
+    deflater.setInput(body.getBytes());
+    deflater.finish();
+    Buffer out = Buffer.buffer(body.length() / 2);
+    byte[] chunk = new byte[8192];
+    while (!deflater.finished()) {
+      int n = deflater.deflate(chunk);
+      out.appendBytes(chunk, 0, n);
+    }
+    return out.getBytes();
+  }
+
+  private byte[] snappy(Buffer body) {
+    snappy.reset();
+    ByteBuf in = ((BufferInternal) body).unwrap();
+    ByteBuf out = VertxByteBufAllocator.DEFAULT.heapBuffer(body.length() / 2);
+    snappy.encode(in.duplicate(), out, in.readableBytes());
+    byte[] compressed = new byte[out.readableBytes()];
+    out.readBytes(compressed);
+    return compressed;
+  }
+
+  /**
+   * Release the resources of the compressor, it must not be used afterwards.
+   */
+  void end() {
+    if (deflater != null) {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Decompress a body compressed with {@code algorithm} starting at {@code pos} until the end of the {@code buffer}.
+   *
+   * @return the uncompressed body
+   */
+  static Buffer decompress(int algorithm, Buffer buffer, int pos) {
+    int[] cursor = { pos };
+    int length = WireDictionary.readVarInt(buffer, cursor);
+    int compressedLength = buffer.length() - cursor[0];
+    long maxLength = (long) compressedLength * (algorithm == DEFLATE ? MAX_DEFLATE_RATIO : MAX_SNAPPY_RATIO);
+    if (length < 0 || length > maxLength) {
+      // Do not trust the length sent by the peer to allocate the body
+      throw new VertxException("Invalid uncompressed message body length " + length + " for " + compressedLength + " compressed bytes", true);
+    }
+    byte[] compressed = buffer.getBytes(cursor[0], buffer.length());
+    switch (algorithm) {
+      case DEFLATE:
+        Inflater inflater = new Inflater();
+        try {
+          inflater.setInput(compressed);
+          byte[] uncompressed = new byte[length];
+          int n = 0;
+          while (n < length && !inflater.finished()) {
+            int inflated = inflater.inflate(uncompressed, n, length - n);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+              throw new VertxException("Truncated compressed message body");
+            }
+            n += inflated;
+          }
+          return Buffer.buffer(uncompressed);
+        } catch (DataFormatException e) {
+          throw new VertxException(e);
+        } finally {
+          inflater.end();
+        }
+      case SNAPPY:
+        ByteBuf out = VertxByteBufAllocator.DEFAULT.heapBuffer(length);
+        new Snappy().decode(BufferInternal.buffer(compressed).unwrap(), out);
+        return BufferInternal.buffer(out);
+      default:
+        throw new VertxException("Unsupported message compression " + algorithm);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+package io.vertx.core.eventbus.impl.clustered;
+
+import io.netty.util.CharsetUtil;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-connection dictionary of the strings repeated in clustered messages (addresses, codec names, sender ids and
+ * header keys) used by the version 3 of the wire protocol.
+ * <p>
+ * The first occurrence of a string is written literally and assigned the next index on both ends of the connection,
+ * further occurrences are written as this index. Both ends process frames in the same order, so they agree on
+ * indexes without any further coordination.
+ * <p>
+ * Strings are encoded with a varint tag:
+ * <ul>
+ *   <li>{@code 0}: a literal string added to the dictionary</li>
+ *   <li>{@code 1}: a literal string not added to the dictionary, when it is full</li>
+ *   <li>{@code n > 1}: the string at index {@code n - 2}</li>
+ * </ul>
+ * A literal string is a varint length followed by its UTF-8 bytes.
+ * <p>
+ * The encoder side is guarded by the outbound connection lock, the decoder side is only used from the inbound
+ * connection event-loop.
+ */
+final class WireDictionary {
+
+  static final int MAX_SIZE = 4096;
+
+  private static final int TAG_ADD = 0;
+  private static final int TAG_LITERAL = 1;
+  private static final int TAG_INDEX = 2;
+
+  private final List<String> strings = new ArrayList<>();
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private int mark;
+
+  /**
+   * Mark the current size of the dictionary, so the entries added by a frame can be discarded with {@link #rollback()}
+   * when it fails to encode.
+   */
+  void mark() {
+    mark = strings.size();
+  }
+
+  /**
+   * Discard the entries added since the last {@link #mark()}.
+   */
+  void rollback() {
+    for (int i = strings.size() - 1;i >= mark;i--) {
+      indexes.remove(strings.remove(i));
+    }
+  }
+
+  void writeString(Buffer buffer, String str) {
+    Integer index = indexes.get(str);
+    if (index != null) {
+      writeVarInt(buffer, TAG_INDEX + index);
+    } else if (strings.size() < MAX_SIZE) {
+      indexes.put(str, strings.size());
+      strings.add(str);
+      writeVarInt(buffer, TAG_ADD);
+      writeLiteral(buffer, str);
+    } else {
+      writeVarInt(buffer, TAG_LITERAL);
+      writeLiteral(buffer, str);
+    }
+  }
+
+  /**
+   * Write a string that is never added to the dictionary, like a one-shot reply address.
+   */
+  static void writeUnindexed(Buffer buffer, String str) {
+    writeVarInt(buffer, TAG_LITERAL);
+    writeLiteral(buffer, str);
+  }
+
+  /**
+   * Read a string at the {@code pos[0]} position of the {@code buffer} and move the position after it.
+   */
+  String readString(Buffer buffer, int[] pos) {
+    int tag = readVarInt(buffer, pos);
+    switch (tag) {
+      case TAG_ADD:
+        String str = readLiteral(buffer, pos);
+        strings.add(str);
+        return str;
+      case TAG_LITERAL:
+        return readLiteral(buffer, pos);
+      default:
+        return strings.get(tag - TAG_INDEX);
+    }
+  }
+
+  static void writeLiteral(Buffer buffer, String str) {
+    byte[] bytes = str.getBytes(CharsetUtil.UTF_8);
+    writeVarInt(buffer, bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  static String readLiteral(Buffer buffer, int[] pos) {
+    int length = readVarInt(buffer, pos);
+    String str = buffer.getString(pos[0], pos[0] + length, "UTF-8");
+    pos[0] += length;
+    return str;
+  }
+
+  static void writeVarInt(Buffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.appendByte((byte) value);
+  }
+
+  static int readVarInt(Buffer buffer, int[] pos) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.getByte(pos[0]++);
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+}
@@ -36,7 +36,8 @@ public class JsonArrayMessageCodec implements MessageCodec<JsonArray, JsonArray>
 
   @Override
   public JsonArray transform(JsonArray jsonArray) {
-    return jsonArray.copy();
+    // A read-only view can be shared by the receivers
+    return jsonArray.isReadOnly() ? jsonArray : jsonArray.copy();
   }
 
   @Override
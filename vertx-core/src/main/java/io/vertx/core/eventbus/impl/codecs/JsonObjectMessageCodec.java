@@ -36,7 +36,8 @@ public class JsonObjectMessageCodec implements MessageCodec<JsonObject, JsonObje
 
   @Override
   public JsonObject transform(JsonObject jsonObject) {
-    return jsonObject.copy();
+    // A read-only view can be shared by the receivers
+    return jsonObject.isReadOnly() ? jsonObject : jsonObject.copy();
   }
 
   @Override
@@ -258,7 +258,7 @@ public class VertxBootstrapImpl implements VertxBootstrap {
     }
     NodeSelector nodeSelector = clusterNodeSelector;
     if (nodeSelector == null) {
-      nodeSelector = new DefaultNodeSelector();
+      nodeSelector = new DefaultNodeSelector(options.getEventBusOptions());
     }
     VertxImpl vertx = instantiateVertx(clusterManager, nodeSelector);
     return vertx.initClustered(options);
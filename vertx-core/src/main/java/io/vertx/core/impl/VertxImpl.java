@@ -236,7 +236,7 @@ public class VertxImpl implements VertxInternal, MetricsProvider {
     this.tracer = tracer == VertxTracer.NOOP ? null : tracer;
     this.clusterManager = clusterManager;
     this.nodeSelector = nodeSelector;
-    this.eventBus = clusterManager != null ? new ClusteredEventBus(this, options, clusterManager, nodeSelector) : new EventBusImpl(this);
+    this.eventBus = clusterManager != null ? new ClusteredEventBus(this, options, clusterManager, nodeSelector) : new EventBusImpl(this, options.getEventBusOptions());
     this.sharedData = new SharedDataImpl(this, clusterManager);
     this.deploymentManager = new DefaultDeploymentManager(this);
     this.verticleManager = new VerticleManager(this, DefaultDeploymentManager.log, deploymentManager);
@@ -13,6 +13,7 @@ package io.vertx.core.impl.utils;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * A concurrent cyclic sequence of elements that can be used for round robin.
@@ -84,6 +85,21 @@ public class ConcurrentCyclicSequence<T> implements Iterable<T>, Iterator<T> {
     return new ConcurrentCyclicSequence<>(pos.get(), copy);
   }
 
+  /**
+   * Copy the current sequence, add {@code others} at the tail of this sequence and returns it.
+   * @param others the elements to add
+   * @param pos the position of the resulting sequence
+   * @return the resulting sequence
+   */
+  public ConcurrentCyclicSequence<T> addAll(Collection<T> others, int pos) {
+    int len = elements.length;
+    Object[] copy = Arrays.copyOf(elements, len + others.size());
+    for (T other : others) {
+      copy[len++] = other;
+    }
+    return new ConcurrentCyclicSequence<>(pos, copy);
+  }
+
   /**
    * Remove the first occurrence of {@code element} in this sequence and returns it.
    * <p/>
@@ -134,6 +150,37 @@ public class ConcurrentCyclicSequence<T> implements Iterable<T>, Iterator<T> {
     return result;
   }
 
+  /**
+   * Like {@link #next()} but returns the first element satisfying {@code preferred} starting at the next element
+   * of the sequence, when no element satisfies it the next element is returned.
+   * <p/>
+   * The position moves past the returned element, so the preferred elements are returned in turn.
+   *
+   * @param preferred the preferred elements
+   * @return the next preferred element
+   */
+  @SuppressWarnings("unchecked")
+  public T next(Predicate<? super T> preferred) {
+    int len = elements.length;
+    if (len < 2) {
+      return next();
+    }
+    while (true) {
+      int start = pos.get();
+      int skipped = 0;
+      while (skipped < len && !preferred.test((T) elements[computeIndex(start + skipped)])) {
+        skipped++;
+      }
+      if (skipped == len) {
+        // No preferred element
+        skipped = 0;
+      }
+      if (pos.compareAndSet(start, start + skipped + 1)) {
+        return (T) elements[computeIndex(start + skipped)];
+      }
+    }
+  }
+
   /**
    * @return the size of this sequence
    */
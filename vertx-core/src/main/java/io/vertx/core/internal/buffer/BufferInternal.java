@@ -230,4 +230,17 @@ public interface BufferInternal extends Buffer {
    * @return the raw byte buff
    */
   ByteBuf unwrap();
+
+  /**
+   * Returns a read-only view of this buffer, the content is shared and modifying the view throws
+   * {@link java.nio.ReadOnlyBufferException}. Copying the view returns the view.
+   *
+   * @return the read-only view
+   */
+  BufferInternal asReadOnly();
+
+  /**
+   * @return whether this buffer is read-only
+   */
+  boolean isReadOnly();
 }
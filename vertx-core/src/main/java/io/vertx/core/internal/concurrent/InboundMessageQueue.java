@@ -20,54 +20,77 @@ import java.util.function.Predicate;
 
 /**
  * Inbound message queue for event-loop and read stream like structures.
+ * <p>
+ * The queue can be split in lanes, each lane has its own watermarks and the lanes are drained by decreasing
+ * index: the messages of a lane are delivered before the messages of the lower lanes. Lanes are created on first use.
  */
 public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
 
   private static final AtomicLongFieldUpdater<InboundMessageQueue<?>> DEMAND_UPDATER = (AtomicLongFieldUpdater<InboundMessageQueue<?>>) (AtomicLongFieldUpdater)AtomicLongFieldUpdater.newUpdater(InboundMessageQueue.class, "demand");
 
+  /**
+   * The maximum number of lanes of a queue.
+   */
+  public static final int MAX_LANES = 32;
+
   private final EventExecutor consumer;
   private final EventExecutor producer;
-  private final MessagePassingQueue<M> mqp;
+  private final MessagePassingQueue.Factory factory;
+  private final int lowWaterMark;
+  private final int highWaterMark;
+  private final MessagePassingQueue<M>[] lanes;
 
   // Accessed by produced thread
   private boolean producerClosed;
+  private int acquiredLanes;
 
   // Accessed by consumer thread
   private boolean draining;
-  private boolean needsDrain;
+  private int ownedLanes;
   private boolean consumerClosed;
 
   // Any thread
   private volatile long demand = Long.MAX_VALUE;
 
   public InboundMessageQueue(EventExecutor producer, EventExecutor consumer) {
-    MessagePassingQueue.Factory messageQueueFactory;
-    if (consumer instanceof EventLoopExecutor && producer instanceof EventLoopExecutor && ((EventLoopExecutor)consumer).eventLoop() == ((EventLoopExecutor)producer).eventLoop()) {
-      messageQueueFactory = MessagePassingQueue.SINGLE_THREAD;
-    } else {
-      messageQueueFactory = MessagePassingQueue.SPSC;
-    }
-    this.mqp = messageQueueFactory.create(this);
-    this.consumer = consumer;
-    this.producer = producer;
+    this(producer, consumer, factory(producer, consumer), 1, MessagePassingQueue.DEFAULT_LOW_WATER_MARK, MessagePassingQueue.DEFAULT_HIGH_WATER_MARK);
   }
 
   public InboundMessageQueue(EventExecutor producer, EventExecutor consumer, MessagePassingQueue.Factory factory) {
-    this.mqp = factory.create(this);
+    this(producer, consumer, factory, 1, MessagePassingQueue.DEFAULT_LOW_WATER_MARK, MessagePassingQueue.DEFAULT_HIGH_WATER_MARK);
+  }
+
+  public InboundMessageQueue(EventExecutor producer, EventExecutor consumer, int lowWaterMark, int highWaterMark) {
+    this(producer, consumer, factory(producer, consumer), 1, lowWaterMark, highWaterMark);
+  }
+
+  /**
+   * Create a queue split in {@code lanes}, each lane has the {@code lowWaterMark} and {@code highWaterMark} watermarks.
+   */
+  public InboundMessageQueue(EventExecutor producer, EventExecutor consumer, int lanes, int lowWaterMark, int highWaterMark) {
+    this(producer, consumer, factory(producer, consumer), lanes, lowWaterMark, highWaterMark);
+  }
+
+  @SuppressWarnings("unchecked")
+  private InboundMessageQueue(EventExecutor producer, EventExecutor consumer, MessagePassingQueue.Factory factory, int lanes, int lowWaterMark, int highWaterMark) {
+    if (lanes < 1 || lanes > MAX_LANES) {
+      throw new IllegalArgumentException("Invalid number of lanes: " + lanes);
+    }
+    this.factory = factory;
+    this.lowWaterMark = lowWaterMark;
+    this.highWaterMark = highWaterMark;
+    this.lanes = new MessagePassingQueue[lanes];
+    this.lanes[0] = factory.create(this, lowWaterMark, highWaterMark);
     this.consumer = consumer;
     this.producer = producer;
   }
 
-  public InboundMessageQueue(EventExecutor producer, EventExecutor consumer, int lowWaterMark, int highWaterMark) {
-    MessagePassingQueue.Factory factory;
+  private static MessagePassingQueue.Factory factory(EventExecutor producer, EventExecutor consumer) {
     if (consumer instanceof EventLoopExecutor && producer instanceof EventLoopExecutor && ((EventLoopExecutor)consumer).eventLoop() == ((EventLoopExecutor)producer).eventLoop()) {
-      factory = MessagePassingQueue.SINGLE_THREAD;
+      return MessagePassingQueue.SINGLE_THREAD;
     } else {
-      factory = MessagePassingQueue.SPSC;
+      return MessagePassingQueue.SPSC;
     }
-    this.mqp = factory.create(this, lowWaterMark, highWaterMark);
-    this.consumer = consumer;
-    this.producer = producer;
   }
 
   @Override
@@ -95,16 +118,37 @@ public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
    * @return {@code true} when a {@link #drain()} should be called.
    */
   public final boolean add(M msg) {
+    return add(0, msg);
+  }
+
+  /**
+   * Add a message to a lane of the queue
+   *
+   * @param lane the lane index
+   * @param msg the message
+   * @return {@code true} when a {@link #drain()} should be called.
+   */
+  public final boolean add(int lane, M msg) {
     assert producer.inThread();
     if (producerClosed) {
       handleDispose(msg);
       return false;
     }
+    MessagePassingQueue<M> mqp = lanes[lane];
+    if (mqp == null) {
+      // Published to the consumer thread by the drain signal
+      mqp = factory.create(this, lowWaterMark, highWaterMark);
+      lanes[lane] = mqp;
+    }
     int res = mqp.add(msg);
     if ((res & MessagePassingQueue.UNWRITABLE_MASK) != 0) {
-      handlePause();
+      handlePause(lane);
     }
-    return (res & MessagePassingQueue.DRAIN_REQUIRED_MASK) != 0;
+    if ((res & MessagePassingQueue.DRAIN_REQUIRED_MASK) != 0) {
+      acquiredLanes |= 1 << lane;
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -141,10 +185,12 @@ public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
     if (producerClosed) {
       return;
     }
+    int acquired = acquiredLanes;
+    acquiredLanes = 0;
     if (consumer.inThread()) {
-      drainInternal();
+      drainInternal(acquired);
     } else {
-      consumer.execute(this::drainInternal);
+      consumer.execute(() -> drainInternal(acquired));
     }
   }
 
@@ -154,32 +200,60 @@ public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
   @Override
   public void run() {
     assert consumer.inThread();
-    if (!draining && needsDrain) {
-      drainInternal();
+    if (!draining && ownedLanes != 0) {
+      drainInternal(0);
     }
   }
 
-  private void drainInternal() {
+  private void drainInternal(int acquired) {
     if (consumerClosed) {
       return;
     }
-    draining = true;
-    try {
-      int res = mqp.drain();
+    ownedLanes |= acquired;
+    if (draining) {
+      // Acquired from a message handler, drained by the current drain loop
+      return;
+    }
+    int lane = lanes.length - 1;
+    while (lane >= 0) {
+      int mask = 1 << lane;
+      if ((ownedLanes & mask) == 0) {
+        lane--;
+        continue;
+      }
+      int res;
+      draining = true;
+      try {
+        res = lanes[lane].drain();
+      } finally {
+        draining = false;
+      }
       if (consumerClosed) {
         releaseMessages();
-      } else {
-        needsDrain = (res & MessagePassingQueue.DRAIN_REQUIRED_MASK) != 0;
-        if ((res & MessagePassingQueue.WRITABLE_MASK) != 0) {
-          if (producer.inThread()) {
-            handleResume();
-          } else {
-            producer.execute(this::handleResume);
+        return;
+      }
+      boolean owned = (res & MessagePassingQueue.DRAIN_REQUIRED_MASK) != 0;
+      if (!owned) {
+        ownedLanes &= ~mask;
+      }
+      if ((res & MessagePassingQueue.WRITABLE_MASK) != 0) {
+        int l = lane;
+        if (producer.inThread()) {
+          // Can add messages and drain them
+          handleResume(l);
+          if (consumerClosed) {
+            return;
           }
+        } else {
+          producer.execute(() -> handleResume(l));
         }
       }
-    } finally {
-      draining = false;
+      if (owned) {
+        // No more demand, the lower lanes have to wait as well
+        break;
+      }
+      // Restart from the top when this lane or a higher lane was acquired meanwhile
+      lane = (ownedLanes & -mask) != 0 ? lanes.length - 1 : lane - 1;
     }
   }
 
@@ -256,9 +330,13 @@ public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
   }
 
   private void releaseMessages() {
-    List<M> messages = mqp.clear();
-    for (M elt : messages) {
-      handleDispose(elt);
+    for (MessagePassingQueue<M> mqp : lanes) {
+      if (mqp != null) {
+        List<M> messages = mqp.clear();
+        for (M elt : messages) {
+          handleDispose(elt);
+        }
+      }
     }
   }
 
@@ -268,12 +346,30 @@ public class InboundMessageQueue<M> implements Predicate<M>, Runnable {
   protected void handleResume() {
   }
 
+  /**
+   * Handle resume of a {@code lane}, executed on a producer thread, by default calls {@link #handleResume()}.
+   *
+   * @param lane the lane index
+   */
+  protected void handleResume(int lane) {
+    handleResume();
+  }
+
   /**
    * Handler pause, executed on a producer thread.
    */
   protected void handlePause() {
   }
 
+  /**
+   * Handle pause of a {@code lane}, executed on a producer thread, by default calls {@link #handlePause()}.
+   *
+   * @param lane the lane index
+   */
+  protected void handlePause(int lane) {
+    handlePause();
+  }
+
   /**
    * Handle a message, executed on a consumer thread.
    *
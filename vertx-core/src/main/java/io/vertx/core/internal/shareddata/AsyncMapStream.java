@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.internal.shareddata;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.impl.Arguments;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A stream reading the elements of a map in batches: the next batch is only read when the handler demands more
+ * elements than the stream holds, so at most one batch is held in memory.
+ * <p>
+ * The handlers are called on the thread completing the batches or fetching the elements. The end is only emitted once
+ * both a handler and an end handler are set, so a stream exhausted synchronously when its handler is set still calls
+ * an end handler set afterward.
+ */
+final class AsyncMapStream<E> implements ReadStream<E> {
+
+  private final AsyncMapStreams.Cursor<E> cursor;
+  private final int batchSize;
+
+  // Guarded by this
+  private final ArrayDeque<E> pending = new ArrayDeque<>();
+  private Handler<E> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private long demand = Long.MAX_VALUE;
+  private boolean reading;
+  private boolean exhausted;
+  private boolean ended;
+  private boolean emitting;
+
+  AsyncMapStream(AsyncMapStreams.Cursor<E> cursor, int batchSize) {
+    Arguments.require(batchSize > 0, "batchSize must be > 0");
+    this.cursor = cursor;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public synchronized AsyncMapStream<E> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public AsyncMapStream<E> handler(Handler<E> handler) {
+    synchronized (this) {
+      this.handler = handler;
+    }
+    if (handler != null) {
+      drain();
+    }
+    return this;
+  }
+
+  @Override
+  public AsyncMapStream<E> endHandler(Handler<Void> handler) {
+    synchronized (this) {
+      endHandler = handler;
+    }
+    if (handler != null) {
+      drain();
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized AsyncMapStream<E> pause() {
+    demand = 0L;
+    return this;
+  }
+
+  @Override
+  public AsyncMapStream<E> resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public AsyncMapStream<E> fetch(long amount) {
+    Arguments.require(amount > 0, "Fetch amount must be > 0");
+    synchronized (this) {
+      demand += amount;
+      if (demand < 0L) {
+        demand = Long.MAX_VALUE;
+      }
+    }
+    drain();
+    return this;
+  }
+
+  private void drain() {
+    while (true) {
+      E element;
+      Handler<E> h;
+      Handler<Void> end = null;
+      boolean read = false;
+      synchronized (this) {
+        if (emitting || ended || handler == null) {
+          return;
+        }
+        element = pending.poll();
+        if (element == null) {
+          if (exhausted) {
+            if (endHandler == null) {
+              // Ended when the end handler is set
+              return;
+            }
+            ended = true;
+            end = endHandler;
+          } else if (demand > 0L && !reading) {
+            reading = true;
+            read = true;
+          }
+        } else if (demand == 0L) {
+          pending.addFirst(element);
+          return;
+        } else if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+        h = handler;
+        emitting = element != null;
+      }
+      if (end != null) {
+        end.handle(null);
+      }
+      if (read) {
+        if (read()) {
+          continue;
+        }
+        return;
+      }
+      if (element == null) {
+        return;
+      }
+      try {
+        h.handle(element);
+      } finally {
+        synchronized (this) {
+          emitting = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return whether the batch was read synchronously and the stream can be drained
+   */
+  private boolean read() {
+    Future<List<E>> batch;
+    try {
+      batch = cursor.next(batchSize);
+    } catch (Exception e) {
+      batch = Future.failedFuture(e);
+    }
+    if (batch.isComplete()) {
+      // Draining from the callback would recurse once per batch
+      return handleBatch(batch.result(), batch.cause());
+    }
+    batch.onComplete((elements, err) -> {
+      if (handleBatch(elements, err)) {
+        drain();
+      }
+    });
+    return false;
+  }
+
+  private boolean handleBatch(List<E> elements, Throwable err) {
+    Handler<Throwable> h = null;
+    synchronized (this) {
+      reading = false;
+      if (err != null) {
+        // A failed stream ends without calling the end handler
+        exhausted = true;
+        ended = true;
+        h = exceptionHandler;
+      } else if (elements.isEmpty()) {
+        exhausted = true;
+      } else {
+        pending.addAll(elements);
+      }
+    }
+    if (err != null) {
+      if (h != null) {
+        h.handle(err);
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Reads the entries of a map which does not offer a cursor: the keys are read at once, then the values of
+   * {@code batchSize} keys are read at a time with {@link AsyncMap#getAll}.
+   */
+  static final class KeysCursor<K, V> implements AsyncMapStreams.Cursor<Map.Entry<K, V>> {
+
+    private final AsyncMap<K, V> map;
+    private ArrayDeque<K> keys;
+
+    KeysCursor(AsyncMap<K, V> map) {
+      this.map = map;
+    }
+
+    @Override
+    public Future<List<Map.Entry<K, V>>> next(int batchSize) {
+      if (keys == null) {
+        return map.keys().compose(set -> {
+          keys = new ArrayDeque<>(set);
+          return next(batchSize);
+        });
+      }
+      Promise<List<Map.Entry<K, V>>> promise = Promise.promise();
+      next(batchSize, promise);
+      return promise.future();
+    }
+
+    private void next(int batchSize, Promise<List<Map.Entry<K, V>>> promise) {
+      // The batches whose keys were all removed meanwhile are skipped, without recursing when they are read synchronously
+      while (true) {
+        if (keys.isEmpty()) {
+          promise.complete(new ArrayList<>());
+          return;
+        }
+        Set<K> batch = new HashSet<>();
+        K key;
+        while (batch.size() < batchSize && (key = keys.poll()) != null) {
+          batch.add(key);
+        }
+        Future<Map<K, V>> fut = map.getAll(batch);
+        if (!fut.isComplete()) {
+          fut.onComplete((entries, err) -> {
+            if (err != null) {
+              promise.fail(err);
+            } else if (entries.isEmpty()) {
+              next(batchSize, promise);
+            } else {
+              promise.complete(list(entries));
+            }
+          });
+          return;
+        }
+        if (fut.failed()) {
+          promise.fail(fut.cause());
+          return;
+        }
+        if (!fut.result().isEmpty()) {
+          promise.complete(list(fut.result()));
+          return;
+        }
+      }
+    }
+
+    private static <K, V> List<Map.Entry<K, V>> list(Map<K, V> entries) {
+      List<Map.Entry<K, V>> list = new ArrayList<>(entries.size());
+      for (Map.Entry<K, V> entry : entries.entrySet()) {
+        list.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+      }
+      return list;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.internal.shareddata;
+
+import io.vertx.core.Future;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams reading the elements of an {@link AsyncMap} in batches: the next batch is only read when the handler demands
+ * more elements than the stream holds, so at most one batch is held in memory.
+ */
+public final class AsyncMapStreams {
+
+  /**
+   * Reads the batches of a stream, they are never read concurrently.
+   */
+  public interface Cursor<E> {
+
+    /**
+     * @return the next batch of at most {@code batchSize} elements, an empty batch ends the stream
+     */
+    Future<List<E>> next(int batchSize);
+  }
+
+  private AsyncMapStreams() {
+  }
+
+  /**
+   * Stream the entries of a map which does not offer a cursor: the keys are read at once, then the values of
+   * {@code batchSize} keys are read at a time with {@link AsyncMap#getAll}.
+   */
+  public static <K, V> ReadStream<Map.Entry<K, V>> entryStream(AsyncMap<K, V> map, int batchSize) {
+    return new AsyncMapStream<>(new AsyncMapStream.KeysCursor<>(map), batchSize);
+  }
+
+  /**
+   * Stream the elements read by the {@code cursor}, {@code batchSize} at a time.
+   */
+  public static <E> ReadStream<E> stream(Cursor<E> cursor, int batchSize) {
+    return new AsyncMapStream<>(cursor, batchSize);
+  }
+}
@@ -13,6 +13,7 @@ package io.vertx.core.json;
 
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.impl.JsonUtil;
+import io.vertx.core.json.impl.ReadOnlyJson;
 import io.vertx.core.shareddata.ClusterSerializable;
 import io.vertx.core.shareddata.Shareable;
 
@@ -632,6 +633,8 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable, Shareab
    * @return a copy where all elements have been copied recursively
    */
   public JsonArray copy(Function<Object, ?> cloner) {
+    // The copy of a read-only view is a copy of the backing list
+    List<Object> list = ReadOnlyJson.unwrap(this.list);
     List<Object> copiedList = new ArrayList<>(list.size());
     for (Object val : list) {
       copiedList.add(deepCopy(val, cloner));
@@ -639,6 +642,28 @@ public class JsonArray implements Iterable<Object>, ClusterSerializable, Shareab
     return new JsonArray(copiedList);
   }
 
+  /**
+   * Returns a read-only view of this JSON array, the content is not copied and modifying the view, or the JSON
+   * objects and arrays it contains, throws {@link UnsupportedOperationException}.
+   * <p>
+   * The view reflects the modifications of this JSON array, a {@link #copy()} of the view is a regular JSON array.
+   * <p>
+   * Nested values are wrapped when they are read: reading the same nested JSON object or array twice returns two
+   * equal but distinct views, and a binary value is copied on each read.
+   *
+   * @return the read-only view
+   */
+  public JsonArray asReadOnly() {
+    return isReadOnly() ? this : new JsonArray(ReadOnlyJson.list(list));
+  }
+
+  /**
+   * @return whether this JSON array is a read-only view
+   */
+  public boolean isReadOnly() {
+    return ReadOnlyJson.isReadOnly(list);
+  }
+
   /**
    * Get a Stream over the entries in the JSON array. The values in the stream will follow
    * the same rules as defined in {@link #getValue(int)}, respecting the JSON requirements.
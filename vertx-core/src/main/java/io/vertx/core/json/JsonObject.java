@@ -12,6 +12,7 @@ package io.vertx.core.json;
 
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.impl.JsonUtil;
+import io.vertx.core.json.impl.ReadOnlyJson;
 import io.vertx.core.shareddata.ClusterSerializable;
 import io.vertx.core.shareddata.Shareable;
 
@@ -1075,6 +1076,8 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
    * @return a copy where all elements have been copied recursively
    */
   public JsonObject copy(Function<Object, ?> cloner) {
+    // The copy of a read-only view is a copy of the backing map
+    Map<String, Object> map = ReadOnlyJson.unwrap(this.map);
     Map<String, Object> copiedMap;
     if (map instanceof LinkedHashMap) {
       copiedMap = new LinkedHashMap<>(map.size());
@@ -1088,6 +1091,28 @@ public class JsonObject implements Iterable<Map.Entry<String, Object>>, ClusterS
     return new JsonObject(copiedMap);
   }
 
+  /**
+   * Returns a read-only view of this JSON object, the content is not copied and modifying the view, or the JSON
+   * objects and arrays it contains, throws {@link UnsupportedOperationException}.
+   * <p>
+   * The view reflects the modifications of this JSON object, a {@link #copy()} of the view is a regular JSON object.
+   * <p>
+   * Nested values are wrapped when they are read: reading the same nested JSON object or array twice returns two
+   * equal but distinct views, and a binary value is copied on each read.
+   *
+   * @return the read-only view
+   */
+  public JsonObject asReadOnly() {
+    return isReadOnly() ? this : new JsonObject(ReadOnlyJson.map(map));
+  }
+
+  /**
+   * @return whether this JSON object is a read-only view
+   */
+  public boolean isReadOnly() {
+    return ReadOnlyJson.isReadOnly(map);
+  }
+
   /**
    * Get the underlying {@code Map} as is.
    * <p>
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.json.impl;
+
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.*;
+
+/**
+ * Read-only views of the JSON storage, the nested JSON values are returned as read-only views as well.
+ * <p>
+ * Modifying a view throws {@link UnsupportedOperationException}, the views do not copy the content they are backed by.
+ * <p>
+ * The nested views are not cached: a view reflects the modifications of its backing storage and can be read by
+ * several threads, so a cache would have to be thread safe and checked against the backing value on every read.
+ * Instead, each read of a nested value allocates a small wrapper, the identity of the nested views is not stable,
+ * and {@code byte[]} values are cloned since an array cannot be made read-only.
+ */
+public final class ReadOnlyJson {
+
+  private ReadOnlyJson() {
+  }
+
+  /**
+   * @return a read-only view of the {@code map}
+   */
+  public static Map<String, Object> map(Map<String, Object> map) {
+    return map instanceof ReadOnlyMap ? map : new ReadOnlyMap(map);
+  }
+
+  /**
+   * @return a read-only view of the {@code list}
+   */
+  public static List<Object> list(List<Object> list) {
+    return list instanceof ReadOnlyList ? list : new ReadOnlyList(list);
+  }
+
+  public static boolean isReadOnly(Map<String, Object> map) {
+    return map instanceof ReadOnlyMap;
+  }
+
+  public static boolean isReadOnly(List<Object> list) {
+    return list instanceof ReadOnlyList;
+  }
+
+  /**
+   * @return the map backing the {@code map} view or the {@code map} itself when it is not a view
+   */
+  public static Map<String, Object> unwrap(Map<String, Object> map) {
+    return map instanceof ReadOnlyMap ? ((ReadOnlyMap) map).map : map;
+  }
+
+  /**
+   * @return the list backing the {@code list} view or the {@code list} itself when it is not a view
+   */
+  public static List<Object> unwrap(List<Object> list) {
+    return list instanceof ReadOnlyList ? ((ReadOnlyList) list).list : list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object value(Object val) {
+    if (val instanceof JsonObject) {
+      return ((JsonObject) val).asReadOnly();
+    } else if (val instanceof JsonArray) {
+      return ((JsonArray) val).asReadOnly();
+    } else if (val instanceof Map) {
+      return new JsonObject(map((Map<String, Object>) val));
+    } else if (val instanceof List) {
+      return new JsonArray(list((List<Object>) val));
+    } else if (val instanceof BufferInternal) {
+      return ((BufferInternal) val).asReadOnly();
+    } else if (val instanceof byte[]) {
+      return ((byte[]) val).clone();
+    }
+    return val;
+  }
+
+  private static final class ReadOnlyMap extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> map;
+    private Set<Entry<String, Object>> entrySet;
+
+    private ReadOnlyMap(Map<String, Object> map) {
+      this.map = map;
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+      return value(map.get(key));
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      if (entrySet == null) {
+        entrySet = new AbstractSet<>() {
+          @Override
+          public Iterator<Entry<String, Object>> iterator() {
+            Iterator<Entry<String, Object>> it = map.entrySet().iterator();
+            return new Iterator<>() {
+              @Override
+              public boolean hasNext() {
+                return it.hasNext();
+              }
+              @Override
+              public Entry<String, Object> next() {
+                Entry<String, Object> entry = it.next();
+                return new SimpleImmutableEntry<>(entry.getKey(), value(entry.getValue()));
+              }
+            };
+          }
+          @Override
+          public int size() {
+            return map.size();
+          }
+        };
+      }
+      return entrySet;
+    }
+  }
+
+  private static final class ReadOnlyList extends AbstractList<Object> implements RandomAccess {
+
+    private final List<Object> list;
+
+    private ReadOnlyList(List<Object> list) {
+      this.list = list;
+    }
+
+    @Override
+    public Object get(int index) {
+      return value(list.get(index));
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+  }
+}
@@ -15,7 +15,11 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.internal.shareddata.AsyncMapStreams;
+import io.vertx.core.streams.ReadStream;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -144,6 +148,82 @@ public interface AsyncMap<K, V> {
     return Future.failedFuture(new UnsupportedOperationException());
   }
 
+  /**
+   * Get the values of the given keys from the map, asynchronously.
+   * <p>
+   * The default implementation issues a {@link #get} per key without waiting for the previous ones, a cluster manager
+   * should override it with a batched lookup.
+   *
+   * @param keys  the keys
+   * @return a future notified with the entries of the keys present in the map
+   */
+  @GenIgnore
+  default Future<Map<K, V>> getAll(Set<K> keys) {
+    List<K> list = new ArrayList<>(keys);
+    List<Future<V>> futures = new ArrayList<>(list.size());
+    for (K key : list) {
+      futures.add(get(key));
+    }
+    return Future.all(futures).map(v -> {
+      Map<K, V> entries = new HashMap<>();
+      for (int i = 0;i < list.size();i++) {
+        V value = futures.get(i).result();
+        if (value != null) {
+          entries.put(list.get(i), value);
+        }
+      }
+      return entries;
+    });
+  }
+
+  /**
+   * Put the entries in the map, asynchronously.
+   * <p>
+   * The default implementation issues a {@link #put} per entry without waiting for the previous ones, a cluster manager
+   * should override it with a batched update.
+   *
+   * @param entries  the entries
+   * @return a future notified some time later with the async result.
+   */
+  @GenIgnore
+  default Future<Void> putAll(Map<K, V> entries) {
+    List<Future<Void>> futures = new ArrayList<>(entries.size());
+    entries.forEach((k, v) -> futures.add(put(k, v)));
+    return Future.all(futures).mapEmpty();
+  }
+
+  /**
+   * Like {@link #putAll(Map)} but specifying a time to live for the entries.
+   *
+   * @param entries  the entries
+   * @param ttl  The time to live (in ms) for the entries
+   * @return a future notified some time later with the async result.
+   */
+  @GenIgnore
+  default Future<Void> putAll(Map<K, V> entries, long ttl) {
+    List<Future<Void>> futures = new ArrayList<>(entries.size());
+    entries.forEach((k, v) -> futures.add(put(k, v, ttl)));
+    return Future.all(futures).mapEmpty();
+  }
+
+  /**
+   * Remove the given keys from the map, asynchronously.
+   * <p>
+   * The default implementation issues a {@link #remove} per key without waiting for the previous ones, a cluster
+   * manager should override it with a batched removal.
+   *
+   * @param keys  the keys
+   * @return a future notified some time later with the async result.
+   */
+  @GenIgnore(PERMITTED_TYPE)
+  default Future<Void> removeAll(Set<K> keys) {
+    List<Future<V>> futures = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      futures.add(remove(key));
+    }
+    return Future.all(futures).mapEmpty();
+  }
+
   /**
    * Clear all entries in the map
    *
@@ -193,4 +273,22 @@ public interface AsyncMap<K, V> {
    */
   @GenIgnore
   Future<Map<K, V>> entries();
+
+  /**
+   * Get a stream of the entries of the map, the entries are read {@code batchSize} at a time when the stream is
+   * consumed, so the map is never copied at once in memory, the stream applies back-pressure.
+   * <p>
+   * The stream is weakly consistent: the entries added or removed while the stream is consumed might or might not be
+   * part of it.
+   * <p>
+   * The default implementation reads the {@link #keys()} at once and then the values of {@code batchSize} keys at a
+   * time with {@link #getAll}, a cluster manager should override it with a cursor of the cluster map.
+   *
+   * @param batchSize  the maximum number of entries read at a time
+   * @return the stream of the entries
+   */
+  @GenIgnore
+  default ReadStream<Map.Entry<K, V>> entryStream(int batchSize) {
+    return AsyncMapStreams.entryStream(this, batchSize);
+  }
 }
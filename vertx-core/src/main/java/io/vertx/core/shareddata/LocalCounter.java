@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * A local counter striped across the threads updating it, it is designed for counters updated at a high rate and
+ * read from time to time.
+ * <p>
+ * The synchronous methods neither allocate a future nor contend on a single value. The value of the counter is the sum
+ * of the stripes, a read concurrent with updates is not an atomic snapshot of the counter.
+ * <p>
+ * The {@link Counter} operations are not atomic either: the value returned by {@link #addAndGet} or {@link #getAndAdd}
+ * can include concurrent updates, {@link #compareAndSet} compares with a sum and then adds the difference between
+ * {@code value} and {@code expected}, so the counter holds {@code value} plus the concurrent updates. The updates
+ * are never lost. Therefore a striped counter is never returned by {@link SharedData#getLocalCounter(String)}.
+ */
+@VertxGen
+public interface LocalCounter extends Counter {
+
+  /**
+   * Add the value to the counter, this is the cheapest update of the counter.
+   *
+   * @param value  the value to add
+   */
+  void addLocal(long value);
+
+  /**
+   * Add the value to the counter and return the new count
+   *
+   * @param value  the value to add
+   * @return the sum of the stripes after the add
+   */
+  long addAndGetLocal(long value);
+
+  /**
+   * @return the sum of the stripes
+   */
+  long getLocal();
+
+}
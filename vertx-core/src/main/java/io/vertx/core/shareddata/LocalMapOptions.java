@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.impl.Arguments;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options configuring a local map, or a local async map, used as a cache: the number of entries can be bounded and
+ * the entries can expire after they were written or last accessed.
+ * <p>
+ * When the map is bounded, the least recently used entries are evicted first. The expired entries are never returned
+ * and they are reclaimed by a single background sweeper per map.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LocalMapOptions {
+
+  /**
+   * The default maximum number of entries = {@code 0} (unbounded)
+   */
+  public static final int DEFAULT_MAX_SIZE = 0;
+
+  /**
+   * The default time an entry expires after it was written = {@code 0} (never)
+   */
+  public static final long DEFAULT_EXPIRE_AFTER_WRITE = 0L;
+
+  /**
+   * The default time an entry expires after it was last accessed = {@code 0} (never)
+   */
+  public static final long DEFAULT_EXPIRE_AFTER_ACCESS = 0L;
+
+  private int maxSize;
+  private long expireAfterWrite;
+  private long expireAfterAccess;
+
+  /**
+   * Default constructor
+   */
+  public LocalMapOptions() {
+    maxSize = DEFAULT_MAX_SIZE;
+    expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+    expireAfterAccess = DEFAULT_EXPIRE_AFTER_ACCESS;
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param other The other {@link LocalMapOptions} to copy when creating this
+   */
+  public LocalMapOptions(LocalMapOptions other) {
+    maxSize = other.maxSize;
+    expireAfterWrite = other.expireAfterWrite;
+    expireAfterAccess = other.expireAfterAccess;
+  }
+
+  /**
+   * Create an instance from a {@link JsonObject}
+   *
+   * @param json the JsonObject to create it from
+   */
+  public LocalMapOptions(JsonObject json) {
+    this();
+    LocalMapOptionsConverter.fromJson(json, this);
+  }
+
+  /**
+   * @return the maximum number of entries of the map, {@code 0} when the map is unbounded
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Set the maximum number of entries of the map, the least recently used entries are evicted when the map
+   * grows beyond this size. {@code 0} means the map is unbounded.
+   *
+   * @param maxSize the maximum number of entries
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalMapOptions setMaxSize(int maxSize) {
+    Arguments.require(maxSize >= 0, "maxSize must be >= 0");
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * @return the time in milliseconds an entry expires after it was written, {@code 0} when the entries do not expire
+   */
+  public long getExpireAfterWrite() {
+    return expireAfterWrite;
+  }
+
+  /**
+   * Set the time in milliseconds an entry expires after it was created or its value replaced. {@code 0} means
+   * the entries do not expire after write.
+   *
+   * @param expireAfterWrite the time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalMapOptions setExpireAfterWrite(long expireAfterWrite) {
+    Arguments.require(expireAfterWrite >= 0, "expireAfterWrite must be >= 0");
+    this.expireAfterWrite = expireAfterWrite;
+    return this;
+  }
+
+  /**
+   * @return the time in milliseconds an entry expires after it was last accessed, {@code 0} when the entries
+   *         do not expire
+   */
+  public long getExpireAfterAccess() {
+    return expireAfterAccess;
+  }
+
+  /**
+   * Set the time in milliseconds an entry expires after it was last read or written. {@code 0} means
+   * the entries do not expire after access.
+   *
+   * @param expireAfterAccess the time in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public LocalMapOptions setExpireAfterAccess(long expireAfterAccess) {
+    Arguments.require(expireAfterAccess >= 0, "expireAfterAccess must be >= 0");
+    this.expireAfterAccess = expireAfterAccess;
+    return this;
+  }
+
+  /**
+   * Convert this to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    LocalMapOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  @Override
+  public String toString() {
+    return "LocalMapOptions{" +
+      "maxSize=" + maxSize +
+      ", expireAfterWrite=" + expireAfterWrite +
+      ", expireAfterAccess=" + expireAfterAccess +
+      '}';
+  }
+}
@@ -51,6 +51,29 @@ public interface SharedData {
    */
   <K, V> Future<AsyncMap<K, V>> getClusterWideMap(String name);
 
+  /**
+   * Like {@link #getClusterWideMap(String)} but the values read by this node are kept in a near cache configured by
+   * the {@code nearCache} options: the cache can be bounded and its entries must expire after write.
+   * <p>
+   * The near cache does not know the TTL of the entries of the cluster wide map, a cached value can be read until
+   * it expires from the near cache even when its entry expired from the cluster wide map: the
+   * {@link LocalMapOptions#getExpireAfterWrite() expireAfterWrite} option bounds the staleness of such values.
+   * <p>
+   * A node mutating a key, through a near cached map or not, invalidates it in the near cache of every node with an
+   * event bus broadcast, a node might read a stale value until it receives the broadcast. The near cache only holds
+   * the keys of the types the event bus supports natively: strings, boxed primitives,
+   * {@link io.vertx.core.buffer.Buffer}, JSON objects and arrays.
+   * <p>
+   * The options only apply when the map is first obtained on this node with a near cache.
+   *
+   * @param name  the name of the map
+   * @param nearCache  the near cache options
+   * @return a future notified with the map
+   * @throws IllegalStateException if the parent {@link io.vertx.core.Vertx} instance is not clustered
+   * @throws IllegalArgumentException if the {@code nearCache} options do not set {@code expireAfterWrite}
+   */
+  <K, V> Future<AsyncMap<K, V>> getClusterWideMap(String name, LocalMapOptions nearCache);
+
   /**
    * Get the {@link AsyncMap} with the specified name. When clustered, the map is accessible to all nodes in the cluster
    * and data put into the map from any node is visible to to any other node.
@@ -75,6 +98,17 @@ public interface SharedData {
    */
   <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name);
 
+  /**
+   * Like {@link #getLocalAsyncMap(String)} but the map is used as a cache configured by the {@code options}.
+   * <p>
+   * The options only apply when the map is created, they are ignored when a map with the same name exists.
+   *
+   * @param name the name of the map
+   * @param options the cache options
+   * @return a future notified with the map
+   */
+  <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name, LocalMapOptions options);
+
   /**
    * Get an asynchronous lock with the specified name. The returned future will be completed with the lock when it is available.
    * <p>
@@ -170,6 +204,72 @@ public interface SharedData {
    */
   Future<Lock> getLocalLockWithTimeout(String name, long timeout);
 
+  /**
+   * Get the read lock of the local read/write lock with the specified name. The returned future is completed with
+   * the lock when no write lock is held or awaited before it: several read locks can be held at the same time.
+   * <p>
+   * Read and write locks are granted in the order they were requested.
+   *
+   * @param name  the name of the read/write lock
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalReadLock(String name);
+
+  /**
+   * Like {@link #getLocalReadLock(String)} but specifying a timeout. If the lock is not obtained within the timeout
+   * the returned future is failed.
+   *
+   * @param name  the name of the read/write lock
+   * @param timeout  the timeout in ms
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalReadLockWithTimeout(String name, long timeout);
+
+  /**
+   * Get the write lock of the local read/write lock with the specified name. The returned future is completed with
+   * the lock when no other read or write lock is held.
+   * <p>
+   * Read and write locks are granted in the order they were requested.
+   *
+   * @param name  the name of the read/write lock
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalWriteLock(String name);
+
+  /**
+   * Like {@link #getLocalWriteLock(String)} but specifying a timeout. If the lock is not obtained within the timeout
+   * the returned future is failed.
+   *
+   * @param name  the name of the read/write lock
+   * @param timeout  the timeout in ms
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalWriteLockWithTimeout(String name, long timeout);
+
+  /**
+   * Acquire a permit of the local semaphore with the specified name, the returned future is completed with a lock
+   * releasing the permit. At most {@code permits} locks of the semaphore are held at the same time and they are granted
+   * in the order they were requested.
+   * <p>
+   * The returned future is failed when the semaphore was created with a different number of permits.
+   *
+   * @param name  the name of the semaphore
+   * @param permits  the number of permits of the semaphore
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalSemaphore(String name, int permits);
+
+  /**
+   * Like {@link #getLocalSemaphore(String, int)} but specifying a timeout. If the permit is not obtained within
+   * the timeout the returned future is failed.
+   *
+   * @param name  the name of the semaphore
+   * @param permits  the number of permits of the semaphore
+   * @param timeout  the timeout in ms
+   * @return a future notified with the lock
+   */
+  Future<Lock> getLocalSemaphoreWithTimeout(String name, int permits, long timeout);
+
   /**
    * Get an asynchronous local lock with the specified name.
    *
@@ -229,6 +329,19 @@ public interface SharedData {
    */
   Future<Counter> getLocalCounter(String name);
 
+  /**
+   * Return the {@link LocalCounter} with the specific {@code name}, a counter striped across the threads updating it.
+   * <p>
+   * Striped counters are not returned by {@link #getLocalCounter(String)}, as their {@link Counter} operations are
+   * not atomic. A name is either used by a striped counter or by a local counter: this method throws
+   * {@link IllegalStateException} when a local counter has the same name, {@link #getLocalCounter(String)} fails
+   * when a striped counter has the same name.
+   *
+   * @param name  the name of the counter
+   * @return the counter
+   */
+  LocalCounter getStripedLocalCounter(String name);
+
   /**
    * Return a {@code LocalMap} with the specific {@code name}.
    *
@@ -237,4 +350,36 @@ public interface SharedData {
    */
   <K, V> LocalMap<K, V> getLocalMap(String name);
 
+  /**
+   * Return a {@code LocalMap} with the specific {@code name} used as a cache configured by the {@code options}: the
+   * map can be bounded and its entries can expire.
+   * <p>
+   * The options only apply when the map is created, they are ignored when a map with the same name exists.
+   *
+   * @param name  the name of the map
+   * @param options the cache options
+   * @return the map
+   */
+  <K, V> LocalMap<K, V> getLocalMap(String name, LocalMapOptions options);
+
+  /**
+   * Return a {@code LocalMap} with the specific {@code name} storing its values in direct memory, the values must be
+   * {@link io.vertx.core.buffer.Buffer} or {@code byte[]}.
+   * <p>
+   * A {@code Buffer} value is returned as a read-only buffer backed by the direct memory, without copying it on the heap.
+   * When storing a value would exceed the {@code capacity}, the oldest values are evicted.
+   * <p>
+   * Off-heap maps do not share their names with the other local maps, the {@code capacity} only applies when the map
+   * is created.
+   * <p>
+   * The values are stored in slabs of direct memory and the oldest slab is dropped as a whole. The memory used reported
+   * by the map statistics is the size of the slabs it holds, a dropped slab is only freed by the garbage collector, so
+   * the direct memory in use can exceed the {@code capacity} until then.
+   *
+   * @param name  the name of the map
+   * @param capacity the maximum number of bytes of direct memory used by the map
+   * @return the map
+   */
+  <K, V> LocalMap<K, V> getOffHeapLocalMap(String name, long capacity);
+
 }
@@ -12,8 +12,6 @@
 package io.vertx.core.shareddata.impl;
 
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
-import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.shareddata.Counter;
 
@@ -39,57 +37,36 @@ public class AsynchronousCounter implements Counter {
 
   @Override
   public Future<Long> get() {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.get());
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.get());
   }
 
   @Override
   public Future<Long> incrementAndGet() {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.incrementAndGet());
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.incrementAndGet());
   }
 
   @Override
   public Future<Long> getAndIncrement() {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.getAndIncrement());
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.getAndIncrement());
   }
 
   @Override
   public Future<Long> decrementAndGet() {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.decrementAndGet());
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.decrementAndGet());
   }
 
   @Override
   public Future<Long> addAndGet(long value) {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.addAndGet(value));
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.addAndGet(value));
   }
 
   @Override
   public Future<Long> getAndAdd(long value) {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Long> promise = context.promise();
-    promise.complete(counter.getAndAdd(value));
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.getAndAdd(value));
   }
 
   @Override
   public Future<Boolean> compareAndSet(long expected, long value) {
-    ContextInternal context = vertx.getOrCreateContext();
-    Promise<Boolean> promise = context.promise();
-    promise.complete(counter.compareAndSet(expected, value));
-    return promise.future();
+    return vertx.getOrCreateContext().succeededFuture(counter.compareAndSet(expected, value));
   }
 }
@@ -11,6 +11,8 @@
 
 package io.vertx.core.shareddata.impl;
 
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.internal.ContextInternal;
@@ -20,112 +22,395 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Local locks, read/write locks and semaphores, all of them hand out permits to their waiters in FIFO order.
+ * <p>
+ * The waiters of a name are linked in a queue, enqueuing, granting and cancelling a waiter are constant time operations
+ * under the monitor of the name, the state of an idle name is removed. A lock grants one permit, a semaphore grants one
+ * of its permits, a read lock grants one permit and a write lock grants all the permits of a read/write lock.
+ * <p>
+ * The timeouts are swept by a single scheduled task: the waiters with the same timeout are linked in insertion order,
+ * which is also their deadline order. A waiter is either granted or timed out, whichever comes first.
+ *
  * @author Thomas Segismont
  */
 public class LocalAsyncLocks {
 
-  private class LockWaiter {
+  /**
+   * The sweeper does not wake up more often than this, a timeout fires at most this late.
+   */
+  private static final long SWEEP_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * The permits of a read/write lock, a reader takes one and a writer takes all of them.
+   */
+  private static final int READ_WRITE_PERMITS = Integer.MAX_VALUE;
+
+  private final ConcurrentMap<String, Permits> locks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Permits> readWriteLocks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Permits> semaphores = new ConcurrentHashMap<>();
+
+  // Timeouts monitor
+  private final List<Lane> lanes = new ArrayList<>(2);
+  private ScheduledFuture<?> sweep;
+  private long sweepAt;
+
+  public Future<Lock> acquire(ContextInternal context, String name, long timeout) {
+    return acquire(locks, context, name, 1, 1, timeout);
+  }
+
+  public Future<Lock> acquireRead(ContextInternal context, String name, long timeout) {
+    return acquire(readWriteLocks, context, name, READ_WRITE_PERMITS, 1, timeout);
+  }
+
+  public Future<Lock> acquireWrite(ContextInternal context, String name, long timeout) {
+    return acquire(readWriteLocks, context, name, READ_WRITE_PERMITS, READ_WRITE_PERMITS, timeout);
+  }
+
+  public Future<Lock> acquirePermit(ContextInternal context, String name, int permits, long timeout) {
+    return acquire(semaphores, context, name, permits, 1, timeout);
+  }
+
+  private Future<Lock> acquire(ConcurrentMap<String, Permits> map, ContextInternal context, String name, int max, int count, long timeout) {
+    Waiter waiter = new Waiter(context, count, timeout);
+    while (true) {
+      Permits permits = map.computeIfAbsent(name, n -> new Permits(map, n, max));
+      if (permits.max != max) {
+        return context.failedFuture(new IllegalStateException("Semaphore " + name + " has " + permits.max + " permits"));
+      }
+      if (permits.enqueue(waiter)) {
+        return waiter.promise.future();
+      }
+      // Removed meanwhile because it was idle
+    }
+  }
+
+  private class Waiter {
 
     final ContextInternal context;
-    final String lockName;
+    final int count;
+    final long timeout;
     final Promise<Lock> promise;
-    final Long timerId;
+    final AtomicBoolean settled = new AtomicBoolean();
+    Permits permits;
+
+    // Guarded by the permits
+    Waiter prev;
+    Waiter next;
+    boolean queued;
 
-    LockWaiter(ContextInternal context, String lockName, long timeout, Promise<Lock> promise) {
-      this.lockName = lockName;
-      this.promise = promise;
+    // Guarded by the timeouts monitor
+    Lane lane;
+    long deadline;
+    Waiter prevTimeout;
+    Waiter nextTimeout;
+
+    Waiter(ContextInternal context, int count, long timeout) {
       this.context = context;
-      timerId = timeout != Long.MAX_VALUE ? context.setTimer(timeout, tid -> timeout()) : null;
+      this.count = count;
+      this.timeout = timeout;
+      this.promise = context.promise();
+    }
+
+    void grant() {
+      promise.complete(new AsyncLock(permits, count));
     }
 
     void timeout() {
-      // Cleanup
-      waitersMap.compute(lockName, (s, list) -> {
-        int idx;
-        if (list == null || (idx = list.indexOf(LockWaiter.this)) == -1) {
-          // Already removed by release()
-          return list;
-        } else if (list.size() == 1) {
-          return null;
+      if (settled.compareAndSet(false, true)) {
+        permits.cancel(this);
+        promise.fail("Timed out waiting to get lock");
+      }
+    }
+  }
+
+  private class Permits {
+
+    final ConcurrentMap<String, Permits> map;
+    final String name;
+    final int max;
+
+    // Guarded by this
+    private int available;
+    private Waiter head;
+    private Waiter tail;
+    private volatile int waiters;
+    private boolean removed;
+
+    Permits(ConcurrentMap<String, Permits> map, String name, int max) {
+      this.map = map;
+      this.name = name;
+      this.max = max;
+      this.available = max;
+    }
+
+    /**
+     * @return {@code false} when the permits were removed and the waiter must be enqueued in the current ones
+     */
+    boolean enqueue(Waiter waiter) {
+      waiter.permits = this;
+      boolean granted;
+      synchronized (this) {
+        if (removed) {
+          return false;
+        }
+        granted = head == null && available >= waiter.count;
+        if (granted) {
+          available -= waiter.count;
+          waiter.settled.set(true);
         } else {
-          int size = list.size();
-          List<LockWaiter> n = new ArrayList<>(size - 1);
-          if (idx > 0) {
-            n.addAll(list.subList(0, idx));
-          }
-          if (idx + 1 < size) {
-            n.addAll(list.subList(idx + 1, size));
+          append(waiter);
+        }
+      }
+      if (granted) {
+        waiter.grant();
+      } else if (waiter.timeout != Long.MAX_VALUE) {
+        addTimeout(waiter);
+      }
+      return true;
+    }
+
+    void release(int count) {
+      Waiter granted;
+      synchronized (this) {
+        available += count;
+        granted = drain();
+      }
+      grant(granted);
+    }
+
+    void cancel(Waiter waiter) {
+      Waiter granted;
+      synchronized (this) {
+        if (waiter.queued) {
+          unlink(waiter);
+        }
+        // The waiter might have blocked the ones behind it
+        granted = drain();
+      }
+      grant(granted);
+    }
+
+    /**
+     * Dequeue the waiters that can be granted.
+     *
+     * @return the granted waiters linked by {@link Waiter#next}
+     */
+    private Waiter drain() {
+      Waiter first = null;
+      Waiter last = null;
+      Waiter waiter;
+      while ((waiter = head) != null && waiter.count <= available) {
+        unlink(waiter);
+        // Skip a waiter that timed out meanwhile, it cancels itself
+        if (waiter.settled.compareAndSet(false, true)) {
+          available -= waiter.count;
+          if (last == null) {
+            first = waiter;
+          } else {
+            last.next = waiter;
           }
-          return n;
+          last = waiter;
         }
-      });
-      promise.fail("Timed out waiting to get lock");
+      }
+      if (available == max && head == null) {
+        removed = true;
+        map.remove(name, this);
+      }
+      return first;
     }
 
-    void acquireLock() {
-      if (timerId == null || context.owner().cancelTimer(timerId)) {
-        promise.complete(new AsyncLock(lockName));
+    private void grant(Waiter first) {
+      Waiter waiter = first;
+      while (waiter != null) {
+        Waiter granted = waiter;
+        waiter = granted.next;
+        granted.next = null;
+        if (granted.timeout != Long.MAX_VALUE) {
+          removeTimeout(granted);
+        }
+        // Not inline, a waiter releasing its lock from its handler would otherwise recurse in the next one
+        granted.context.runOnContext(v -> granted.grant());
+      }
+    }
+
+    private void append(Waiter waiter) {
+      waiter.queued = true;
+      waiter.prev = tail;
+      if (tail == null) {
+        head = waiter;
       } else {
-        nextWaiter(lockName);
+        tail.next = waiter;
       }
+      tail = waiter;
+      waiters++;
+    }
+
+    private void unlink(Waiter waiter) {
+      Waiter prev = waiter.prev;
+      Waiter next = waiter.next;
+      if (prev == null) {
+        head = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        tail = prev;
+      } else {
+        next.prev = prev;
+      }
+      waiter.queued = false;
+      waiter.prev = null;
+      waiter.next = null;
+      waiters--;
     }
   }
 
   private class AsyncLock implements LockInternal {
 
-    final String lockName;
+    final Permits permits;
+    final int count;
     final AtomicBoolean invoked = new AtomicBoolean();
 
-    AsyncLock(String lockName) {
-      this.lockName = lockName;
+    AsyncLock(Permits permits, int count) {
+      this.permits = permits;
+      this.count = count;
     }
 
     @Override
     public void release() {
       if (invoked.compareAndSet(false, true)) {
-        nextWaiter(lockName);
+        permits.release(count);
       }
     }
 
     @Override
     public int waiters() {
-      List<LockWaiter> waiters = waitersMap.get(lockName);
-      return waiters == null ? 0 : waiters.size() - 1;
+      return permits.waiters;
     }
   }
 
-  // Value should never be modified
-  private final ConcurrentMap<String, List<LockWaiter>> waitersMap = new ConcurrentHashMap<>();
+  /**
+   * The waiters with the same timeout, linked in deadline order.
+   */
+  private static class Lane {
 
-  public Future<Lock> acquire(ContextInternal context, String name, long timeout) {
-    Promise<Lock> promise = context.promise();
-    LockWaiter lockWaiter = new LockWaiter(context, name, timeout, promise);
-    List<LockWaiter> waiters = waitersMap.compute(name, (s, list) -> {
-      List<LockWaiter> result;
-      if (list != null) {
-        result = new ArrayList<>(list.size() + 1);
-        result.addAll(list);
-      } else {
-        result = new ArrayList<>(1);
+    final long timeout;
+    Waiter head;
+    Waiter tail;
+
+    Lane(long timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  private synchronized void addTimeout(Waiter waiter) {
+    // A waiter granted meanwhile is removed when it expires
+    waiter.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waiter.timeout);
+    Lane lane = null;
+    for (int i = 0;i < lanes.size();i++) {
+      if (lanes.get(i).timeout == waiter.timeout) {
+        lane = lanes.get(i);
+        break;
       }
-      result.add(lockWaiter);
-      return result;
-    });
-    if (waiters.size() == 1) {
-      waiters.get(0).acquireLock();
     }
-    return promise.future();
+    if (lane == null) {
+      lane = new Lane(waiter.timeout);
+      lanes.add(lane);
+    }
+    waiter.lane = lane;
+    waiter.prevTimeout = lane.tail;
+    if (lane.tail == null) {
+      lane.head = waiter;
+    } else {
+      lane.tail.nextTimeout = waiter;
+    }
+    lane.tail = waiter;
+    if (sweepAt == 0L || waiter.deadline - sweepAt < 0) {
+      schedule(waiter.context.nettyEventLoop(), waiter.deadline);
+    }
+  }
+
+  private synchronized void removeTimeout(Waiter waiter) {
+    if (waiter.lane != null) {
+      unlinkTimeout(waiter);
+    }
+  }
+
+  private void unlinkTimeout(Waiter waiter) {
+    Lane lane = waiter.lane;
+    Waiter prev = waiter.prevTimeout;
+    Waiter next = waiter.nextTimeout;
+    if (prev == null) {
+      lane.head = next;
+    } else {
+      prev.nextTimeout = next;
+    }
+    if (next == null) {
+      lane.tail = prev;
+    } else {
+      next.prevTimeout = prev;
+    }
+    waiter.lane = null;
+    waiter.prevTimeout = null;
+    waiter.nextTimeout = null;
+    if (lane.head == null) {
+      lanes.remove(lane);
+    }
   }
 
-  private void nextWaiter(String lockName) {
-    List<LockWaiter> waiters = waitersMap.compute(lockName, (s, list) -> {
-      return list == null || list.size() == 1 ? null : new ArrayList<>(list.subList(1, list.size()));
-    });
-    if (waiters != null) {
-      waiters.get(0).acquireLock();
+  /**
+   * Schedule the sweeper on the event loop of a waiter, the locks are not tied to a Vert.x instance.
+   */
+  private void schedule(EventExecutor eventLoop, long deadline) {
+    if (sweep != null) {
+      sweep.cancel(false);
+      sweep = null;
+    }
+    long delay = Math.max(deadline - System.nanoTime(), SWEEP_RESOLUTION_NANOS);
+    try {
+      sweep = eventLoop.schedule(this::sweep, delay, TimeUnit.NANOSECONDS);
+      sweepAt = deadline;
+    } catch (RejectedExecutionException e) {
+      // The event loop is shutting down, the next waiter schedules the sweeper
+      sweepAt = 0L;
+    }
+  }
+
+  private void sweep() {
+    List<Waiter> expired = new ArrayList<>();
+    synchronized (this) {
+      sweep = null;
+      long now = System.nanoTime();
+      long next = 0L;
+      Waiter nextWaiter = null;
+      for (int i = 0;i < lanes.size();i++) {
+        Lane lane = lanes.get(i);
+        Waiter waiter;
+        while ((waiter = lane.head) != null && waiter.deadline - now <= 0) {
+          expired.add(waiter);
+          unlinkTimeout(waiter);
+          if (lane.head == null) {
+            // The lane was removed
+            i--;
+          }
+        }
+        if (waiter != null && (next == 0L || waiter.deadline - next < 0)) {
+          next = waiter.deadline;
+          nextWaiter = waiter;
+        }
+      }
+      sweepAt = 0L;
+      if (nextWaiter != null) {
+        schedule(nextWaiter.context.nettyEventLoop(), next);
+      }
+    }
+    for (Waiter waiter : expired) {
+      waiter.timeout();
     }
   }
 }
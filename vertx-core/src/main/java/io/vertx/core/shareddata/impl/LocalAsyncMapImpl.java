@@ -14,176 +14,153 @@ package io.vertx.core.shareddata.impl;
 import io.vertx.core.Future;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.shareddata.AsyncMapStreams;
 import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.LocalMapOptions;
+import io.vertx.core.streams.ReadStream;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-
-import static java.util.concurrent.TimeUnit.*;
-import static java.util.stream.Collectors.*;
 
 /**
+ * A local async map, the entries with a time to live are reclaimed by the sweeper of the {@link LocalCache} backing
+ * the map instead of a timer per entry.
+ *
  * @author Thomas Segismont
  */
 public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
 
   private final VertxInternal vertx;
-  private final ConcurrentMap<K, Holder<V>> map;
+  private final LocalCache<K, V> map;
 
   public LocalAsyncMapImpl(VertxInternal vertx) {
+    this(vertx, null, new LocalMapOptions());
+  }
+
+  public LocalAsyncMapImpl(VertxInternal vertx, String name, LocalMapOptions options) {
     this.vertx = vertx;
-    map = new ConcurrentHashMap<>();
+    this.map = new LocalCache<>(vertx, name, options);
+  }
+
+  /**
+   * @return the statistics of the map
+   */
+  public LocalMapStatistics statistics() {
+    return map.statistics();
+  }
+
+  private static void checkTtl(long ttl) {
+    if (ttl < 1) {
+      throw new IllegalArgumentException("ttl must be positive: " + ttl);
+    }
   }
 
   @Override
   public Future<V> get(K k) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> h = map.get(k);
-    if (h != null && h.hasNotExpired()) {
-      return ctx.succeededFuture(h.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(map.get(k));
   }
 
   @Override
   public Future<Void> put(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.put(k, new Holder<>(v));
-    if (previous != null && previous.expires()) {
-      vertx.cancelTimer(previous.timerId);
-    }
+    map.put(k, v);
     return ctx.succeededFuture();
   }
 
   @Override
   public Future<V> putIfAbsent(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> h = map.putIfAbsent(k, new Holder<>(v));
-    return ctx.succeededFuture(h == null ? null : h.value);
+    return ctx.succeededFuture(map.putIfAbsent(k, v));
   }
 
   @Override
   public Future<Void> put(K k, V v, long ttl) {
+    checkTtl(ttl);
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> previous = map.put(k, new Holder<>(v, timerId, ttl, timestamp));
-    if (previous != null && previous.expires()) {
-      vertx.cancelTimer(previous.timerId);
-    }
+    map.put(k, v, ttl);
     return ctx.succeededFuture();
   }
 
-  private void removeIfExpired(K k) {
-    map.computeIfPresent(k, (key, holder) -> holder.hasNotExpired() ? holder : null);
-  }
-
   @Override
   public Future<V> putIfAbsent(K k, V v, long ttl) {
+    checkTtl(ttl);
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> existing = map.putIfAbsent(k, new Holder<>(v, timerId, ttl, timestamp));
-    if (existing != null) {
-      vertx.cancelTimer(timerId);
-      return ctx.succeededFuture(existing.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(map.putIfAbsent(k, v, ttl));
   }
 
   @Override
   public Future<Boolean> removeIfPresent(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    AtomicBoolean result = new AtomicBoolean();
-    map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(v)) {
-        result.compareAndSet(false, true);
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return null;
-      }
-      return holder;
-    });
-    return ctx.succeededFuture(result.get());
+    return ctx.succeededFuture(map.remove(k, v));
   }
 
   @Override
   public Future<V> replace(K k, V v) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.replace(k, new Holder<>(v));
-    if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
-      }
-      return ctx.succeededFuture(previous.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(map.replace(k, v));
   }
 
   @Override
   public Future<V> replace(K k, V v, long ttl) {
+    checkTtl(ttl);
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> previous = map.replace(k, new Holder<>(v, timerId, ttl, timestamp));
-    if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
-      }
-      return ctx.succeededFuture(previous.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+    return ctx.succeededFuture(map.replace(k, v, ttl));
   }
 
   @Override
   public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue) {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> h = new Holder<>(newValue);
-    Holder<V> result = map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(oldValue)) {
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return h;
-      }
-      return holder;
-    });
-    return ctx.succeededFuture(h == result);
+    return ctx.succeededFuture(map.replace(k, oldValue, newValue));
   }
 
   @Override
   public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue, long ttl) {
+    checkTtl(ttl);
     ContextInternal ctx = vertx.getOrCreateContext();
-    long timestamp = System.nanoTime();
-    long timerId = vertx.setTimer(ttl, l -> removeIfExpired(k));
-    Holder<V> h = new Holder<>(newValue, timerId, ttl, timestamp);
-    Holder<V> result = map.computeIfPresent(k, (key, holder) -> {
-      if (holder.value.equals(oldValue)) {
-        if (holder.expires()) {
-          vertx.cancelTimer(holder.timerId);
-        }
-        return h;
+    return ctx.succeededFuture(map.replace(k, oldValue, newValue, ttl));
+  }
+
+  @Override
+  public Future<Map<K, V>> getAll(Set<K> keys) {
+    ContextInternal ctx = vertx.getOrCreateContext();
+    Map<K, V> entries = new HashMap<>();
+    for (K key : keys) {
+      V value = map.get(key);
+      if (value != null) {
+        entries.put(key, value);
       }
-      return holder;
-    });
-    if(h == result) {
-      return ctx.succeededFuture(true);
-    } else {
-      vertx.cancelTimer(timerId);
-      return ctx.succeededFuture(false);
     }
+    return ctx.succeededFuture(entries);
+  }
+
+  @Override
+  public Future<Void> putAll(Map<K, V> entries) {
+    ContextInternal ctx = vertx.getOrCreateContext();
+    map.putAll(entries);
+    return ctx.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> putAll(Map<K, V> entries, long ttl) {
+    checkTtl(ttl);
+    ContextInternal ctx = vertx.getOrCreateContext();
+    entries.forEach((k, v) -> map.put(k, v, ttl));
+    return ctx.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> removeAll(Set<K> keys) {
+    ContextInternal ctx = vertx.getOrCreateContext();
+    for (K key : keys) {
+      map.remove(key);
+    }
+    return ctx.succeededFuture();
   }
 
   @Override
@@ -208,73 +185,31 @@ public class LocalAsyncMapImpl<K, V> implements AsyncMap<K, V> {
   @Override
   public Future<List<V>> values() {
     ContextInternal ctx = vertx.getOrCreateContext();
-    List<V> result = map.values().stream()
-      .filter(Holder::hasNotExpired)
-      .map(h -> h.value)
-      .collect(toList());
-    return ctx.succeededFuture(result);
+    return ctx.succeededFuture(new ArrayList<>(map.values()));
   }
 
   @Override
   public Future<Map<K, V>> entries() {
     ContextInternal ctx = vertx.getOrCreateContext();
-    Map<K, V> result = new HashMap<>(map.size());
-    map.forEach((key, holder) -> {
-      if (holder.hasNotExpired()) {
-        result.put(key, holder.value);
-      }
-    });
-    return ctx.succeededFuture(result);
+    return ctx.succeededFuture(new HashMap<>(map));
   }
 
   @Override
-  public Future<V> remove(K k) {
-    ContextInternal ctx = vertx.getOrCreateContext();
-    Holder<V> previous = map.remove(k);
-    if (previous != null) {
-      if (previous.expires()) {
-        vertx.cancelTimer(previous.timerId);
+  public ReadStream<Map.Entry<K, V>> entryStream(int batchSize) {
+    // The iterator of the backing map is weakly consistent, the entries are read as the stream is consumed
+    Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+    return AsyncMapStreams.stream(size -> {
+      List<Map.Entry<K, V>> batch = new ArrayList<>();
+      while (batch.size() < size && it.hasNext()) {
+        batch.add(it.next());
       }
-      return ctx.succeededFuture(previous.value);
-    } else {
-      return ctx.succeededFuture();
-    }
+      return vertx.getOrCreateContext().succeededFuture(batch);
+    }, batchSize);
   }
 
-  private static class Holder<V> {
-    final V value;
-    final long timerId;
-    final long ttl;
-    final long timestamp;
-
-    Holder(V value) {
-      Objects.requireNonNull(value);
-      this.value = value;
-      timestamp = ttl = timerId = 0;
-    }
-
-    Holder(V value, long timerId, long ttl, long timestamp) {
-      Objects.requireNonNull(value);
-      if (ttl < 1) {
-        throw new IllegalArgumentException("ttl must be positive: " + ttl);
-      }
-      this.value = value;
-      this.timerId = timerId;
-      this.ttl = ttl;
-      this.timestamp = timestamp;
-    }
-
-    boolean expires() {
-      return ttl > 0;
-    }
-
-    boolean hasNotExpired() {
-      return !expires() || MILLISECONDS.convert(System.nanoTime() - timestamp, NANOSECONDS) < ttl;
-    }
-
-    @Override
-    public String toString() {
-      return "Holder{" + "value=" + value + ", timerId=" + timerId + ", ttl=" + ttl + ", timestamp=" + timestamp + '}';
-    }
+  @Override
+  public Future<V> remove(K k) {
+    ContextInternal ctx = vertx.getOrCreateContext();
+    return ctx.succeededFuture(map.remove(k));
   }
 }
@@ -0,0 +1,763 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.netty.util.concurrent.ScheduledFuture;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.shareddata.LocalMapOptions;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A concurrent map backing the local maps used as caches, the map can be bounded and its entries can expire.
+ * <p>
+ * The entries of a bounded map are linked in access order, the least recently used entry is evicted first when the map
+ * grows beyond its maximum size. Reads only reorder the entries when the list lock is not contended, so the order is
+ * approximate under load.
+ * <p>
+ * An entry expires after a per entry time to live, or after it was written or last accessed according to the options.
+ * Expired entries are never returned, they are removed when they are read and reclaimed by a single sweeper timer per
+ * map which is scheduled for the earliest deadline. The entries with a deadline are also linked in one lane per time to
+ * live, in deadline order, so the sweeper only visits the expired entries and the entries accessed since they were
+ * linked instead of the whole map.
+ */
+final class LocalCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+  /**
+   * The sweeper does not wake up more often than this, an expired entry is reclaimed at most this late.
+   */
+  private static final long SWEEP_RESOLUTION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Returned by an update function to keep the current entry as is.
+   */
+  private static final Object KEEP = new Object();
+
+  private final VertxInternal vertx;
+  private final String name;
+  private final int maxSize;
+  private final long expireAfterWriteNanos;
+  private final long expireAfterAccessNanos;
+  // The time to live of the entries without their own, the shortest of the map expirations
+  private final long expireNanos;
+  private final ConcurrentMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+
+  // Access order of a bounded map, guarded by the lock
+  private final ReentrantLock lock = new ReentrantLock();
+  private Node<K, V> head;
+  private Node<K, V> tail;
+
+  // The entries with a deadline, guarded by the list
+  private final List<Lane<K, V>> lanes = new ArrayList<>(1);
+
+  // Whether an entry ever had a deadline, the size is then computed from the live entries
+  private volatile boolean expiring;
+
+  // Guarded by this
+  private volatile long sweepAt;
+  private ScheduledFuture<?> sweep;
+  private boolean closed;
+
+  private Set<Entry<K, V>> entrySet;
+
+  LocalCache(VertxInternal vertx, String name, LocalMapOptions options) {
+    this.vertx = vertx;
+    this.name = name;
+    this.maxSize = options.getMaxSize();
+    this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(options.getExpireAfterWrite());
+    this.expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(options.getExpireAfterAccess());
+    if (expireAfterWriteNanos > 0 && expireAfterAccessNanos > 0) {
+      this.expireNanos = Math.min(expireAfterWriteNanos, expireAfterAccessNanos);
+    } else {
+      this.expireNanos = Math.max(expireAfterWriteNanos, expireAfterAccessNanos);
+    }
+  }
+
+  /**
+   * @return whether the {@code options} require a cache, otherwise a plain concurrent map is enough
+   */
+  static boolean isCache(LocalMapOptions options) {
+    return options.getMaxSize() > 0 || options.getExpireAfterWrite() > 0 || options.getExpireAfterAccess() > 0;
+  }
+
+  private static long deadline(long now, long nanos) {
+    long deadline = now + nanos;
+    // 0 means no deadline
+    return deadline == 0L ? 1L : deadline;
+  }
+
+  private Node<K, V> newNode(K key, V value, long ttlNanos, long now) {
+    long writeDeadline;
+    long accessDeadline;
+    if (ttlNanos > 0) {
+      // The entry time to live supersedes the map expiration
+      writeDeadline = deadline(now, ttlNanos);
+      accessDeadline = 0L;
+    } else {
+      writeDeadline = expireAfterWriteNanos > 0 ? deadline(now, expireAfterWriteNanos) : 0L;
+      accessDeadline = expireAfterAccessNanos > 0 ? deadline(now, expireAfterAccessNanos) : 0L;
+    }
+    return new Node<>(key, value, writeDeadline, accessDeadline);
+  }
+
+  private static final class Update<K, V> {
+    // The live entry before the update
+    private Node<K, V> previous;
+    // The expired entry dropped by the update
+    private Node<K, V> expired;
+  }
+
+  /**
+   * Atomically update the entry of the {@code key}. The {@code function} is called with the live value, or
+   * {@code null}, and returns the new value, {@code null} to remove the entry or {@link #KEEP} to keep it as is.
+   *
+   * @return the entry mapped after the update
+   */
+  @SuppressWarnings("unchecked")
+  private Node<K, V> update(K key, long ttlNanos, BiFunction<? super K, ? super V, ?> function, Update<K, V> update) {
+    long now = System.nanoTime();
+    Node<K, V> node = map.compute(key, (k, prev) -> {
+      V current = null;
+      if (prev != null) {
+        if (prev.isExpired(now)) {
+          update.expired = prev;
+        } else {
+          update.previous = prev;
+          current = prev.value;
+        }
+      }
+      Object value = function.apply(k, current);
+      if (value == KEEP) {
+        return current != null ? prev : null;
+      }
+      return value == null ? null : newNode(k, (V) value, ttlNanos, now);
+    });
+    if (update.expired != null) {
+      expirations.increment();
+      removed(update.expired);
+    }
+    Node<K, V> previous = update.previous;
+    if (previous != null && previous != node) {
+      removed(previous);
+    }
+    if (node != null && node != previous) {
+      added(node, ttlNanos);
+    }
+    return node;
+  }
+
+  private void added(Node<K, V> node, long ttlNanos) {
+    long deadline = node.deadline();
+    if (deadline != 0L) {
+      enqueue(node, ttlNanos > 0 ? ttlNanos : expireNanos, deadline);
+      schedule(deadline);
+    }
+    if (maxSize > 0) {
+      link(node);
+      evict();
+    }
+  }
+
+  private void expire(Node<K, V> node) {
+    if (map.remove(node.key, node)) {
+      expirations.increment();
+      removed(node);
+    }
+  }
+
+  /**
+   * Called when the {@code node} was removed from the map.
+   */
+  private void removed(Node<K, V> node) {
+    unlink(node);
+    dequeue(node);
+  }
+
+  private Node<K, V> liveNode(Object key) {
+    Node<K, V> node = map.get(key);
+    if (node != null && node.isExpired(System.nanoTime())) {
+      expire(node);
+      return null;
+    }
+    return node;
+  }
+
+  private static <V> V valueOf(Node<?, V> node) {
+    return node != null ? node.value : null;
+  }
+
+  @Override
+  public V get(Object key) {
+    Node<K, V> node = map.get(key);
+    if (node != null) {
+      long now = System.nanoTime();
+      if (!node.isExpired(now)) {
+        hits.increment();
+        touch(node, now);
+        return node.value;
+      }
+      expire(node);
+    }
+    misses.increment();
+    return null;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    return put(key, value, 0L);
+  }
+
+  /**
+   * Like {@link #put(Object, Object)} with an entry time to live in milliseconds, {@code 0} means the map
+   * expiration applies.
+   */
+  V put(K key, V value, long ttl) {
+    Objects.requireNonNull(value);
+    Update<K, V> update = new Update<>();
+    update(key, TimeUnit.MILLISECONDS.toNanos(ttl), (k, current) -> value, update);
+    return valueOf(update.previous);
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    return putIfAbsent(key, value, 0L);
+  }
+
+  /**
+   * Like {@link #putIfAbsent(Object, Object)} with an entry time to live in milliseconds.
+   */
+  V putIfAbsent(K key, V value, long ttl) {
+    Objects.requireNonNull(value);
+    Update<K, V> update = new Update<>();
+    update(key, TimeUnit.MILLISECONDS.toNanos(ttl), (k, current) -> current == null ? value : KEEP, update);
+    return valueOf(update.previous);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V remove(Object key) {
+    Update<K, V> update = new Update<>();
+    update((K) key, 0L, (k, current) -> null, update);
+    return valueOf(update.previous);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean remove(Object key, Object value) {
+    if (value == null) {
+      return false;
+    }
+    Update<K, V> update = new Update<>();
+    Node<K, V> node = update((K) key, 0L, (k, current) -> value.equals(current) ? null : KEEP, update);
+    return update.previous != null && node == null;
+  }
+
+  @Override
+  public V replace(K key, V value) {
+    return replace(key, value, 0L);
+  }
+
+  /**
+   * Like {@link #replace(Object, Object)} with an entry time to live in milliseconds.
+   */
+  V replace(K key, V value, long ttl) {
+    Objects.requireNonNull(value);
+    Update<K, V> update = new Update<>();
+    update(key, TimeUnit.MILLISECONDS.toNanos(ttl), (k, current) -> current != null ? value : null, update);
+    return valueOf(update.previous);
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue) {
+    return replace(key, oldValue, newValue, 0L);
+  }
+
+  /**
+   * Like {@link #replace(Object, Object, Object)} with an entry time to live in milliseconds.
+   */
+  boolean replace(K key, V oldValue, V newValue, long ttl) {
+    Objects.requireNonNull(oldValue);
+    Objects.requireNonNull(newValue);
+    Update<K, V> update = new Update<>();
+    Node<K, V> node = update(key, TimeUnit.MILLISECONDS.toNanos(ttl), (k, current) -> oldValue.equals(current) ? newValue : KEEP, update);
+    return node != null && node != update.previous;
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction);
+    return valueOf(update(key, 0L, remappingFunction, new Update<>()));
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction);
+    return valueOf(update(key, 0L, (k, current) -> current != null ? KEEP : mappingFunction.apply(k), new Update<>()));
+  }
+
+  @Override
+  public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction);
+    return valueOf(update(key, 0L, (k, current) -> current != null ? remappingFunction.apply(k, current) : null, new Update<>()));
+  }
+
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value);
+    Objects.requireNonNull(remappingFunction);
+    return valueOf(update(key, 0L, (k, current) -> current != null ? remappingFunction.apply(current, value) : value, new Update<>()));
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+    Objects.requireNonNull(function);
+    for (K key : map.keySet()) {
+      update(key, 0L, (k, current) -> current != null ? Objects.requireNonNull(function.apply(k, current)) : null, new Update<>());
+    }
+  }
+
+  @Override
+  public void clear() {
+    // Remove the entries one by one, so the access order stays consistent with concurrent updates
+    for (Node<K, V> node : map.values()) {
+      if (map.remove(node.key, node)) {
+        removed(node);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    if (!expiring) {
+      return map.size();
+    }
+    long now = System.nanoTime();
+    int size = 0;
+    for (Node<K, V> node : map.values()) {
+      if (!node.isExpired(now)) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return expiring ? size() == 0 : map.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return liveNode(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    Objects.requireNonNull(value);
+    long now = System.nanoTime();
+    for (Node<K, V> node : map.values()) {
+      if (!node.isExpired(now) && value.equals(node.value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new EntryIterator();
+        }
+        @Override
+        public int size() {
+          return LocalCache.this.size();
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  /**
+   * Iterates the live entries, the entries are immutable.
+   */
+  private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final Iterator<Node<K, V>> it = map.values().iterator();
+    private final long now = System.nanoTime();
+    private Node<K, V> next;
+    private Node<K, V> last;
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && it.hasNext()) {
+        Node<K, V> node = it.next();
+        if (!node.isExpired(now)) {
+          next = node;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = null;
+      return new SimpleImmutableEntry<>(last.key, last.value);
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      if (map.remove(last.key, last)) {
+        removed(last);
+      }
+      last = null;
+    }
+  }
+
+  private void touch(Node<K, V> node, long now) {
+    if (node.accessDeadline != 0L) {
+      node.accessDeadline = deadline(now, expireAfterAccessNanos);
+    }
+    // Reordering is best effort, a contended read does not wait for the lock
+    if (maxSize > 0 && lock.tryLock()) {
+      try {
+        if (node.linked && node != tail) {
+          remove(node);
+          append(node);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void link(Node<K, V> node) {
+    lock.lock();
+    try {
+      // The entry might have been removed meanwhile, then it must not be linked anymore
+      if (!node.linked && map.get(node.key) == node) {
+        append(node);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void unlink(Node<K, V> node) {
+    if (maxSize == 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (node.linked) {
+        remove(node);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void append(Node<K, V> node) {
+    node.linked = true;
+    node.prev = tail;
+    if (tail == null) {
+      head = node;
+    } else {
+      tail.next = node;
+    }
+    tail = node;
+  }
+
+  private void remove(Node<K, V> node) {
+    Node<K, V> prev = node.prev;
+    Node<K, V> next = node.next;
+    if (prev == null) {
+      head = next;
+    } else {
+      prev.next = next;
+    }
+    if (next == null) {
+      tail = prev;
+    } else {
+      next.prev = prev;
+    }
+    node.linked = false;
+    node.prev = null;
+    node.next = null;
+  }
+
+  private void evict() {
+    while (map.size() > maxSize) {
+      Node<K, V> eldest;
+      lock.lock();
+      try {
+        eldest = head;
+        if (eldest == null) {
+          return;
+        }
+        remove(eldest);
+      } finally {
+        lock.unlock();
+      }
+      if (map.remove(eldest.key, eldest)) {
+        evictions.increment();
+        dequeue(eldest);
+      }
+    }
+  }
+
+  /**
+   * The entries with the same time to live, linked in deadline order.
+   */
+  private static final class Lane<K, V> {
+
+    private final long nanos;
+    private Node<K, V> head;
+    private Node<K, V> tail;
+
+    private Lane(long nanos) {
+      this.nanos = nanos;
+    }
+
+    private void insert(Node<K, V> node) {
+      // Entries are mostly inserted in deadline order, the search stops at the tail
+      Node<K, V> prev = tail;
+      while (prev != null && prev.laneDeadline - node.laneDeadline > 0) {
+        prev = prev.prevDeadline;
+      }
+      Node<K, V> next = prev == null ? head : prev.nextDeadline;
+      node.lane = this;
+      node.prevDeadline = prev;
+      node.nextDeadline = next;
+      if (prev == null) {
+        head = node;
+      } else {
+        prev.nextDeadline = node;
+      }
+      if (next == null) {
+        tail = node;
+      } else {
+        next.prevDeadline = node;
+      }
+    }
+
+    private void remove(Node<K, V> node) {
+      Node<K, V> prev = node.prevDeadline;
+      Node<K, V> next = node.nextDeadline;
+      if (prev == null) {
+        head = next;
+      } else {
+        prev.nextDeadline = next;
+      }
+      if (next == null) {
+        tail = prev;
+      } else {
+        next.prevDeadline = prev;
+      }
+      node.lane = null;
+      node.prevDeadline = null;
+      node.nextDeadline = null;
+    }
+  }
+
+  private void enqueue(Node<K, V> node, long nanos, long deadline) {
+    synchronized (lanes) {
+      // The entry might have been removed meanwhile, then it must not be linked anymore
+      if (node.lane != null || map.get(node.key) != node) {
+        return;
+      }
+      Lane<K, V> lane = null;
+      for (int i = 0;i < lanes.size();i++) {
+        if (lanes.get(i).nanos == nanos) {
+          lane = lanes.get(i);
+          break;
+        }
+      }
+      if (lane == null) {
+        lane = new Lane<>(nanos);
+        lanes.add(lane);
+      }
+      node.laneDeadline = deadline;
+      lane.insert(node);
+    }
+  }
+
+  private void dequeue(Node<K, V> node) {
+    if (node.deadline() == 0L) {
+      // Never linked
+      return;
+    }
+    synchronized (lanes) {
+      Lane<K, V> lane = node.lane;
+      if (lane != null) {
+        lane.remove(node);
+        if (lane.head == null) {
+          lanes.remove(lane);
+        }
+      }
+    }
+  }
+
+  private void schedule(long deadline) {
+    expiring = true;
+    long at = sweepAt;
+    if (at != 0L && at - deadline <= SWEEP_RESOLUTION_NANOS) {
+      // The scheduled sweep is soon enough
+      return;
+    }
+    synchronized (this) {
+      at = sweepAt;
+      if (closed || (at != 0L && at - deadline <= SWEEP_RESOLUTION_NANOS)) {
+        return;
+      }
+      if (sweep != null) {
+        sweep.cancel(false);
+      }
+      long now = System.nanoTime();
+      long delay = Math.max(deadline - now, SWEEP_RESOLUTION_NANOS);
+      sweepAt = deadline(now, delay);
+      // Scheduled on the event loop rather than a context timer which is cancelled when the deployment is undeployed
+      sweep = vertx.nettyEventLoopGroup().next().schedule(this::sweep, delay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void sweep() {
+    synchronized (this) {
+      sweepAt = 0L;
+      sweep = null;
+    }
+    List<Node<K, V>> expired = new ArrayList<>();
+    boolean reschedule = false;
+    long next = 0L;
+    synchronized (lanes) {
+      long now = System.nanoTime();
+      for (int i = 0;i < lanes.size();i++) {
+        Lane<K, V> lane = lanes.get(i);
+        Node<K, V> node;
+        while ((node = lane.head) != null && node.laneDeadline - now <= 0) {
+          lane.remove(node);
+          if (node.isExpired(now)) {
+            expired.add(node);
+          } else {
+            // Accessed since it was linked, link it again at its current deadline
+            node.laneDeadline = node.deadline();
+            lane.insert(node);
+          }
+        }
+        if (node == null) {
+          lanes.remove(i--);
+        } else if (!reschedule || node.laneDeadline - next < 0) {
+          reschedule = true;
+          next = node.laneDeadline;
+        }
+      }
+    }
+    for (Node<K, V> node : expired) {
+      expire(node);
+    }
+    if (reschedule) {
+      schedule(next);
+    }
+  }
+
+  /**
+   * Stop the sweeper, the map can still be used.
+   */
+  synchronized void close() {
+    closed = true;
+    if (sweep != null) {
+      sweep.cancel(false);
+      sweep = null;
+    }
+  }
+
+  LocalMapStatistics statistics() {
+    return new LocalMapStatistics(name, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+  }
+
+  private static final class Node<K, V> {
+
+    private final K key;
+    private final V value;
+    private final long writeDeadline;
+    private volatile long accessDeadline;
+
+    // Guarded by the map lock
+    private boolean linked;
+    private Node<K, V> prev;
+    private Node<K, V> next;
+
+    // Guarded by the lanes
+    private Lane<K, V> lane;
+    private long laneDeadline;
+    private Node<K, V> prevDeadline;
+    private Node<K, V> nextDeadline;
+
+    private Node(K key, V value, long writeDeadline, long accessDeadline) {
+      this.key = key;
+      this.value = value;
+      this.writeDeadline = writeDeadline;
+      this.accessDeadline = accessDeadline;
+    }
+
+    private boolean isExpired(long now) {
+      long deadline = writeDeadline;
+      if (deadline != 0L && now - deadline >= 0) {
+        return true;
+      }
+      deadline = accessDeadline;
+      return deadline != 0L && now - deadline >= 0;
+    }
+
+    /**
+     * @return the earliest deadline or {@code 0}
+     */
+    private long deadline() {
+      long write = writeDeadline;
+      long access = accessDeadline;
+      if (write == 0L) {
+        return access;
+      } else if (access == 0L) {
+        return write;
+      } else {
+        return write - access < 0 ? write : access;
+      }
+    }
+  }
+}
@@ -30,11 +30,28 @@ class LocalMapImpl<K, V> implements LocalMap<K, V> {
 
   private final ConcurrentMap<String, LocalMap<?, ?>> maps;
   private final String name;
-  private final ConcurrentMap<K, V> map = new ConcurrentHashMap<>();
+  private final ConcurrentMap<K, V> map;
 
   LocalMapImpl(String name, ConcurrentMap<String, LocalMap<?, ?>> maps) {
+    this(name, maps, new ConcurrentHashMap<>());
+  }
+
+  LocalMapImpl(String name, ConcurrentMap<String, LocalMap<?, ?>> maps, ConcurrentMap<K, V> map) {
     this.name = name;
     this.maps = maps;
+    this.map = map;
+  }
+
+  /**
+   * @return the statistics of the map, {@code null} when the map is not a cache
+   */
+  LocalMapStatistics statistics() {
+    if (map instanceof LocalCache) {
+      return ((LocalCache<K, V>) map).statistics();
+    } else if (map instanceof OffHeapMap) {
+      return ((OffHeapMap<K, V>) map).statistics();
+    }
+    return null;
   }
 
   @Override
@@ -122,6 +139,12 @@ class LocalMapImpl<K, V> implements LocalMap<K, V> {
   @Override
   public void close() {
     maps.remove(name);
+    if (map instanceof LocalCache) {
+      ((LocalCache<K, V>) map).close();
+    } else if (map instanceof OffHeapMap) {
+      // Drop the slabs
+      map.clear();
+    }
   }
 
   @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+/**
+ * A snapshot of the counters of a local map used as a cache, they are cumulative since the map was created, the memory
+ * figures are the current values.
+ */
+public final class LocalMapStatistics {
+
+  private final String name;
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long expirations;
+  private final long memoryUsed;
+  private final long memoryCapacity;
+
+  LocalMapStatistics(String name, long hits, long misses, long evictions, long expirations) {
+    this(name, hits, misses, evictions, expirations, 0L, 0L);
+  }
+
+  LocalMapStatistics(String name, long hits, long misses, long evictions, long expirations, long memoryUsed,
+                     long memoryCapacity) {
+    this.name = name;
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.expirations = expirations;
+    this.memoryUsed = memoryUsed;
+    this.memoryCapacity = memoryCapacity;
+  }
+
+  /**
+   * @return the name of the map
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return the number of lookups that found a live entry
+   */
+  public long hits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups that found no entry or an expired entry
+   */
+  public long misses() {
+    return misses;
+  }
+
+  /**
+   * @return the ratio of the lookups that found a live entry, {@code 0} when the map was never read
+   */
+  public double hitRatio() {
+    long lookups = hits + misses;
+    return lookups == 0L ? 0D : (double) hits / lookups;
+  }
+
+  /**
+   * @return the number of entries evicted because the map was full
+   */
+  public long evictions() {
+    return evictions;
+  }
+
+  /**
+   * @return the number of expired entries removed from the map
+   */
+  public long expirations() {
+    return expirations;
+  }
+
+  /**
+   * @return the number of bytes of off-heap memory allocated by the map, {@code 0} for a heap map
+   */
+  public long memoryUsed() {
+    return memoryUsed;
+  }
+
+  /**
+   * @return the maximum number of bytes of off-heap memory the map can allocate, {@code 0} for a heap map
+   */
+  public long memoryCapacity() {
+    return memoryCapacity;
+  }
+
+  @Override
+  public String toString() {
+    return "LocalMapStatistics{" +
+      "name=" + name +
+      ", hits=" + hits +
+      ", misses=" + misses +
+      ", evictions=" + evictions +
+      ", expirations=" + expirations +
+      ", memoryUsed=" + memoryUsed +
+      ", memoryCapacity=" + memoryCapacity +
+      '}';
+  }
+}
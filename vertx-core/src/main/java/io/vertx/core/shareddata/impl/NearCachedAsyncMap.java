@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.LocalMapOptions;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cluster wide map keeping the values it reads in a {@link LocalCache}, the cache is bounded and its entries expire
+ * as configured by the {@link LocalMapOptions}.
+ * <p>
+ * The TTL of the cluster entries is not known when they are read, so the cache entries must expire after write: a
+ * value is never served longer than this after it was read from the cluster.
+ * <p>
+ * A node mutating a key removes it from its cache and publishes the key on the invalidation address of the map, the
+ * other nodes remove it from their caches when they receive it. A read racing with an invalidation does not cache
+ * the value it read: every invalidation bumps a generation that a read checks after caching its value.
+ * <p>
+ * Only the keys carried as is by the event bus are cached, the reads of the other keys always go to the cluster.
+ * <p>
+ * A map created without cache options does not cache its reads, it only publishes the invalidations of its mutations:
+ * the cluster wide maps obtained without a near cache use it so their mutations invalidate the near caches of the
+ * other nodes.
+ */
+final class NearCachedAsyncMap<K, V> implements AsyncMap<K, V> {
+
+  private static final String ADDRESS_PREFIX = "__vertx.shareddata.nearCache.";
+  private static final String ACTION_HEADER = "action";
+  private static final String CLEAR_ACTION = "clear";
+
+  private final VertxInternal vertx;
+  private final String address;
+  private final AsyncMap<K, V> delegate;
+  private final LocalCache<K, V> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param options the cache options, or {@code null} to only publish the invalidations
+   */
+  NearCachedAsyncMap(VertxInternal vertx, String name, AsyncMap<K, V> delegate, LocalMapOptions options) {
+    this.vertx = vertx;
+    this.address = ADDRESS_PREFIX + name;
+    this.delegate = delegate;
+    this.cache = options != null ? new LocalCache<>(vertx, name, options) : null;
+  }
+
+  /**
+   * Register the consumer of the invalidations on its own context, it must not be unregistered when the deployment
+   * that got the map is undeployed.
+   */
+  Future<Void> init() {
+    ContextInternal context = vertx.createEventLoopContext();
+    Promise<Void> promise = vertx.promise();
+    context.runOnContext(v -> {
+      MessageConsumer<Object> consumer = vertx.eventBus().consumer(address, this::handleInvalidation);
+      consumer.completion().onComplete(promise);
+    });
+    return promise.future();
+  }
+
+  LocalMapStatistics statistics() {
+    return cache.statistics();
+  }
+
+  private static boolean isCacheable(Object key) {
+    return key instanceof String || key instanceof Integer || key instanceof Long || key instanceof Short
+      || key instanceof Byte || key instanceof Character || key instanceof Boolean || key instanceof Double
+      || key instanceof Float || key instanceof Buffer || key instanceof JsonObject || key instanceof JsonArray;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void handleInvalidation(Message<Object> msg) {
+    if (CLEAR_ACTION.equals(msg.headers().get(ACTION_HEADER))) {
+      invalidateAll();
+    } else {
+      invalidate((K) msg.body());
+    }
+  }
+
+  private void invalidate(K key) {
+    if (cache != null) {
+      generation.incrementAndGet();
+      cache.remove(key);
+    }
+  }
+
+  private void invalidateAll() {
+    if (cache != null) {
+      generation.incrementAndGet();
+      cache.clear();
+    }
+  }
+
+  /**
+   * Invalidate the {@code key} on every node once the mutation of the cluster map completed.
+   */
+  private <T> Future<T> mutated(K key, Future<T> mutation) {
+    if (!isCacheable(key)) {
+      return mutation;
+    }
+    return mutation.andThen(ar -> {
+      invalidate(key);
+      vertx.eventBus().publish(address, key);
+    });
+  }
+
+  private <T> Future<T> mutated(Set<K> keys, Future<T> mutation) {
+    return mutation.andThen(ar -> {
+      for (K key : keys) {
+        if (isCacheable(key)) {
+          invalidate(key);
+          vertx.eventBus().publish(address, key);
+        }
+      }
+    });
+  }
+
+  @Override
+  public Future<V> get(K k) {
+    if (cache == null || !isCacheable(k)) {
+      return delegate.get(k);
+    }
+    V cached = cache.get(k);
+    if (cached != null) {
+      return vertx.getOrCreateContext().succeededFuture(Checker.copyIfRequired(cached));
+    }
+    long gen = generation.get();
+    return delegate.get(k).andThen(ar -> {
+      V value = ar.result();
+      if (value != null) {
+        cache.put(k, Checker.copyIfRequired(value));
+        if (generation.get() != gen) {
+          // Invalidated meanwhile
+          cache.remove(k);
+        }
+      }
+    });
+  }
+
+  @Override
+  public Future<Map<K, V>> getAll(Set<K> keys) {
+    if (cache == null) {
+      return delegate.getAll(keys);
+    }
+    Map<K, V> hits = new HashMap<>();
+    for (K key : keys) {
+      V cached = isCacheable(key) ? cache.get(key) : null;
+      if (cached != null) {
+        hits.put(key, Checker.copyIfRequired(cached));
+      }
+    }
+    if (hits.size() == keys.size()) {
+      return vertx.getOrCreateContext().succeededFuture(hits);
+    }
+    Set<K> missing = new HashSet<>(keys);
+    missing.removeAll(hits.keySet());
+    long gen = generation.get();
+    return delegate.getAll(missing).map(entries -> {
+      entries.forEach((key, value) -> {
+        if (isCacheable(key)) {
+          cache.put(key, Checker.copyIfRequired(value));
+        }
+      });
+      if (generation.get() != gen) {
+        entries.keySet().forEach(cache::remove);
+      }
+      hits.putAll(entries);
+      return hits;
+    });
+  }
+
+  @Override
+  public Future<Void> put(K k, V v) {
+    return mutated(k, delegate.put(k, v));
+  }
+
+  @Override
+  public Future<Void> put(K k, V v, long ttl) {
+    return mutated(k, delegate.put(k, v, ttl));
+  }
+
+  @Override
+  public Future<V> putIfAbsent(K k, V v) {
+    return mutated(k, delegate.putIfAbsent(k, v));
+  }
+
+  @Override
+  public Future<V> putIfAbsent(K k, V v, long ttl) {
+    return mutated(k, delegate.putIfAbsent(k, v, ttl));
+  }
+
+  @Override
+  public Future<V> remove(K k) {
+    return mutated(k, delegate.remove(k));
+  }
+
+  @Override
+  public Future<Boolean> removeIfPresent(K k, V v) {
+    return mutated(k, delegate.removeIfPresent(k, v));
+  }
+
+  @Override
+  public Future<V> replace(K k, V v) {
+    return mutated(k, delegate.replace(k, v));
+  }
+
+  @Override
+  public Future<V> replace(K k, V v, long ttl) {
+    return mutated(k, delegate.replace(k, v, ttl));
+  }
+
+  @Override
+  public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue) {
+    return mutated(k, delegate.replaceIfPresent(k, oldValue, newValue));
+  }
+
+  @Override
+  public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue, long ttl) {
+    return mutated(k, delegate.replaceIfPresent(k, oldValue, newValue, ttl));
+  }
+
+  @Override
+  public Future<Void> putAll(Map<K, V> entries) {
+    return mutated(entries.keySet(), delegate.putAll(entries));
+  }
+
+  @Override
+  public Future<Void> putAll(Map<K, V> entries, long ttl) {
+    return mutated(entries.keySet(), delegate.putAll(entries, ttl));
+  }
+
+  @Override
+  public Future<Void> removeAll(Set<K> keys) {
+    return mutated(keys, delegate.removeAll(keys));
+  }
+
+  @Override
+  public Future<Void> clear() {
+    return delegate.clear().andThen(ar -> {
+      invalidateAll();
+      vertx.eventBus().publish(address, null, new DeliveryOptions().addHeader(ACTION_HEADER, CLEAR_ACTION));
+    });
+  }
+
+  @Override
+  public Future<Integer> size() {
+    return delegate.size();
+  }
+
+  @Override
+  public Future<Set<K>> keys() {
+    return delegate.keys();
+  }
+
+  @Override
+  public Future<List<V>> values() {
+    return delegate.values();
+  }
+
+  @Override
+  public Future<Map<K, V>> entries() {
+    return delegate.entries();
+  }
+
+  @Override
+  public ReadStream<Map.Entry<K, V>> entryStream(int batchSize) {
+    return delegate.entryStream(batchSize);
+  }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent map storing {@link Buffer} and {@code byte[]} values in direct memory, the keys stay on the heap.
+ * <p>
+ * The values are appended to slabs of direct memory, a slab is never written again once full. When allocating a slab
+ * would exceed the capacity, the oldest slabs are dropped with the entries they hold. A replaced or removed value
+ * keeps its room until its slab is dropped.
+ * <p>
+ * A {@link Buffer} value is returned as a read-only slice of its slab without copying, a dropped slab is only reclaimed
+ * by the garbage collector once the slices returned from it are unreachable. A {@code byte[]} value is copied on
+ * the heap.
+ * <p>
+ * The slab size is a sixteenth of the capacity, within bounds, the {@link LocalMapStatistics#memoryUsed() memory used}
+ * is the size of the slabs that are not dropped.
+ */
+final class OffHeapMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+  /**
+   * The capacity is split in this number of slabs, so dropping the oldest slab only evicts a fraction of the entries.
+   */
+  private static final int SLABS = 16;
+  private static final int MIN_SLAB_SIZE = 64 * 1024;
+  private static final int MAX_SLAB_SIZE = 4 * 1024 * 1024;
+
+  private final String name;
+  private final long capacity;
+  private final int slabSize;
+  private final ConcurrentMap<K, Slot<K>> map = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  // Guarded by this
+  private final ArrayDeque<Slab<K>> slabs = new ArrayDeque<>();
+  private Slab<K> current;
+  private volatile long allocated;
+
+  private Set<Entry<K, V>> entrySet;
+
+  OffHeapMap(String name, long capacity) {
+    this.name = name;
+    this.capacity = capacity;
+    this.slabSize = (int) Math.min(capacity, Math.min(Math.max(capacity / SLABS, MIN_SLAB_SIZE), MAX_SLAB_SIZE));
+  }
+
+  /**
+   * Copy the {@code value} to a slab.
+   */
+  private Slot<K> store(K key, Object value) {
+    ByteBuf src;
+    boolean bytes;
+    if (value instanceof byte[]) {
+      src = Unpooled.wrappedBuffer((byte[]) value);
+      bytes = true;
+    } else if (value instanceof Buffer) {
+      src = ((BufferInternal) value).getByteBuf();
+      bytes = false;
+    } else {
+      throw new IllegalArgumentException("Invalid type for off-heap map value: " + value.getClass().getName());
+    }
+    int length = src.readableBytes();
+    if (length > capacity) {
+      throw new IllegalArgumentException("Value of " + length + " bytes exceeds the off-heap map capacity: " + capacity);
+    }
+    List<Slab<K>> dropped = null;
+    Slot<K> slot;
+    synchronized (this) {
+      Slab<K> slab = current;
+      if (slab == null || slab.size - slab.position < length) {
+        int size = Math.max(slabSize, length);
+        Slab<K> eldest;
+        while (allocated + size > capacity && (eldest = slabs.poll()) != null) {
+          eldest.dropped = true;
+          allocated -= eldest.size;
+          if (dropped == null) {
+            dropped = new ArrayList<>();
+          }
+          dropped.add(eldest);
+        }
+        slab = new Slab<>(size);
+        slabs.add(slab);
+        current = slab;
+        allocated += size;
+      }
+      slot = new Slot<>(key, slab, slab.position, length, bytes);
+      slab.buffer.setBytes(slab.position, src, src.readerIndex(), length);
+      slab.position += length;
+      slab.slots.add(slot);
+    }
+    if (dropped != null) {
+      for (Slab<K> slab : dropped) {
+        evict(slab);
+      }
+    }
+    return slot;
+  }
+
+  private void evict(Slab<K> slab) {
+    // No slot is added to a dropped slab
+    for (Slot<K> slot : slab.slots) {
+      if (map.remove(slot.key, slot)) {
+        evictions.increment();
+      }
+    }
+  }
+
+  /**
+   * Called after the {@code slot} was mapped.
+   */
+  private void added(Slot<K> slot) {
+    // The slab might have been dropped before the slot was mapped
+    if (slot.slab.dropped && map.remove(slot.key, slot)) {
+      evictions.increment();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V value(Slot<K> slot) {
+    if (slot == null) {
+      return null;
+    }
+    ByteBuf slice = slot.slice();
+    return (V) (slot.bytes ? ByteBufUtil.getBytes(slice) : BufferInternal.buffer(slice.asReadOnly()));
+  }
+
+  private static boolean matches(Slot<?> slot, Object value) {
+    if (value instanceof byte[]) {
+      return slot.bytes && ByteBufUtil.equals(slot.slice(), Unpooled.wrappedBuffer((byte[]) value));
+    } else if (value instanceof Buffer) {
+      return !slot.bytes && ByteBufUtil.equals(slot.slice(), ((BufferInternal) value).getByteBuf());
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    Slot<K> slot = map.get(key);
+    if (slot != null) {
+      hits.increment();
+      return value(slot);
+    }
+    misses.increment();
+    return null;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    Slot<K> slot = store(key, value);
+    Slot<K> prev = map.put(key, slot);
+    added(slot);
+    return value(prev);
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Slot<K> existing = map.get(key);
+    if (existing == null) {
+      Slot<K> slot = store(key, value);
+      existing = map.putIfAbsent(key, slot);
+      if (existing == null) {
+        added(slot);
+      }
+    }
+    return value(existing);
+  }
+
+  @Override
+  public V remove(Object key) {
+    return value(map.remove(key));
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    Slot<K> slot = map.get(key);
+    return slot != null && matches(slot, value) && map.remove(key, slot);
+  }
+
+  @Override
+  public V replace(K key, V value) {
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    Slot<K> slot = store(key, value);
+    Slot<K> prev = map.replace(key, slot);
+    if (prev != null) {
+      added(slot);
+    }
+    return value(prev);
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue) {
+    Slot<K> prev = map.get(key);
+    if (prev == null || !matches(prev, oldValue)) {
+      return false;
+    }
+    Slot<K> slot = store(key, newValue);
+    if (map.replace(key, prev, slot)) {
+      added(slot);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public void clear() {
+    synchronized (this) {
+      for (Slab<K> slab : slabs) {
+        slab.dropped = true;
+      }
+      slabs.clear();
+      current = null;
+      allocated = 0L;
+    }
+    map.clear();
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          Iterator<Map.Entry<K, Slot<K>>> it = map.entrySet().iterator();
+          return new Iterator<>() {
+            private Map.Entry<K, Slot<K>> last;
+            @Override
+            public boolean hasNext() {
+              return it.hasNext();
+            }
+            @Override
+            public Entry<K, V> next() {
+              last = it.next();
+              return new SimpleImmutableEntry<>(last.getKey(), value(last.getValue()));
+            }
+            @Override
+            public void remove() {
+              if (last == null) {
+                throw new IllegalStateException();
+              }
+              map.remove(last.getKey(), last.getValue());
+              last = null;
+            }
+          };
+        }
+        @Override
+        public int size() {
+          return map.size();
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  LocalMapStatistics statistics() {
+    return new LocalMapStatistics(name, hits.sum(), misses.sum(), evictions.sum(), 0L, allocated, capacity);
+  }
+
+  private static final class Slab<K> {
+
+    private final int size;
+    private final ByteBuf buffer;
+    // Guarded by the map
+    private int position;
+    private final List<Slot<K>> slots = new ArrayList<>();
+    private volatile boolean dropped;
+
+    private Slab(int size) {
+      this.size = size;
+      // Not pooled, the memory is reclaimed by the garbage collector when the slab and its slices are unreachable
+      this.buffer = Unpooled.wrappedBuffer(ByteBuffer.allocateDirect(size));
+    }
+  }
+
+  private static final class Slot<K> {
+
+    private final K key;
+    private final Slab<K> slab;
+    private final int offset;
+    private final int length;
+    private final boolean bytes;
+
+    private Slot(K key, Slab<K> slab, int offset, int length, boolean bytes) {
+      this.key = key;
+      this.slab = slab;
+      this.offset = offset;
+      this.length = length;
+      this.bytes = bytes;
+    }
+
+    private ByteBuf slice() {
+      return slab.buffer.slice(offset, length);
+    }
+  }
+}
@@ -18,6 +18,7 @@ import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.shareddata.*;
 import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.core.streams.ReadStream;
 
 import java.io.Serializable;
 import java.util.List;
@@ -38,8 +39,12 @@ public class SharedDataImpl implements SharedData {
   private final ClusterManager clusterManager;
   private final LocalAsyncLocks localAsyncLocks;
   private final ConcurrentMap<String, LocalAsyncMapImpl<?, ?>> localAsyncMaps = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Future<NearCachedAsyncMap<?, ?>>> nearCachedMaps = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, Counter> localCounters = new ConcurrentHashMap<>();
+  // The counters are created under the lock of this map, so a name is either striped or not
+  private final ConcurrentMap<String, LocalCounter> stripedCounters = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, LocalMap<?, ?>> localMaps = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LocalMap<?, ?>> offHeapLocalMaps = new ConcurrentHashMap<>();
 
   public SharedDataImpl(VertxInternal vertx, ClusterManager clusterManager) {
     this.vertx = vertx;
@@ -53,9 +58,55 @@ public class SharedDataImpl implements SharedData {
     if (clusterManager == null) {
       throw new IllegalStateException("Can't get cluster wide map if not clustered");
     }
+    return clusterWideMap(name);
+  }
+
+  /**
+   * The mutations of the map are published to the near caches of the map on every node.
+   */
+  private <K, V> Future<AsyncMap<K, V>> clusterWideMap(String name) {
     Promise<AsyncMap<K, V>> promise = vertx.promise();
     clusterManager.getAsyncMap(name, promise);
-    return promise.future().map(WrappedAsyncMap::new);
+    return promise.future().map(map -> new WrappedAsyncMap<>(new NearCachedAsyncMap<>(vertx, name, map, null)));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> Future<AsyncMap<K, V>> getClusterWideMap(String name, LocalMapOptions nearCache) {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(nearCache, "nearCache");
+    // The near cache does not know the TTL of the cluster entries, it must expire its entries
+    Arguments.require(nearCache.getExpireAfterWrite() > 0, "The near cache options must set expireAfterWrite");
+    if (clusterManager == null) {
+      throw new IllegalStateException("Can't get cluster wide map if not clustered");
+    }
+    Future<NearCachedAsyncMap<?, ?>> fut = nearCachedMaps.computeIfAbsent(name, n -> {
+      Promise<AsyncMap<K, V>> promise = vertx.promise();
+      clusterManager.getAsyncMap(n, promise);
+      Future<NearCachedAsyncMap<?, ?>> f = promise.future()
+        .compose(map -> {
+          NearCachedAsyncMap<K, V> nearCachedMap = new NearCachedAsyncMap<>(vertx, n, map, new LocalMapOptions(nearCache));
+          return nearCachedMap.init().map(v -> nearCachedMap);
+        });
+      f.onFailure(err -> nearCachedMaps.remove(n, f));
+      return f;
+    });
+    ContextInternal context = vertx.getOrCreateContext();
+    return context.future(p -> fut.onComplete((map, err) -> {
+      if (err == null) {
+        p.complete(new WrappedAsyncMap<>((AsyncMap<K, V>) map));
+      } else {
+        p.fail(err);
+      }
+    }));
+  }
+
+  /**
+   * @return the statistics of the near cache of the cluster wide map with the {@code name}, or {@code null}
+   */
+  public LocalMapStatistics nearCacheStatistics(String name) {
+    Future<NearCachedAsyncMap<?, ?>> fut = nearCachedMaps.get(name);
+    return fut != null && fut.succeeded() ? fut.result().statistics() : null;
   }
 
   @Override
@@ -64,9 +115,7 @@ public class SharedDataImpl implements SharedData {
     if (clusterManager == null) {
       return getLocalAsyncMap(name);
     } else {
-      Promise<AsyncMap<K, V>> promise = vertx.promise();
-      clusterManager.getAsyncMap(name, promise);
-      return promise.future().map(WrappedAsyncMap::new);
+      return clusterWideMap(name);
     }
   }
 
@@ -100,6 +149,43 @@ public class SharedDataImpl implements SharedData {
     return localAsyncLocks.acquire(vertx.getOrCreateContext(), name, timeout);
   }
 
+  @Override
+  public Future<Lock> getLocalReadLock(String name) {
+    return getLocalReadLockWithTimeout(name, DEFAULT_LOCK_TIMEOUT);
+  }
+
+  @Override
+  public Future<Lock> getLocalReadLockWithTimeout(String name, long timeout) {
+    Objects.requireNonNull(name, "name");
+    Arguments.require(timeout >= 0, "timeout must be >= 0");
+    return localAsyncLocks.acquireRead(vertx.getOrCreateContext(), name, timeout);
+  }
+
+  @Override
+  public Future<Lock> getLocalWriteLock(String name) {
+    return getLocalWriteLockWithTimeout(name, DEFAULT_LOCK_TIMEOUT);
+  }
+
+  @Override
+  public Future<Lock> getLocalWriteLockWithTimeout(String name, long timeout) {
+    Objects.requireNonNull(name, "name");
+    Arguments.require(timeout >= 0, "timeout must be >= 0");
+    return localAsyncLocks.acquireWrite(vertx.getOrCreateContext(), name, timeout);
+  }
+
+  @Override
+  public Future<Lock> getLocalSemaphore(String name, int permits) {
+    return getLocalSemaphoreWithTimeout(name, permits, DEFAULT_LOCK_TIMEOUT);
+  }
+
+  @Override
+  public Future<Lock> getLocalSemaphoreWithTimeout(String name, int permits, long timeout) {
+    Objects.requireNonNull(name, "name");
+    Arguments.require(permits > 0, "permits must be > 0");
+    Arguments.require(timeout >= 0, "timeout must be >= 0");
+    return localAsyncLocks.acquirePermit(vertx.getOrCreateContext(), name, permits, timeout);
+  }
+
   @Override
   public Future<Counter> getCounter(String name) {
     Objects.requireNonNull(name, "name");
@@ -122,21 +208,96 @@ public class SharedDataImpl implements SharedData {
     return (LocalMap<K, V>) localMaps.computeIfAbsent(name, n -> new LocalMapImpl<>(n, localMaps));
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> LocalMap<K, V> getLocalMap(String name, LocalMapOptions options) {
+    Objects.requireNonNull(options, "options");
+    return (LocalMap<K, V>) localMaps.computeIfAbsent(name, n -> {
+      if (LocalCache.isCache(options)) {
+        return new LocalMapImpl<>(n, localMaps, new LocalCache<>(vertx, n, options));
+      } else {
+        return new LocalMapImpl<>(n, localMaps);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> LocalMap<K, V> getOffHeapLocalMap(String name, long capacity) {
+    Objects.requireNonNull(name, "name");
+    Arguments.require(capacity > 0, "capacity must be > 0");
+    return (LocalMap<K, V>) offHeapLocalMaps.computeIfAbsent(name, n -> new LocalMapImpl<>(n, offHeapLocalMaps, new OffHeapMap<>(n, capacity)));
+  }
+
+  /**
+   * @return the statistics of the off-heap local map with the {@code name}, or {@code null}
+   */
+  public LocalMapStatistics offHeapLocalMapStatistics(String name) {
+    LocalMap<?, ?> map = offHeapLocalMaps.get(name);
+    return map != null ? ((LocalMapImpl<?, ?>) map).statistics() : null;
+  }
+
+  /**
+   * @return the statistics of the local map with the {@code name} used as a cache, or {@code null}
+   */
+  public LocalMapStatistics localMapStatistics(String name) {
+    LocalMap<?, ?> map = localMaps.get(name);
+    return map instanceof LocalMapImpl ? ((LocalMapImpl<?, ?>) map).statistics() : null;
+  }
+
+  /**
+   * @return the statistics of the local async map with the {@code name}, or {@code null}
+   */
+  public LocalMapStatistics localAsyncMapStatistics(String name) {
+    LocalAsyncMapImpl<?, ?> map = localAsyncMaps.get(name);
+    return map != null ? map.statistics() : null;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name) {
-    LocalAsyncMapImpl<K, V> asyncMap = (LocalAsyncMapImpl<K, V>) localAsyncMaps.computeIfAbsent(name, n -> new LocalAsyncMapImpl<>(vertx));
+    return getLocalAsyncMap(name, new LocalMapOptions());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <K, V> Future<AsyncMap<K, V>> getLocalAsyncMap(String name, LocalMapOptions options) {
+    Objects.requireNonNull(options, "options");
+    LocalAsyncMapImpl<K, V> asyncMap = (LocalAsyncMapImpl<K, V>) localAsyncMaps.computeIfAbsent(name, n -> new LocalAsyncMapImpl<>(vertx, n, options));
     ContextInternal context = vertx.getOrCreateContext();
     return context.succeededFuture(new WrappedAsyncMap<>(asyncMap));
   }
 
   @Override
   public Future<Counter> getLocalCounter(String name) {
-    Counter counter = localCounters.computeIfAbsent(name, n -> new AsynchronousCounter(vertx));
     ContextInternal context = vertx.getOrCreateContext();
+    Counter counter = localCounters.get(name);
+    if (counter == null) {
+      synchronized (stripedCounters) {
+        if (stripedCounters.containsKey(name)) {
+          return context.failedFuture(new IllegalStateException("Local counter " + name + " is striped"));
+        }
+        counter = localCounters.computeIfAbsent(name, n -> new AsynchronousCounter(vertx));
+      }
+    }
     return context.succeededFuture(counter);
   }
 
+  @Override
+  public LocalCounter getStripedLocalCounter(String name) {
+    Objects.requireNonNull(name, "name");
+    LocalCounter counter = stripedCounters.get(name);
+    if (counter == null) {
+      synchronized (stripedCounters) {
+        if (localCounters.containsKey(name)) {
+          throw new IllegalStateException("Local counter " + name + " is not striped");
+        }
+        counter = stripedCounters.computeIfAbsent(name, n -> new StripedCounter(vertx));
+      }
+    }
+    return counter;
+  }
+
   private static void checkType(Object obj) {
     if (obj == null) {
       throw new IllegalArgumentException("Cannot put null in key or value of async map");
@@ -147,6 +308,13 @@ public class SharedDataImpl implements SharedData {
     }
   }
 
+  private static void checkTypes(Map<?, ?> entries) {
+    entries.forEach((k, v) -> {
+      checkType(k);
+      checkType(v);
+    });
+  }
+
   public static final class WrappedAsyncMap<K, V> implements AsyncMap<K, V> {
 
     private final AsyncMap<K, V> delegate;
@@ -232,6 +400,30 @@ public class SharedDataImpl implements SharedData {
       return delegate.replaceIfPresent(k, oldValue, newValue, ttl);
     }
 
+    @Override
+    public Future<Map<K, V>> getAll(Set<K> keys) {
+      keys.forEach(SharedDataImpl::checkType);
+      return delegate.getAll(keys);
+    }
+
+    @Override
+    public Future<Void> putAll(Map<K, V> entries) {
+      checkTypes(entries);
+      return delegate.putAll(entries);
+    }
+
+    @Override
+    public Future<Void> putAll(Map<K, V> entries, long ttl) {
+      checkTypes(entries);
+      return delegate.putAll(entries, ttl);
+    }
+
+    @Override
+    public Future<Void> removeAll(Set<K> keys) {
+      keys.forEach(SharedDataImpl::checkType);
+      return delegate.removeAll(keys);
+    }
+
     @Override
     public Future<Void> clear() {
       return delegate.clear();
@@ -257,6 +449,12 @@ public class SharedDataImpl implements SharedData {
       return delegate.entries();
     }
 
+    @Override
+    public ReadStream<Map.Entry<K, V>> entryStream(int batchSize) {
+      Arguments.require(batchSize > 0, "batchSize must be > 0");
+      return delegate.entryStream(batchSize);
+    }
+
     public AsyncMap<K, V> getDelegate() {
       return delegate;
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.core.shareddata.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.shareddata.LocalCounter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link LocalCounter} backed by a {@link LongAdder}: the adder grows a cell per contending thread, so the event loops
+ * updating the counter end up with a cell each.
+ */
+final class StripedCounter implements LocalCounter {
+
+  private final VertxInternal vertx;
+  private final LongAdder adder = new LongAdder();
+
+  StripedCounter(VertxInternal vertx) {
+    this.vertx = vertx;
+  }
+
+  @Override
+  public void addLocal(long value) {
+    adder.add(value);
+  }
+
+  @Override
+  public long addAndGetLocal(long value) {
+    adder.add(value);
+    return adder.sum();
+  }
+
+  @Override
+  public long getLocal() {
+    return adder.sum();
+  }
+
+  @Override
+  public Future<Long> get() {
+    return vertx.getOrCreateContext().succeededFuture(adder.sum());
+  }
+
+  @Override
+  public Future<Long> incrementAndGet() {
+    return addAndGet(1L);
+  }
+
+  @Override
+  public Future<Long> getAndIncrement() {
+    return getAndAdd(1L);
+  }
+
+  @Override
+  public Future<Long> decrementAndGet() {
+    return addAndGet(-1L);
+  }
+
+  @Override
+  public Future<Long> addAndGet(long value) {
+    return vertx.getOrCreateContext().succeededFuture(addAndGetLocal(value));
+  }
+
+  @Override
+  public Future<Long> getAndAdd(long value) {
+    return vertx.getOrCreateContext().succeededFuture(addAndGetLocal(value) - value);
+  }
+
+  @Override
+  public Future<Boolean> compareAndSet(long expected, long value) {
+    boolean set;
+    // Serialize the comparisons, the adds are not blocked
+    synchronized (this) {
+      set = adder.sum() == expected;
+      if (set) {
+        adder.add(value - expected);
+      }
+    }
+    return vertx.getOrCreateContext().succeededFuture(set);
+  }
+}
@@ -58,6 +58,10 @@ public interface ClusterManager extends VertxServiceProvider, ClusteredNode {
 
   /**
    * Return an {@link AsyncMap} for the given {@code name}.
+   * <p>
+   * The bulk operations of the map ({@link AsyncMap#getAll}, {@link AsyncMap#putAll} and {@link AsyncMap#removeAll})
+   * default to a single-key operation per entry, the map should implement them natively when the cluster offers
+   * batched operations.
    */
   <K, V> void getAsyncMap(String name, Completable<AsyncMap<K, V>> promise);
 
@@ -14,6 +14,7 @@ package io.vertx.core.spi.cluster;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.shareddata.ClusterSerializable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -23,18 +24,38 @@ import java.util.Objects;
  */
 public class RegistrationInfo implements ClusterSerializable {
 
+  /*
+   * The flags byte used to be the local only boolean: nodes of previous versions read any non-zero value as local
+   * only and do not read the pattern bytes that follow the PATTERN flag. This is only safe because registrations
+   * with a pattern are stored at the __vertx.patterns address, which previous versions never look up.
+   */
+  private static final int LOCAL_ONLY = 1;
+  private static final int PATTERN = 2;
+
   private String nodeId;
   private long seq;
   private boolean localOnly;
+  private String pattern;
 
   public RegistrationInfo() {
   }
 
   public RegistrationInfo(String nodeId, long seq, boolean localOnly) {
+    this(nodeId, seq, localOnly, null);
+  }
+
+  /**
+   * A registration with a pattern must only be stored at the {@code __vertx.patterns} address, the serialized form
+   * is not readable by nodes of previous versions.
+   *
+   * @param pattern the address pattern of the registration, or {@code null} for a registration of a single address
+   */
+  public RegistrationInfo(String nodeId, long seq, boolean localOnly, String pattern) {
     Objects.requireNonNull(nodeId, "nodeId is null");
     this.nodeId = nodeId;
     this.seq = seq;
     this.localOnly = localOnly;
+    this.pattern = pattern;
   }
 
   public String nodeId() {
@@ -49,6 +70,13 @@ public class RegistrationInfo implements ClusterSerializable {
     return localOnly;
   }
 
+  /**
+   * @return the address pattern of the registration or {@code null}
+   */
+  public String pattern() {
+    return pattern;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -58,6 +86,7 @@ public class RegistrationInfo implements ClusterSerializable {
 
     if (seq != that.seq) return false;
     if (localOnly != that.localOnly) return false;
+    if (!Objects.equals(pattern, that.pattern)) return false;
     return nodeId.equals(that.nodeId);
   }
 
@@ -66,6 +95,7 @@ public class RegistrationInfo implements ClusterSerializable {
     int result = nodeId.hashCode();
     result = 31 * result + (int) (seq ^ (seq >>> 32));
     result = 31 * result + (localOnly ? 1 : 0);
+    result = 31 * result + Objects.hashCode(pattern);
     return result;
   }
 
@@ -75,6 +105,7 @@ public class RegistrationInfo implements ClusterSerializable {
       "nodeId=" + nodeId +
       ", seq=" + seq +
       ", localOnly=" + localOnly +
+      (pattern != null ? ", pattern=" + pattern : "") +
       '}';
   }
 
@@ -82,7 +113,11 @@ public class RegistrationInfo implements ClusterSerializable {
   public void writeToBuffer(Buffer buffer) {
     buffer.appendInt(nodeId.length()).appendString(nodeId);
     buffer.appendLong(seq);
-    buffer.appendByte((byte) (localOnly ? 1 : 0));
+    buffer.appendByte((byte) ((localOnly ? LOCAL_ONLY : 0) | (pattern != null ? PATTERN : 0)));
+    if (pattern != null) {
+      byte[] bytes = pattern.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
   }
 
   @Override
@@ -94,8 +129,15 @@ public class RegistrationInfo implements ClusterSerializable {
     pos += len;
     seq = buffer.getLong(pos);
     pos += 8;
-    localOnly = buffer.getByte(pos) > 0;
+    byte flags = buffer.getByte(pos);
     pos += 1;
+    localOnly = (flags & LOCAL_ONLY) != 0;
+    if ((flags & PATTERN) != 0) {
+      len = buffer.getInt(pos);
+      pos += 4;
+      pattern = buffer.getString(pos, pos + len);
+      pos += len;
+    }
     return pos;
   }
 }
@@ -110,6 +110,68 @@ public interface EventBusMetrics<H> extends Metrics {
   default void messageWritten(String address, int numberOfBytes) {
   }
 
+  /**
+   * A message has been sent over the network, its body might have been compressed.<p/>
+   *
+   * No specific thread and context can be expected when this method is called.<p/>
+   *
+   * The default implementation calls {@link #messageWritten(String, int)} with the number of bytes written.
+   *
+   * @param address the message address
+   * @param numberOfBytes the number of bytes written
+   * @param numberOfUncompressedBytes the number of bytes that would have been written without compression
+   */
+  default void messageWritten(String address, int numberOfBytes, int numberOfUncompressedBytes) {
+    messageWritten(address, numberOfBytes);
+  }
+
+  /**
+   * The encoded body of a message published to several nodes has been written again instead of being encoded
+   * once more. A frame written on its own references the encoded body, a frame coalesced with other frames
+   * copies it.<p/>
+   *
+   * No specific thread and context can be expected when this method is called.
+   *
+   * @param address the message address
+   * @param bodyLength the length of the encoded body that was not encoded again
+   */
+  default void messageBodyReused(String address, int bodyLength) {
+  }
+
+  /**
+   * The number of messages waiting in a flow controlled producer for credits of the consumers has changed.<p/>
+   *
+   * No specific thread and context can be expected when this method is called.
+   *
+   * @param address the producer address
+   * @param size the number of waiting messages
+   */
+  default void producerPendingWrites(String address, int size) {
+  }
+
+  /**
+   * The number of messages waiting for the connection to a remote node to be established has changed.<p/>
+   *
+   * No specific thread and context can be expected when this method is called.
+   *
+   * @param nodeId the remote node id
+   * @param size the number of waiting messages
+   */
+  default void connectionPendingWrites(String nodeId, int size) {
+  }
+
+  /**
+   * The nodes of a clustered message have been selected by the node selector.<p/>
+   *
+   * No specific thread and context can be expected when this method is called.
+   *
+   * @param address the message address
+   * @param cached whether the selection was resolved from the node selector cache or had to wait for the registrations
+   *               of the address
+   */
+  default void nodeSelected(String address, boolean cached) {
+  }
+
   /**
    * A message has been received from the network.<p/>
    *
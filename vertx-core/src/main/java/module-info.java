@@ -95,6 +95,7 @@ module io.vertx.core {
   exports io.vertx.core.internal.streams;
   exports io.vertx.core.internal.deployment;
   exports io.vertx.core.internal.resolver;
+  exports io.vertx.core.internal.shareddata;
 
   // Testing
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.DeliveryContext;
+import io.vertx.core.eventbus.EventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local send and request/reply, the {@code interceptor} param forces the delivery through the send context
+ * instead of the direct path.
+ */
+@State(Scope.Thread)
+public class EventBusBenchmark extends BenchmarkBase {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"false", "true"})
+  public boolean interceptor;
+
+  private Vertx vertx;
+  private EventBus eventBus;
+  private final AtomicReference<CountDownLatch> latch = new AtomicReference<>();
+
+  @Setup
+  public void setup() throws Exception {
+    vertx = Vertx.vertx(new VertxOptions().setDisableTCCL(true));
+    eventBus = vertx.eventBus();
+    if (interceptor) {
+      eventBus.addOutboundInterceptor(DeliveryContext::next);
+    }
+    CountDownLatch registered = new CountDownLatch(2);
+    eventBus.consumer("send", msg -> latch.get().countDown()).completion().onSuccess(v -> registered.countDown());
+    eventBus.consumer("request", msg -> msg.reply("pong")).completion().onSuccess(v -> registered.countDown());
+    registered.await();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void send() throws Exception {
+    CountDownLatch l = new CountDownLatch(BATCH_SIZE);
+    latch.set(l);
+    for (int i = 0;i < BATCH_SIZE;i++) {
+      eventBus.send("send", "ping");
+    }
+    l.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void request() throws Exception {
+    CountDownLatch l = new CountDownLatch(BATCH_SIZE);
+    for (int i = 0;i < BATCH_SIZE;i++) {
+      eventBus.request("request", "ping").onComplete(ar -> l.countDown());
+    }
+    l.await();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2025 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ */
+
+package io.vertx.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.internal.ContextInternal;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.shareddata.Lock;
+import io.vertx.core.shareddata.impl.LocalAsyncLocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Contended acquisition of local locks: every thread requests a batch of permits of the same name from its own
+ * context, a permit is released as soon as it is granted.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class LocalAsyncLocksBenchmark extends BenchmarkBase {
+
+  private static final int BATCH_SIZE = 100;
+  private static final long TIMEOUT = 10_000;
+
+  private Vertx vertx;
+  private LocalAsyncLocks locks;
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+
+    private ContextInternal context;
+
+    @Setup
+    public void setup(LocalAsyncLocksBenchmark benchmark) {
+      context = ((VertxInternal) benchmark.vertx).createEventLoopContext();
+    }
+  }
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx(new VertxOptions().setDisableTCCL(true));
+    locks = new LocalAsyncLocks();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    vertx.close().await();
+  }
+
+  private static void acquireBatch(ContextInternal context, Function<ContextInternal, Future<Lock>> acquire) throws Exception {
+    CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+    for (int i = 0;i < BATCH_SIZE;i++) {
+      acquire.apply(context).onComplete(ar -> {
+        ar.result().release();
+        latch.countDown();
+      });
+    }
+    latch.await();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void lock(ThreadState state) throws Exception {
+    acquireBatch(state.context, context -> locks.acquire(context, "lock", TIMEOUT));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void semaphore(ThreadState state) throws Exception {
+    acquireBatch(state.context, context -> locks.acquirePermit(context, "semaphore", 4, TIMEOUT));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void readLock(ThreadState state) throws Exception {
+    acquireBatch(state.context, context -> locks.acquireRead(context, "rw", TIMEOUT));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void writeLock(ThreadState state) throws Exception {
+    acquireBatch(state.context, context -> locks.acquireWrite(context, "rw", TIMEOUT));
+  }
+}
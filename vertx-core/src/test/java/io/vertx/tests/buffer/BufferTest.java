@@ -1021,6 +1021,21 @@ public class BufferTest {
     //TODO toString with encoding
   }
 
+  @Test
+  public void testReadOnly() {
+    BufferInternal buff = BufferInternal.buffer("hello");
+    BufferInternal readOnly = buff.asReadOnly();
+    assertFalse(buff.isReadOnly());
+    assertTrue(readOnly.isReadOnly());
+    assertSame(readOnly, readOnly.asReadOnly());
+    assertSame(readOnly, readOnly.copy());
+    assertEquals(buff, readOnly);
+    assertThrows(java.nio.ReadOnlyBufferException.class, () -> readOnly.appendString("!"));
+    assertThrows(java.nio.ReadOnlyBufferException.class, () -> readOnly.setByte(0, (byte) 'H'));
+    buff.setByte(0, (byte) 'H');
+    assertEquals("Hello", readOnly.toString());
+  }
+
   @Test
   public void testCopy() throws Exception {
     Buffer buff = TestUtils.randomBuffer(100);
@@ -11,14 +11,18 @@
 package io.vertx.tests.cluster;
 
 import io.vertx.core.Completable;
+import io.vertx.core.eventbus.EventBusOptions;
 import io.vertx.core.spi.cluster.ClusteredNode;
 import io.vertx.core.spi.cluster.NodeInfo;
 import io.vertx.core.spi.cluster.RegistrationInfo;
 import io.vertx.core.spi.cluster.RegistrationUpdateEvent;
+import io.vertx.core.eventbus.impl.clustered.ClusteredEventBus;
 import io.vertx.core.eventbus.impl.clustered.DefaultNodeSelector;
+import io.vertx.core.spi.metrics.EventBusMetrics;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,6 +44,17 @@ public class DefaultNodeSelectorTest {
     assertEquals(new HashSet<>(Arrays.asList(elements)), set);
   }
 
+  private static class SelectionMetrics implements EventBusMetrics<Void> {
+
+    final AtomicInteger cacheHits = new AtomicInteger();
+    final AtomicInteger cacheMisses = new AtomicInteger();
+
+    @Override
+    public void nodeSelected(String address, boolean cached) {
+      (cached ? cacheHits : cacheMisses).incrementAndGet();
+    }
+  }
+
   private static class ClusterView implements ClusteredNode {
 
     static class Op {
@@ -284,4 +299,112 @@ public class DefaultNodeSelectorTest {
     ClusterView.GetRegistrationsOp get = view.assertGetRegistration();
     get.succeed("node1");
   }
+
+  @Test
+  public void testPreloadedAddress() {
+    DefaultNodeSelector ns = new DefaultNodeSelector(new EventBusOptions().setClusterPreloadedAddresses(List.of("the-address")));
+    SelectionMetrics metrics = new SelectionMetrics();
+    ns.metrics(metrics);
+    ClusterView view = new ClusterView();
+    ns.init(view);
+    ns.eventBusStarted();
+    ClusterView.GetRegistrationsOp get = view.assertGetRegistration();
+    assertEquals("the-address", get.address);
+    ClusterView.GetRegistrationsOp patterns = view.assertGetRegistration();
+    assertEquals(ClusteredEventBus.PATTERN_REGISTRATIONS_ADDRESS, patterns.address);
+    view.assertEmpty();
+    get.succeed();
+    patterns.succeed();
+    AtomicInteger count = new AtomicInteger();
+    ns.selectForSend("the-address", (result, failure) -> {
+      assertNull(result);
+      count.incrementAndGet();
+    });
+    assertEquals(1, count.get());
+    assertTrue(ns.wantsUpdatesFor("the-address"));
+    ns.registrationsUpdated(new RegistrationUpdateEvent("the-address", registrations("node1")));
+    ns.selectForSend("the-address", (result, failure) -> {
+      assertEquals("node1", result);
+      count.incrementAndGet();
+    });
+    ns.registrationsUpdated(new RegistrationUpdateEvent("the-address", registrations()));
+    ns.selectForSend("the-address", (result, failure) -> {
+      assertNull(result);
+      count.incrementAndGet();
+    });
+    assertEquals(3, count.get());
+    assertEquals(3, metrics.cacheHits.get());
+    assertEquals(0, metrics.cacheMisses.get());
+    view.assertEmpty();
+  }
+
+  @Test
+  public void testMaxPendingSelections() {
+    DefaultNodeSelector ns = new DefaultNodeSelector(new EventBusOptions().setClusterMaxPendingSelections(4));
+    SelectionMetrics metrics = new SelectionMetrics();
+    ns.metrics(metrics);
+    ClusterView view = new ClusterView();
+    ns.init(view);
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    for (int i = 0;i < 8;i++) {
+      ns.selectForSend("the-address", (result, failure) -> {
+        if (failure == null) {
+          assertEquals("node1", result);
+          succeeded.incrementAndGet();
+        } else {
+          failed.incrementAndGet();
+        }
+      });
+    }
+    assertEquals(4, failed.get());
+    ClusterView.GetRegistrationsOp get = view.assertGetRegistration();
+    get.succeed("node1");
+    assertEquals(4, succeeded.get());
+    assertEquals(0, metrics.cacheHits.get());
+    assertEquals(8, metrics.cacheMisses.get());
+    ns.selectForSend("the-address", (result, failure) -> succeeded.incrementAndGet());
+    assertEquals(5, succeeded.get());
+    assertEquals(1, metrics.cacheHits.get());
+    view.assertEmpty();
+  }
+
+  @Test
+  public void testMaxPendingSelectionsConcurrently() throws Exception {
+    DefaultNodeSelector ns = new DefaultNodeSelector(new EventBusOptions().setClusterMaxPendingSelections(4));
+    ClusterView view = new ClusterView();
+    ns.init(view);
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    Completable<String> callback = (result, failure) -> {
+      if (failure == null) {
+        succeeded.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+    };
+    ns.selectForSend("the-address", callback);
+    CyclicBarrier barrier = new CyclicBarrier(8);
+    Thread[] threads = new Thread[8];
+    for (int i = 0;i < threads.length;i++) {
+      threads[i] = new Thread(() -> {
+        try {
+          barrier.await();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+        for (int j = 0;j < 100;j++) {
+          ns.selectForSend("the-address", callback);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(797, failed.get());
+    view.assertGetRegistration().succeed("node1");
+    assertEquals(4, succeeded.get());
+    view.assertEmpty();
+  }
 }
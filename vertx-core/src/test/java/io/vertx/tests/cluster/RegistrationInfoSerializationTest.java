@@ -33,7 +33,9 @@ public class RegistrationInfoSerializationTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][]{
       {new RegistrationInfo("foo", -13004, true)},
-      {new RegistrationInfo("bar", +13004, false)}
+      {new RegistrationInfo("bar", +13004, false)},
+      {new RegistrationInfo("juu", 13004, true, "orders.*")},
+      {new RegistrationInfo("daa", 13004, false, "ordèrs.>")}
     });
   }
 
@@ -146,6 +146,35 @@ public class ConcurrentCyclicSequenceTest {
     assertThrows(NoSuchElementException.class, () -> it2.next());
   }
 
+  @Test
+  public void testNextPreferred() {
+    ConcurrentCyclicSequence<String> seq = new ConcurrentCyclicSequence<>("a1", "b1", "a2", "b2");
+    List<String> selected = new ArrayList<>();
+    for (int i = 0;i < 4;i++) {
+      selected.add(seq.next(s -> s.startsWith("b")));
+    }
+    assertEquals(Arrays.asList("b1", "b2", "b1", "b2"), selected);
+    selected.clear();
+    for (int i = 0;i < 4;i++) {
+      selected.add(seq.next(s -> s.startsWith("c")));
+    }
+    assertEquals(Arrays.asList("a1", "b1", "a2", "b2"), selected);
+    assertNull(new ConcurrentCyclicSequence<String>().next(s -> true));
+    assertEquals("a1", new ConcurrentCyclicSequence<>("a1").next(s -> false));
+  }
+
+  @Test
+  public void testNextPreferredEvenSplit() {
+    ConcurrentCyclicSequence<String> seq = new ConcurrentCyclicSequence<>("a*", "b", "c", "d*");
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0;i < 400;i++) {
+      counts.merge(seq.next(s -> s.endsWith("*")), 1, Integer::sum);
+    }
+    assertEquals(2, counts.size());
+    assertEquals(200, (int) counts.get("a*"));
+    assertEquals(200, (int) counts.get("d*"));
+  }
+
   private void advance(ConcurrentCyclicSequence<String> seq, int n) {
     for (int i = 0; i < n; i++) {
       seq.next();
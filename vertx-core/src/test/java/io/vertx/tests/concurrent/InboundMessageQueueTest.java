@@ -531,4 +531,70 @@ public abstract class InboundMessageQueueTest extends VertxTestBase {
     });
     await();
   }
+
+  @Test
+  public void testLanes() {
+    List<Integer> emitted = Collections.synchronizedList(new ArrayList<>());
+    InboundMessageQueue<Integer> lanes = new InboundMessageQueue<>(((ContextInternal) context).eventLoop(), ((ContextInternal) context).executor(), 3, 5, 5) {
+      @Override
+      protected void handleMessage(Integer msg) {
+        assertConsumer();
+        emitted.add(msg);
+      }
+    };
+    producerTask(() -> {
+      lanes.pause();
+      boolean drain = false;
+      drain |= lanes.add(0, 0);
+      drain |= lanes.add(0, 1);
+      drain |= lanes.add(2, 2);
+      drain |= lanes.add(1, 3);
+      drain |= lanes.add(2, 4);
+      if (drain) {
+        lanes.drain();
+      }
+      lanes.fetch(3);
+    });
+    assertWaitUntil(() -> emitted.size() == 3);
+    assertEquals(Arrays.asList(2, 4, 3), emitted);
+    producerTask(() -> {
+      if (lanes.add(1, 5)) {
+        lanes.drain();
+      }
+      lanes.fetch(Long.MAX_VALUE);
+    });
+    assertWaitUntil(() -> emitted.size() == 6);
+    assertEquals(Arrays.asList(2, 4, 3, 5, 0, 1), emitted);
+  }
+
+  @Test
+  public void testLaneWatermarks() {
+    List<Integer> paused = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> resumed = Collections.synchronizedList(new ArrayList<>());
+    InboundMessageQueue<Integer> lanes = new InboundMessageQueue<>(((ContextInternal) context).eventLoop(), ((ContextInternal) context).executor(), 2, 2, 2) {
+      @Override
+      protected void handlePause(int lane) {
+        assertProducer();
+        paused.add(lane);
+      }
+      @Override
+      protected void handleResume(int lane) {
+        assertProducer();
+        resumed.add(lane);
+      }
+    };
+    producerTask(() -> {
+      lanes.pause();
+      lanes.add(0, 0);
+      lanes.add(0, 1);
+      lanes.add(0, 2);
+      assertEquals(Collections.singletonList(0), paused);
+      lanes.add(1, 3);
+      assertEquals(Collections.singletonList(0), paused);
+      lanes.drain();
+      lanes.fetch(Long.MAX_VALUE);
+    });
+    assertWaitUntil(() -> resumed.size() == 1);
+    assertEquals(Collections.singletonList(0), resumed);
+  }
 }
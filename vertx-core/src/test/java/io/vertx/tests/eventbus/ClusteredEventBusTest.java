@@ -12,14 +12,19 @@
 package io.vertx.tests.eventbus;
 
 import io.vertx.core.*;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.*;
+import io.vertx.core.eventbus.impl.AddressStatistics;
+import io.vertx.core.eventbus.impl.EventBusImpl;
 import io.vertx.core.eventbus.impl.clustered.ClusteredEventBus;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.spi.cluster.ClusterManager;
 import io.vertx.core.spi.cluster.RegistrationUpdateEvent;
+import io.vertx.core.spi.metrics.EventBusMetrics;
 import io.vertx.core.spi.metrics.TCPMetrics;
 import io.vertx.core.spi.metrics.VertxMetrics;
 import io.vertx.test.core.TestUtils;
@@ -30,17 +35,21 @@ import io.vertx.tests.shareddata.AsyncMapTest.SomeSerializableObject;
 import org.junit.Test;
 
 import java.io.InvalidClassException;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 
@@ -423,6 +432,91 @@ public class ClusteredEventBusTest extends ClusteredEventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSenderFlowControl() throws Exception {
+    startNodes(2);
+    MessageConsumer<String> consumer = vertices[1].eventBus().consumer(ADDRESS1);
+    consumer.pause();
+    CountDownLatch registered = new CountDownLatch(1);
+    consumer.handler(msg -> {}).completion().onComplete(onSuccess(v -> registered.countDown()));
+    awaitLatch(registered);
+    MessageProducer<String> producer = vertices[0].eventBus().<String>sender(ADDRESS1).setWriteQueueMaxSize(4);
+    for (int i = 0;i < 4;i++) {
+      producer.write("body-" + i);
+    }
+    assertTrue(producer.writeQueueFull());
+    producer.drainHandler(v -> {
+      assertFalse(producer.writeQueueFull());
+      testComplete();
+    });
+    vertices[1].runOnContext(v -> consumer.resume());
+    await();
+  }
+
+  @Test
+  public void testSendBatch() throws Exception {
+    startNodes(2);
+    int numMessages = 100;
+    List<Integer> bodies = IntStream.range(0, numMessages).boxed().collect(Collectors.toList());
+    List<Integer> received = new ArrayList<>();
+    CountDownLatch registered = new CountDownLatch(1);
+    vertices[1].eventBus().<Integer>consumer(ADDRESS1, msg -> {
+      received.add(msg.body());
+      if (received.size() == numMessages) {
+        assertEquals(bodies, received);
+        testComplete();
+      }
+    }).completion().onComplete(onSuccess(v -> registered.countDown()));
+    awaitLatch(registered);
+    vertices[0].eventBus().sendBatch(ADDRESS1, bodies, new DeliveryOptions());
+    await();
+  }
+
+  @Test
+  public void testPublishBatch() throws Exception {
+    startNodes(3);
+    waitFor(2);
+    List<String> bodies = List.of("a", "b", "c");
+    CountDownLatch registered = new CountDownLatch(2);
+    for (int i = 1;i < 3;i++) {
+      List<String> received = new ArrayList<>();
+      vertices[i].eventBus().<String>consumer(ADDRESS1, msg -> {
+        received.add(msg.body());
+        if (received.size() == bodies.size()) {
+          assertEquals(bodies, received);
+          complete();
+        }
+      }).completion().onComplete(onSuccess(v -> registered.countDown()));
+    }
+    awaitLatch(registered);
+    vertices[0].eventBus().publishBatch(ADDRESS1, bodies, new DeliveryOptions());
+    await();
+  }
+
+  @Test
+  public void testPatternConsumer() throws Exception {
+    startNodes(3);
+    waitFor(3);
+    CountDownLatch registered = new CountDownLatch(2);
+    vertices[1].eventBus().<String>consumer(new MessageConsumerOptions().setAddress("orders.*").setAddressPattern(true), msg -> {
+      assertEquals("orders.123", msg.address());
+      assertEquals("created", msg.body());
+      complete();
+    }).completion().onComplete(onSuccess(v -> registered.countDown()));
+    vertices[2].eventBus().<String>consumer(new MessageConsumerOptions().setAddress("orders.>").setAddressPattern(true), msg -> {
+      assertEquals("orders.123", msg.address());
+      assertEquals("created", msg.body());
+      complete();
+    }).completion().onComplete(onSuccess(v -> registered.countDown()));
+    awaitLatch(registered);
+    vertices[0].eventBus().publish("orders.123", "created");
+    vertices[0].eventBus().request("customers.123", "created").onComplete(onFailure(err -> {
+      assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) err).failureType());
+      complete();
+    }));
+    await();
+  }
+
   @Test
   public void testSendWriteHandlerNoConsumer() {
     startNodes(2);
@@ -463,6 +557,34 @@ public class ClusteredEventBusTest extends ClusteredEventBusTestBase {
     await();
   }
 
+  @Test
+  public void testAddressStatistics() {
+    VertxOptions options = getOptions();
+    options.getEventBusOptions().setAddressStatisticsEnabled(true);
+    startNodes(2, options);
+    EventBusImpl sender = (EventBusImpl) vertices[0].eventBus();
+    EventBusImpl receiver = (EventBusImpl) vertices[1].eventBus();
+    int numMessages = 5;
+    AtomicInteger count = new AtomicInteger();
+    receiver.<String>consumer(ADDRESS1, msg -> {
+      if (count.incrementAndGet() == numMessages) {
+        AddressStatistics stats = receiver.addressStatistics().get(0);
+        assertEquals(numMessages, stats.received());
+        assertTrue(stats.bytesRead() > 0);
+        testComplete();
+      }
+    }).completion().onComplete(onSuccess(v -> {
+      for (int i = 0;i < numMessages;i++) {
+        sender.send(ADDRESS1, "msg-" + i);
+      }
+    }));
+    await();
+    AddressStatistics stats = sender.addressStatistics().get(0);
+    assertEquals(numMessages, stats.sent());
+    assertEquals(0, stats.received());
+    assertWaitUntil(() -> sender.addressStatistics().get(0).bytesWritten() > 0);
+  }
+
   @Test
   public void testWriteHandlerConnectFailure() {
     VertxOptions options = getOptions();
@@ -704,6 +826,249 @@ public class ClusteredEventBusTest extends ClusteredEventBusTestBase {
     await();
   }
 
+  @Test
+  public void testWriteCoalescing() {
+    int num = 1000;
+    VertxOptions options = getOptions();
+    options.getEventBusOptions()
+      .setClusterWriteCoalescing(true)
+      .setClusterWriteCoalescingThreshold(256);
+    startNodes(2, options);
+    waitFor(num + 1);
+    AtomicInteger received = new AtomicInteger();
+    vertices[1].eventBus().<Integer>consumer(ADDRESS1, msg -> {
+      int val = received.getAndIncrement();
+      assertEquals(val, (int) msg.body());
+      if (val == num - 1) {
+        complete();
+      }
+    }).completion().await();
+    MessageProducer<Integer> producer = vertices[0].eventBus().sender(ADDRESS1);
+    Context ctx = vertices[0].getOrCreateContext();
+    ctx.runOnContext(v -> {
+      for (int i = 0;i < num;i++) {
+        producer.write(i).onComplete(onSuccess(v2 -> complete()));
+      }
+    });
+    await();
+  }
+
+  @Test
+  public void testSendLargeBuffers() {
+    int num = 10;
+    startNodes(2);
+    List<Buffer> expected = new ArrayList<>();
+    for (int i = 0;i < num;i++) {
+      expected.add(TestUtils.randomBuffer(512 * 1024 + i));
+    }
+    AtomicInteger received = new AtomicInteger();
+    vertices[1].eventBus().<Buffer>consumer(ADDRESS1, msg -> {
+      int val = received.getAndIncrement();
+      assertEquals(expected.get(val), msg.body());
+      if (val == num - 1) {
+        testComplete();
+      }
+    }).completion().await();
+    for (Buffer buffer : expected) {
+      vertices[0].eventBus().send(ADDRESS1, buffer);
+    }
+    await();
+  }
+
+  @Test
+  public void testMultipleConnectionsPerNode() {
+    int numAddresses = 16;
+    int num = 100;
+    startNodes(1);
+    AtomicInteger numberOfOutboundConnections = new AtomicInteger();
+    VertxOptions options = getOptions();
+    options.getEventBusOptions().setClusterConnectionsPerNode(4);
+    Vertx vertx = vertx(() -> Vertx.builder()
+      .with(options)
+      .withClusterManager(getClusterManager())
+      .withMetrics(o -> new VertxMetrics() {
+        @Override
+        public TCPMetrics<?> createNetClientMetrics(NetClientOptions options) {
+          return new TCPMetrics<>() {
+            @Override
+            public Object connected(SocketAddress remoteAddress, String remoteName) {
+              numberOfOutboundConnections.incrementAndGet();
+              return null;
+            }
+          };
+        }
+      })
+      .buildClustered()
+      .await());
+    waitFor(numAddresses);
+    for (int i = 0;i < numAddresses;i++) {
+      AtomicInteger received = new AtomicInteger();
+      vertices[0].eventBus().<Integer>consumer(ADDRESS1 + i, msg -> {
+        int val = received.getAndIncrement();
+        assertEquals(val, (int) msg.body());
+        if (val == num - 1) {
+          complete();
+        }
+      }).completion().await();
+    }
+    for (int j = 0;j < num;j++) {
+      for (int i = 0;i < numAddresses;i++) {
+        vertx.eventBus().send(ADDRESS1 + i, j);
+      }
+    }
+    await();
+    assertTrue(numberOfOutboundConnections.get() > 1);
+    assertTrue(numberOfOutboundConnections.get() <= 4);
+  }
+
+  @Test
+  public void testOutboundConnectionsRemovedForClosedNode() throws Exception {
+    startNodes(2);
+    vertices[1].eventBus().consumer(ADDRESS1, msg -> msg.reply("pong")).completion().await();
+    assertEquals("pong", vertices[0].eventBus().request(ADDRESS1, "ping").await().body());
+    Field field = ClusteredEventBus.class.getDeclaredField("outboundConnections");
+    field.setAccessible(true);
+    Map<?, ?> outboundConnections = (Map<?, ?>) field.get(vertices[0].eventBus());
+    assertEquals(1, outboundConnections.size());
+    vertices[1].close().await();
+    assertWaitUntil(outboundConnections::isEmpty);
+  }
+
+  @Test
+  public void testReplyAddressesAreNotIndexed() throws Exception {
+    startNodes(2);
+    vertices[1].eventBus().consumer(ADDRESS1, msg -> msg.reply(msg.body())).completion().await();
+    CountDownLatch received = new CountDownLatch(1);
+    vertices[0].eventBus().consumer(ADDRESS2, msg -> received.countDown()).completion().await();
+    // More one-shot reply addresses than the dictionary of a connection can hold
+    int num = 5000;
+    CountDownLatch replies = new CountDownLatch(num);
+    for (int i = 0;i < num;i++) {
+      vertices[0].eventBus().request(ADDRESS1, i).onComplete(onSuccess(reply -> replies.countDown()));
+    }
+    awaitLatch(replies);
+    vertices[1].eventBus().send(ADDRESS2, "hello");
+    awaitLatch(received);
+    // The replies went over the connection of the node 1 to the node 0
+    Field connectionsField = ClusteredEventBus.class.getDeclaredField("outboundConnections");
+    connectionsField.setAccessible(true);
+    Map<?, ?> outboundConnections = (Map<?, ?>) connectionsField.get(vertices[1].eventBus());
+    AtomicReferenceArray<?> connections = (AtomicReferenceArray<?>) outboundConnections.values().iterator().next();
+    Object connection = connections.get(0);
+    Field dictionaryField = connection.getClass().getDeclaredField("dictionary");
+    dictionaryField.setAccessible(true);
+    Object dictionary = dictionaryField.get(connection);
+    Field indexesField = dictionary.getClass().getDeclaredField("indexes");
+    indexesField.setAccessible(true);
+    Map<?, ?> indexes = (Map<?, ?>) indexesField.get(dictionary);
+    assertTrue(indexes.containsKey(ADDRESS2));
+    assertTrue(indexes.size() < 10);
+  }
+
+  @Test
+  public void testHeadersAndCodecAfterWireProtocolNegotiation() {
+    int num = 50;
+    startNodes(2);
+    MessageCodec<MyPOJO, String> codec = new MyPOJOEncoder1();
+    vertices[0].eventBus().registerCodec(codec);
+    vertices[1].eventBus().registerCodec(codec);
+    vertices[1].eventBus().<String>consumer(ADDRESS1, msg -> {
+      assertEquals("value-" + msg.body(), msg.headers().get("header"));
+      assertEquals("constant", msg.headers().get("other-header"));
+      msg.reply(msg.body(), new DeliveryOptions().addHeader("reply-header", msg.body()));
+    }).completion().await();
+    for (int i = 0;i < num;i++) {
+      String str = String.valueOf(i);
+      DeliveryOptions options = new DeliveryOptions()
+        .setCodecName(codec.name())
+        .addHeader("header", "value-" + str)
+        .addHeader("other-header", "constant");
+      Message<String> reply = vertices[0].eventBus().<String>request(ADDRESS1, new MyPOJO(str), options).await();
+      assertEquals(str, reply.body());
+      assertEquals(str, reply.headers().get("reply-header"));
+    }
+  }
+
+  @Test
+  public void testDeflateCompression() {
+    testCompression(MessageCompression.DEFLATE);
+  }
+
+  @Test
+  public void testSnappyCompression() {
+    testCompression(MessageCompression.SNAPPY);
+  }
+
+  private void testCompression(MessageCompression compression) {
+    int num = 10;
+    startNodes(1);
+    AtomicLong written = new AtomicLong();
+    AtomicLong uncompressed = new AtomicLong();
+    VertxOptions options = getOptions();
+    options.getEventBusOptions()
+      .setClusterCompression(compression)
+      .setClusterCompressionThreshold(1024);
+    Vertx vertx = vertx(() -> Vertx.builder()
+      .with(options)
+      .withClusterManager(getClusterManager())
+      .withMetrics(o -> new VertxMetrics() {
+        @Override
+        public EventBusMetrics<?> createEventBusMetrics() {
+          return new EventBusMetrics<>() {
+            @Override
+            public void messageWritten(String address, int numberOfBytes, int numberOfUncompressedBytes) {
+              written.addAndGet(numberOfBytes);
+              uncompressed.addAndGet(numberOfUncompressedBytes);
+            }
+          };
+        }
+      })
+      .buildClustered()
+      .await());
+    JsonObject expected = new JsonObject();
+    for (int i = 0;i < 1000;i++) {
+      expected.put("key-" + i, "value-" + (i % 10));
+    }
+    vertices[0].eventBus().<JsonObject>consumer(ADDRESS1, msg -> {
+      assertEquals(expected, msg.body());
+      msg.reply(msg.body());
+    }).completion().await();
+    for (int i = 0;i < num;i++) {
+      Message<JsonObject> reply = vertx.eventBus().<JsonObject>request(ADDRESS1, expected).await();
+      assertEquals(expected, reply.body());
+    }
+    assertTrue(uncompressed.get() > 2 * written.get());
+  }
+
+  @Test
+  public void testPublishEncodesBodyOnce() {
+    int num = 10;
+    startNodes(3);
+    AtomicInteger encodings = new AtomicInteger();
+    MessageCodec<MyPOJO, String> codec = new MyPOJOEncoder1() {
+      @Override
+      public void encodeToWire(Buffer buffer, MyPOJO myPOJO) {
+        encodings.incrementAndGet();
+        super.encodeToWire(buffer, myPOJO);
+      }
+    };
+    for (Vertx vertex : vertices) {
+      vertex.eventBus().registerCodec(codec);
+    }
+    waitFor(2 * num);
+    for (int i = 1;i < 3;i++) {
+      vertices[i].eventBus().<String>consumer(ADDRESS1, msg -> {
+        assertEquals("the-body", msg.body());
+        complete();
+      }).completion().await();
+    }
+    for (int i = 0;i < num;i++) {
+      vertices[0].eventBus().publish(ADDRESS1, new MyPOJO("the-body"), new DeliveryOptions().setCodecName(codec.name()));
+    }
+    await();
+    assertEquals(num, encodings.get());
+  }
+
   @Test
   public void testSocketCleanup() {
     startNodes(1);
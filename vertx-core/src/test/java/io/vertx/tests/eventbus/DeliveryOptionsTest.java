@@ -28,7 +28,9 @@ public class DeliveryOptionsTest {
     JsonObject defaultJson = new JsonObject()
       .put("timeout", DeliveryOptions.DEFAULT_TIMEOUT)
       .put("localOnly", DeliveryOptions.DEFAULT_LOCAL_ONLY)
-      .put("tracingPolicy", DeliveryOptions.DEFAULT_TRACING_POLICY);
+      .put("tracingPolicy", DeliveryOptions.DEFAULT_TRACING_POLICY)
+      .put("sharedBody", DeliveryOptions.DEFAULT_SHARED_BODY)
+      .put("priority", DeliveryOptions.DEFAULT_PRIORITY);
     assertEquals(defaultJson, new DeliveryOptions().toJson());
 
     JsonObject fullJson = new JsonObject()
@@ -36,7 +38,9 @@ public class DeliveryOptionsTest {
       .put("localOnly", true)
       .put("codecName", "pimpo")
       .put("headers", new JsonObject().put("marseille", "om").put("lyon", "ol").put("amsterdam", "ajax"))
-      .put("tracingPolicy", "IGNORE");
+      .put("tracingPolicy", "IGNORE")
+      .put("sharedBody", true)
+      .put("priority", 3);
 
     assertEquals(fullJson,
       new DeliveryOptions()
@@ -45,6 +49,8 @@ public class DeliveryOptionsTest {
         .setCodecName("pimpo")
         .addHeader("marseille", "om").addHeader("lyon", "ol").addHeader("amsterdam", "ajax")
         .setTracingPolicy(TracingPolicy.IGNORE)
+        .setSharedBody(true)
+        .setPriority(3)
         .toJson());
 
     assertEquals(fullJson, new DeliveryOptions(fullJson).toJson());
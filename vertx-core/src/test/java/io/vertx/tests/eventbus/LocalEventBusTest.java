@@ -13,23 +13,31 @@ package io.vertx.tests.eventbus;
 
 import io.vertx.core.*;
 import io.vertx.core.eventbus.*;
+import io.vertx.core.eventbus.impl.AddressStatistics;
+import io.vertx.core.eventbus.impl.EventBusImpl;
 import io.vertx.core.eventbus.impl.EventBusInternal;
+import io.vertx.core.eventbus.impl.LatencyStatistics;
 import io.vertx.core.eventbus.impl.MessageConsumerImpl;
 import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
 import io.vertx.test.core.TestUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.vertx.test.core.TestUtils.*;
 
@@ -227,6 +235,89 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendBatch() {
+    testSendBatch(false);
+  }
+
+  @Test
+  public void testSendBatchWithInterceptor() {
+    testSendBatch(true);
+  }
+
+  private void testSendBatch(boolean interceptor) {
+    if (interceptor) {
+      eb.addOutboundInterceptor(DeliveryContext::next);
+    }
+    int numHandlers = 4;
+    int numMessages = 100;
+    List<Integer> bodies = new ArrayList<>();
+    for (int i = 0;i < numMessages;i++) {
+      bodies.add(i);
+    }
+    Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+    AtomicInteger totalCount = new AtomicInteger();
+    for (int i = 0;i < numHandlers;i++) {
+      int index = i;
+      eb.<Integer>consumer(ADDRESS1).handler(msg -> {
+        assertEquals("bar", msg.headers().get("foo"));
+        received.computeIfAbsent(index, k -> Collections.synchronizedList(new ArrayList<>())).add(msg.body());
+        if (totalCount.incrementAndGet() == numMessages) {
+          assertEquals(numHandlers, received.size());
+          for (List<Integer> list : received.values()) {
+            assertEquals(numMessages / numHandlers, list.size());
+            List<Integer> sorted = new ArrayList<>(list);
+            Collections.sort(sorted);
+            assertEquals(sorted, list);
+          }
+          testComplete();
+        }
+      });
+    }
+    eb.sendBatch(ADDRESS1, bodies, new DeliveryOptions().addHeader("foo", "bar"));
+    await();
+  }
+
+  @Test
+  public void testPublishBatch() {
+    int numHandlers = 3;
+    waitFor(numHandlers);
+    List<JsonObject> bodies = List.of(new JsonObject().put("index", 0), new JsonObject().put("index", 1));
+    for (int i = 0;i < numHandlers;i++) {
+      List<Integer> received = new ArrayList<>();
+      eb.<JsonObject>consumer(ADDRESS1).handler(msg -> {
+        assertNotSame(bodies.get(received.size()), msg.body());
+        received.add(msg.body().getInteger("index"));
+        if (received.size() == bodies.size()) {
+          assertEquals(List.of(0, 1), received);
+          complete();
+        }
+      });
+    }
+    eb.publishBatch(ADDRESS1, bodies, new DeliveryOptions());
+    await();
+  }
+
+  @Test
+  public void testRequestBatch() {
+    eb.<String>consumer(ADDRESS1).handler(msg -> msg.reply(msg.body().toUpperCase()));
+    eb.<String>requestBatch(ADDRESS1, List.of("a", "b", "c"), new DeliveryOptions()).onComplete(onSuccess(replies -> {
+      assertEquals(List.of("A", "B", "C"), replies.stream().map(Message::body).collect(Collectors.toList()));
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testRequestBatchNoHandlers() {
+    eb.requestBatch(ADDRESS1, List.of("a", "b"), new DeliveryOptions()).onComplete(onFailure(err -> {
+      assertTrue(err instanceof ReplyException);
+      assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) err).failureType());
+      testComplete();
+    }));
+    await();
+  }
+
   @Test
   public void testSendRegisterSomeUnregisterOne() {
     String str = TestUtils.randomUnicodeString(100);
@@ -511,6 +602,37 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSendWithDifferentTimeouts() {
+    eb.<Long>consumer(ADDRESS1).handler(msg -> {
+      if (msg.body() == 0L) {
+        msg.reply("a reply");
+      }
+    });
+    long[] timeouts = { 300, 100, 0, 200 };
+    List<Long> expired = Collections.synchronizedList(new ArrayList<>());
+    waitFor(timeouts.length);
+    long start = System.currentTimeMillis();
+    for (long timeout : timeouts) {
+      eb.<String>request(ADDRESS1, timeout, new DeliveryOptions().setSendTimeout(timeout == 0L ? 100 : timeout)).onComplete(ar -> {
+        if (timeout == 0L) {
+          assertTrue(ar.succeeded());
+          assertEquals("a reply", ar.result().body());
+        } else {
+          assertTrue(ar.failed());
+          assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) ar.cause()).failureType());
+          assertTrue(System.currentTimeMillis() - start >= timeout);
+          expired.add(timeout);
+          if (expired.size() == 3) {
+            assertEquals(Arrays.asList(100L, 200L, 300L), expired);
+          }
+        }
+        complete();
+      });
+    }
+    await();
+  }
+
   @Test
   public void testReplyToSendWithNoReplyHandler() {
     eb.<String>consumer(ADDRESS1).handler((Message<String> msg) -> {
@@ -998,6 +1120,15 @@ public class LocalEventBusTest extends EventBusTestBase {
     testPauseFetch((consumer, handler) -> consumer.bodyStream().handler(handler));
   }
 
+  @Test
+  public void testPauseFetchBatchStream() throws Exception {
+    testPauseFetch((consumer, handler) -> consumer.batchHandler(3, Duration.ZERO, messages -> {
+      for (Message<String> message : messages) {
+        handler.handle(message.body());
+      }
+    }));
+  }
+
   private void testPauseFetch(BiFunction<MessageConsumer<String>, Handler<String>, ReadStream<?>> streamSupplier) throws Exception {
     List<String> data = new ArrayList<>();
     for (int i = 0; i < 11; i++) {
@@ -1029,6 +1160,415 @@ public class LocalEventBusTest extends EventBusTestBase {
     assertEquals(data.subList(data.size() - 2, data.size()), discarded);
   }
 
+  @Test
+  public void testBatchHandler() {
+    List<Integer> bodies = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+    List<Integer> received = new ArrayList<>();
+    List<Integer> sizes = new ArrayList<>();
+    MessageConsumer<Integer> consumer = eb.consumer(ADDRESS1);
+    consumer.batchHandler(4, Duration.ZERO, messages -> {
+      sizes.add(messages.size());
+      for (Message<Integer> message : messages) {
+        received.add(message.body());
+      }
+      if (received.size() == bodies.size()) {
+        assertEquals(bodies, received);
+        assertEquals(Arrays.asList(4, 4, 2), sizes);
+        testComplete();
+      }
+    });
+    consumer.completion().onComplete(onSuccess(v -> {
+      vertx.runOnContext(v2 -> eb.sendBatch(ADDRESS1, bodies, new DeliveryOptions()));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBatchHandlerMaxDelay() {
+    long delay = 200;
+    AtomicLong start = new AtomicLong();
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.batchHandler(10, Duration.ofMillis(delay), messages -> {
+      assertTrue(System.currentTimeMillis() - start.get() >= delay);
+      assertEquals(Arrays.asList("a", "b", "c"), messages.stream().map(Message::body).collect(Collectors.toList()));
+      testComplete();
+    });
+    consumer.completion().onComplete(onSuccess(v -> {
+      start.set(System.currentTimeMillis());
+      eb.send(ADDRESS1, "a");
+      eb.send(ADDRESS1, "b");
+      vertx.setTimer(delay / 2, id -> eb.send(ADDRESS1, "c"));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBatchHandlerReplaceHandler() {
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.handler(msg -> fail());
+    consumer.batchHandler(10, Duration.ZERO, messages -> {
+      assertEquals(1, messages.size());
+      assertEquals("foo", messages.get(0).body());
+      testComplete();
+    });
+    consumer.completion().onComplete(onSuccess(v -> eb.send(ADDRESS1, "foo")));
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerSend() {
+    int numMessages = 10;
+    List<String> received = new ArrayList<>();
+    eb.<Integer>consumer(new MessageConsumerOptions().setAddress("orders.*").setAddressPattern(true), msg -> {
+      received.add(msg.address());
+      if (received.size() == numMessages) {
+        assertEquals(IntStream.range(0, numMessages).mapToObj(i -> "orders." + i).collect(Collectors.toList()), received);
+        testComplete();
+      }
+    }).completion().onComplete(onSuccess(v -> {
+      eb.request("orders.0.items", "foo").onComplete(onFailure(err -> {
+        assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) err).failureType());
+        for (int i = 0;i < numMessages;i++) {
+          eb.send("orders." + i, i);
+        }
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerRoundRobin() {
+    int numMessages = 10;
+    AtomicInteger exact = new AtomicInteger();
+    AtomicInteger pattern = new AtomicInteger();
+    Runnable check = () -> {
+      if (exact.get() + pattern.get() == numMessages) {
+        assertEquals(numMessages / 2, exact.get());
+        assertEquals(numMessages / 2, pattern.get());
+        testComplete();
+      }
+    };
+    eb.consumer("orders.123", msg -> {
+      exact.incrementAndGet();
+      check.run();
+    });
+    eb.consumer(new MessageConsumerOptions().setAddress("orders.>").setAddressPattern(true), msg -> {
+      pattern.incrementAndGet();
+      check.run();
+    });
+    for (int i = 0;i < numMessages;i++) {
+      eb.send("orders.123", i);
+    }
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerRoundRobinPerAddress() {
+    int numMessages = 10;
+    Map<String, AtomicInteger> exact = new ConcurrentHashMap<>();
+    Map<String, AtomicInteger> pattern = new ConcurrentHashMap<>();
+    AtomicInteger received = new AtomicInteger();
+    Runnable check = () -> {
+      if (received.incrementAndGet() == 2 * numMessages) {
+        for (String address : Arrays.asList("orders.1", "orders.2")) {
+          assertEquals(numMessages / 2, exact.get(address).get());
+          assertEquals(numMessages / 2, pattern.get(address).get());
+        }
+        testComplete();
+      }
+    };
+    for (String address : Arrays.asList("orders.1", "orders.2")) {
+      eb.consumer(address, msg -> {
+        exact.computeIfAbsent(msg.address(), a -> new AtomicInteger()).incrementAndGet();
+        check.run();
+      });
+    }
+    eb.consumer(new MessageConsumerOptions().setAddress("orders.>").setAddressPattern(true), msg -> {
+      pattern.computeIfAbsent(msg.address(), a -> new AtomicInteger()).incrementAndGet();
+      check.run();
+    });
+    for (int i = 0;i < numMessages;i++) {
+      // Interleaved sends must not shift the round robin of the other address
+      eb.send("orders.1", i);
+      eb.send("orders.2", i);
+    }
+    await();
+  }
+
+  @Test
+  public void testEventLoopAffinity() throws Exception {
+    Vertx vertx = vertx(new VertxOptions()
+      .setEventLoopPoolSize(2)
+      .setEventBusOptions(new EventBusOptions().setHandlerSelectionPolicy(HandlerSelectionPolicy.EVENT_LOOP_AFFINITY)));
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    ContextInternal ctx1 = ((VertxInternal) vertx).createEventLoopContext();
+    ContextInternal ctx2 = ((VertxInternal) vertx).createEventLoopContext();
+    assertNotSame(ctx1.nettyEventLoop(), ctx2.nettyEventLoop());
+    int numMessages = 10;
+    AtomicInteger received = new AtomicInteger();
+    CountDownLatch registered = new CountDownLatch(2);
+    ctx1.runOnContext(v -> eb.consumer(ADDRESS1, msg -> fail()).completion().onComplete(onSuccess(r -> registered.countDown())));
+    ctx2.runOnContext(v -> eb.consumer(ADDRESS1, msg -> {
+      assertSame(ctx2.nettyEventLoop(), ContextInternal.current().nettyEventLoop());
+      if (received.incrementAndGet() == numMessages) {
+        testComplete();
+      }
+    }).completion().onComplete(onSuccess(r -> registered.countDown())));
+    awaitLatch(registered);
+    ctx2.runOnContext(v -> {
+      for (int i = 0;i < numMessages;i++) {
+        eb.send(ADDRESS1, i);
+      }
+    });
+    await();
+    assertEquals(numMessages, eb.affineDeliveries());
+    assertEquals(0, eb.crossThreadDeliveries());
+  }
+
+  @Test
+  public void testSharedBodyPublish() {
+    testSharedBody(eb, new DeliveryOptions().setSharedBody(true));
+  }
+
+  @Test
+  public void testSharedMessageBodies() {
+    Vertx vertx = vertx(new VertxOptions().setEventBusOptions(new EventBusOptions().setSharedMessageBodies(true)));
+    testSharedBody(vertx.eventBus(), new DeliveryOptions());
+  }
+
+  private void testSharedBody(EventBus eb, DeliveryOptions options) {
+    int numConsumers = 4;
+    JsonObject sent = new JsonObject().put("nested", new JsonObject().put("foo", "bar"));
+    Set<JsonObject> received = Collections.newSetFromMap(new IdentityHashMap<>());
+    AtomicInteger deliveries = new AtomicInteger();
+    for (int i = 0;i < numConsumers;i++) {
+      eb.<JsonObject>consumer(ADDRESS1, msg -> {
+        JsonObject body = msg.body();
+        assertTrue(body.isReadOnly());
+        assertEquals(sent, body);
+        try {
+          body.getJsonObject("nested").put("foo", "baz");
+          fail();
+        } catch (UnsupportedOperationException ignore) {
+        }
+        synchronized (received) {
+          // All the consumers receive the same instance
+          received.add(body);
+          assertEquals(1, received.size());
+        }
+        if (deliveries.incrementAndGet() == numConsumers) {
+          testComplete();
+        }
+      });
+    }
+    eb.publish(ADDRESS1, sent, options);
+    await();
+  }
+
+  @Test
+  public void testPriority() {
+    List<String> received = new ArrayList<>();
+    Context ctx = vertx.getOrCreateContext();
+    ctx.runOnContext(v1 -> {
+      MessageConsumer<String> consumer = eb.consumer(ADDRESS1, msg -> {
+        received.add(msg.body());
+        if (received.size() == 5) {
+          assertEquals(Arrays.asList("urgent", "control-1", "control-2", "bulk-1", "bulk-2"), received);
+          testComplete();
+        }
+      });
+      consumer.pause();
+      eb.send(ADDRESS1, "bulk-1");
+      eb.send(ADDRESS1, "control-1", new DeliveryOptions().setPriority(5));
+      eb.send(ADDRESS1, "bulk-2");
+      eb.send(ADDRESS1, "urgent", new DeliveryOptions().setPriority(DeliveryOptions.MAX_PRIORITY));
+      eb.send(ADDRESS1, "control-2", new DeliveryOptions().setPriority(5));
+      // Resume after the messages are queued
+      ctx.runOnContext(v2 -> consumer.resume());
+    });
+    await();
+  }
+
+  @Test
+  public void testPriorityLaneFull() {
+    List<String> received = new ArrayList<>();
+    List<String> discarded = new ArrayList<>();
+    Context ctx = vertx.getOrCreateContext();
+    ctx.runOnContext(v1 -> {
+      MessageConsumerImpl<String> consumer = (MessageConsumerImpl<String>) eb.<String>consumer(new MessageConsumerOptions().setAddress(ADDRESS1).setMaxBufferedMessages(2));
+      consumer.handler(msg -> {
+        assertEquals(msg.body().equals("control") ? "1" : null, msg.headers().get("__vertx.priority"));
+        received.add(msg.body());
+        if (received.size() == 3) {
+          assertEquals(Arrays.asList("control", "bulk-0", "bulk-1"), received);
+          assertEquals(Collections.singletonList("bulk-2"), discarded);
+          testComplete();
+        }
+      });
+      consumer.discardHandler(msg -> discarded.add(msg.body()));
+      consumer.pause();
+      for (int i = 0;i < 3;i++) {
+        eb.send(ADDRESS1, "bulk-" + i);
+      }
+      // The bulk lane is full
+      eb.send(ADDRESS1, "control", new DeliveryOptions().setPriority(1));
+      ctx.runOnContext(v2 -> consumer.resume());
+    });
+    await();
+  }
+
+  @Test
+  public void testReplyPriority() {
+    eb.consumer(ADDRESS1, msg -> msg.reply("pong", new DeliveryOptions().setPriority(3)));
+    eb.request(ADDRESS1, "ping").onComplete(onSuccess(reply -> {
+      assertEquals("pong", reply.body());
+      assertEquals("3", reply.headers().get("__vertx.priority"));
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testInvalidPriority() {
+    try {
+      new DeliveryOptions().setPriority(DeliveryOptions.MAX_PRIORITY + 1);
+      fail();
+    } catch (IllegalArgumentException ignore) {
+    }
+    try {
+      new DeliveryOptions().setPriority(-1);
+      fail();
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  @Test
+  public void testAddressStatistics() {
+    Vertx vertx = vertx(new VertxOptions().setEventBusOptions(new EventBusOptions().setAddressStatisticsEnabled(true)));
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.handler(msg -> {});
+    consumer.pause();
+    for (int i = 0;i < 3;i++) {
+      eb.send(ADDRESS1, "send-" + i);
+    }
+    for (int i = 0;i < 2;i++) {
+      eb.publish(ADDRESS1, "publish-" + i);
+    }
+    eb.<String>sender(ADDRESS1).write("write");
+    List<AddressStatistics> statistics = eb.addressStatistics();
+    assertEquals(1, statistics.size());
+    AddressStatistics stats = statistics.get(0);
+    assertEquals(ADDRESS1, stats.address());
+    assertEquals(4, stats.sent());
+    assertEquals(2, stats.published());
+    assertEquals(6, stats.received());
+    assertEquals(0, stats.delivered());
+    assertEquals(6, stats.pending());
+    assertEquals(0, stats.roundTrip().count());
+    assertEquals(0, stats.roundTrip().valueAtPercentile(99));
+    consumer.resume();
+    assertWaitUntil(() -> eb.addressStatistics().get(0).delivered() == 6);
+    assertEquals(0, eb.addressStatistics().get(0).pending());
+    assertEquals(0, eb.addressStatistics().get(0).discarded());
+  }
+
+  @Test
+  public void testAddressStatisticsRemovedWithLastOwner() {
+    Vertx vertx = vertx(new VertxOptions().setEventBusOptions(new EventBusOptions().setAddressStatisticsEnabled(true)));
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1, msg -> {});
+    MessageProducer<String> producer = eb.sender(ADDRESS1);
+    assertEquals(1, eb.addressStatistics().size());
+    consumer.unregister().await();
+    assertEquals(1, eb.addressStatistics().size());
+    producer.close().await();
+    assertEquals(Collections.emptyList(), eb.addressStatistics());
+  }
+
+  @Test
+  public void testAddressStatisticsInterceptorDrop() {
+    Vertx vertx = vertx(new VertxOptions().setEventBusOptions(new EventBusOptions().setAddressStatisticsEnabled(true)));
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    AtomicInteger dropped = new AtomicInteger();
+    eb.addInboundInterceptor(ctx -> dropped.incrementAndGet());
+    eb.consumer(ADDRESS1, msg -> fail());
+    for (int i = 0;i < 3;i++) {
+      eb.send(ADDRESS1, "msg-" + i);
+    }
+    assertWaitUntil(() -> dropped.get() == 3);
+    AddressStatistics stats = eb.addressStatistics().get(0);
+    assertEquals(3, stats.received());
+    assertEquals(0, stats.pending());
+  }
+
+  @Test
+  public void testLatencyStatistics() throws Exception {
+    Vertx vertx = vertx(new VertxOptions().setEventBusOptions(new EventBusOptions()
+      .setAddressStatisticsEnabled(true)
+      .setSlowConsumerWarningTime(10)));
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.handler(msg -> msg.reply("pong"));
+    consumer.pause();
+    CountDownLatch latch = new CountDownLatch(1);
+    eb.request(ADDRESS1, "ping").onComplete(onSuccess(reply -> latch.countDown()));
+    Thread.sleep(50);
+    consumer.resume();
+    awaitLatch(latch);
+    AddressStatistics stats = eb.addressStatistics().get(0);
+    LatencyStatistics queueWait = stats.queueWait();
+    assertEquals(1, queueWait.count());
+    assertTrue(queueWait.max() >= TimeUnit.MILLISECONDS.toNanos(50));
+    // Values are rounded to 1/16 of their power of two range at most
+    assertTrue(queueWait.valueAtPercentile(50) >= queueWait.max() * 15 / 16);
+    assertTrue(queueWait.valueAtPercentile(50) <= queueWait.max());
+    assertEquals(1, stats.handlerTime().count());
+    LatencyStatistics roundTrip = stats.roundTrip();
+    assertEquals(1, roundTrip.count());
+    assertTrue(roundTrip.max() >= queueWait.max());
+    assertTrue(roundTrip.mean() > 0);
+  }
+
+  @Test
+  public void testAddressStatisticsDisabled() {
+    EventBusImpl eb = (EventBusImpl) vertx.eventBus();
+    eb.consumer(ADDRESS1, msg -> {});
+    eb.send(ADDRESS1, "msg");
+    assertEquals(Collections.emptyList(), eb.addressStatistics());
+  }
+
+  @Test
+  public void testPatternConsumerPublish() {
+    waitFor(4);
+    eb.consumer("orders.123", msg -> complete());
+    eb.consumer(new MessageConsumerOptions().setAddress("orders.*").setAddressPattern(true), msg -> complete());
+    eb.consumer(new MessageConsumerOptions().setAddress("*.123").setAddressPattern(true), msg -> complete());
+    eb.consumer(new MessageConsumerOptions().setAddress(">").setAddressPattern(true), msg -> complete());
+    eb.consumer(new MessageConsumerOptions().setAddress("orders.*.created").setAddressPattern(true), msg -> fail());
+    eb.publish("orders.123", "created");
+    await();
+  }
+
+  @Test
+  public void testPatternConsumerUnregister() {
+    MessageConsumer<String> consumer = eb.consumer(new MessageConsumerOptions().setAddress("orders.>").setAddressPattern(true), msg -> fail());
+    consumer.unregister().onComplete(onSuccess(v -> {
+      eb.request("orders.123", "created").onComplete(onFailure(err -> {
+        assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) err).failureType());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInvalidPattern() {
+    for (String pattern : Arrays.asList("", "orders..123", "orders.>.created", "orders.")) {
+      assertIllegalArgumentException(() -> eb.consumer(new MessageConsumerOptions().setAddress(pattern).setAddressPattern(true)));
+    }
+  }
+
   @Test
   public void testExceptionWhenDeliveringBufferedMessageWithMessageStream() {
     testExceptionWhenDeliveringBufferedMessage((consumer, handler) -> consumer.handler(message -> handler.handle(message.body())));
@@ -1361,6 +1901,63 @@ public class LocalEventBusTest extends EventBusTestBase {
     await();
   }
 
+  @Test
+  public void testSenderFlowControl() {
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.pause();
+    consumer.handler(msg -> {});
+    MessageProducer<String> producer = eb.<String>sender(ADDRESS1).setWriteQueueMaxSize(4);
+    for (int i = 0;i < 4;i++) {
+      assertFalse(producer.writeQueueFull());
+      producer.write("body-" + i);
+    }
+    assertTrue(producer.writeQueueFull());
+    for (int i = 0;i < 4;i++) {
+      producer.write("pending-" + i);
+    }
+    producer.write("overflow").onComplete(onFailure(err -> {
+      producer.drainHandler(v -> {
+        assertFalse(producer.writeQueueFull());
+        testComplete();
+      });
+      consumer.resume();
+    }));
+    await();
+  }
+
+  @Test
+  public void testSenderFlowControlBatchesCredits() {
+    AtomicInteger creditMessages = new AtomicInteger();
+    eb.addOutboundInterceptor(ctx -> {
+      if (ctx.message().address().startsWith("__vertx.credit.")) {
+        creditMessages.incrementAndGet();
+      }
+      ctx.next();
+    });
+    MessageConsumer<String> consumer = eb.consumer(ADDRESS1);
+    consumer.pause();
+    consumer.handler(msg -> {});
+    MessageProducer<String> producer = eb.<String>sender(ADDRESS1).setWriteQueueMaxSize(100);
+    for (int i = 0;i < 100;i++) {
+      producer.write("body-" + i);
+    }
+    assertTrue(producer.writeQueueFull());
+    producer.drainHandler(v -> {
+      assertFalse(producer.writeQueueFull());
+      assertTrue("Expected batched credits instead of " + creditMessages.get() + " messages", creditMessages.get() < 10);
+      testComplete();
+    });
+    consumer.resume();
+    await();
+  }
+
+  @Test
+  public void testPublisherFlowControl() {
+    MessageProducer<String> producer = eb.publisher(ADDRESS1);
+    assertIllegalStateException(() -> producer.setWriteQueueMaxSize(4));
+    assertFalse(producer.writeQueueFull());
+  }
+
   @Test
   public void testClosePublisher() {
     MessageProducer<String> producer = eb.publisher(ADDRESS1);
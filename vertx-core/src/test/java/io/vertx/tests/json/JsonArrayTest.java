@@ -780,6 +780,40 @@ public class JsonArrayTest {
     assertFalse(iter.hasNext());
   }
 
+  @Test
+  public void testReadOnly() {
+    jsonArray.add("foo");
+    jsonArray.add(new JsonObject().put("nested", 1));
+    jsonArray.add(new ArrayList<>(Collections.singletonList("elt")));
+    JsonArray readOnly = jsonArray.asReadOnly();
+    assertFalse(jsonArray.isReadOnly());
+    assertTrue(readOnly.isReadOnly());
+    assertSame(readOnly, readOnly.asReadOnly());
+    assertEquals(jsonArray, readOnly);
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.add("bar"));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.set(0, "bar"));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.remove(0));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.remove("foo"));
+    assertThrows(UnsupportedOperationException.class, readOnly::clear);
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonObject(1).put("nested", 2));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonArray(2).add("other"));
+    assertThrows(UnsupportedOperationException.class, () -> {
+      Iterator<Object> it = readOnly.iterator();
+      it.next();
+      it.remove();
+    });
+    assertEquals("foo", readOnly.getString(0));
+    // The view reflects the modifications of the array
+    jsonArray.add("bar");
+    assertEquals(4, readOnly.size());
+    // A copy of the view is a regular JSON array
+    JsonArray copy = readOnly.copy();
+    assertFalse(copy.isReadOnly());
+    assertEquals(jsonArray, copy);
+    copy.getJsonObject(1).put("nested", 2);
+    assertEquals(1, (int) jsonArray.getJsonObject(1).getInteger("nested"));
+  }
+
   @Test
   public void testCopy() {
     jsonArray.add("foo");
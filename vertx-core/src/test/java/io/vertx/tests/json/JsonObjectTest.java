@@ -1392,6 +1392,52 @@ public class JsonObjectTest {
     assertEquals("blah", copy.getString("eek"));
   }
 
+  @Test
+  public void testReadOnly() {
+    jsonObject.put("foo", "bar");
+    jsonObject.put("wibble", new JsonObject().put("nested", 1));
+    jsonObject.put("arr", new JsonArray().add(new JsonObject().put("elt", 2)));
+    jsonObject.put("map", new HashMap<>(Collections.singletonMap("k", "v")));
+    jsonObject.put("buff", Buffer.buffer("hello"));
+    JsonObject readOnly = jsonObject.asReadOnly();
+    assertFalse(jsonObject.isReadOnly());
+    assertTrue(readOnly.isReadOnly());
+    assertSame(readOnly, readOnly.asReadOnly());
+    assertEquals(jsonObject, readOnly);
+    assertEquals(jsonObject.encode(), readOnly.encode());
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.put("foo", "baz"));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.remove("foo"));
+    assertThrows(UnsupportedOperationException.class, readOnly::clear);
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.mergeIn(new JsonObject().put("a", 1)));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonObject("wibble").put("nested", 2));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonObject("map").put("k", "w"));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonArray("arr").add(3));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getJsonArray("arr").getJsonObject(0).put("elt", 3));
+    assertThrows(UnsupportedOperationException.class, () -> readOnly.getMap().put("foo", "baz"));
+    assertThrows(UnsupportedOperationException.class, () -> {
+      Iterator<Map.Entry<String, Object>> it = readOnly.iterator();
+      it.next();
+      it.remove();
+    });
+    assertThrows(java.nio.ReadOnlyBufferException.class, () -> readOnly.getBuffer("buff").appendString("!"));
+    assertEquals("bar", readOnly.getString("foo"));
+    assertEquals("hello", readOnly.getBuffer("buff").toString());
+    // The view reflects the modifications of the object
+    jsonObject.put("foo", "baz");
+    assertEquals("baz", readOnly.getString("foo"));
+    // A copy of the view is a regular JSON object
+    JsonObject copy = readOnly.copy();
+    assertFalse(copy.isReadOnly());
+    assertEquals(jsonObject, copy);
+    assertEquals(new ArrayList<>(jsonObject.fieldNames()), new ArrayList<>(copy.fieldNames()));
+    copy.put("foo", "quux");
+    copy.getJsonObject("wibble").put("nested", 2);
+    copy.getBuffer("buff").appendString("!");
+    assertEquals("baz", jsonObject.getString("foo"));
+    assertEquals(1, (int) jsonObject.getJsonObject("wibble").getInteger("nested"));
+    assertEquals("hello", jsonObject.getBuffer("buff").toString());
+  }
+
   @Test
   public void testInvalidValsOnCopy1() {
     SomeClass invalid = new SomeClass();
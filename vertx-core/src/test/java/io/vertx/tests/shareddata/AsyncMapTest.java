@@ -20,6 +20,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.AsyncMap;
 import io.vertx.core.shareddata.ClusterSerializable;
 import io.vertx.core.shareddata.SharedData;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.test.core.VertxTestBase;
 import org.junit.Assert;
 import org.junit.Test;
@@ -745,6 +746,136 @@ public abstract class AsyncMapTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testGetAll() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    loadData(map, (vertx, asyncMap) -> {
+      Set<JsonObject> keys = new HashSet<>(map.keySet());
+      JsonObject missing = new JsonObject().put("key", -1);
+      keys.add(missing);
+      asyncMap
+        .getAll(keys)
+        .expecting(that(res -> assertEquals(map, res)))
+        .compose(v -> asyncMap.getAll(Collections.emptySet()))
+        .expecting(that(res -> assertTrue(res.isEmpty())))
+        .onComplete(onSuccess(res -> testComplete()));
+    });
+    await();
+  }
+
+  @Test
+  public void testPutAll() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    getVertx().sharedData().<JsonObject, Buffer>getAsyncMap("foo")
+      .compose(asyncMap -> asyncMap
+        .putAll(map)
+        .compose(v -> asyncMap.entries())
+        .expecting(that(res -> assertEquals(map, res))))
+      .onComplete(onSuccess(res -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testPutAllTtl() {
+    SharedData sharedData = getVertx().sharedData();
+    Map<String, String> map = new HashMap<>();
+    map.put("pipo", "molo");
+    map.put("pipa", "mola");
+    sharedData.<String, String>getAsyncMap("foo")
+      .compose(asyncMap -> asyncMap.putAll(map, 10))
+      .compose(v -> assertWaitUntilMapContains(sharedData, "foo", "pipo", 15, Objects::isNull))
+      .compose(v -> assertWaitUntilMapContains(sharedData, "foo", "pipa", 15, Objects::isNull))
+      .onComplete(onSuccess(v -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testRemoveAll() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    loadData(map, (vertx, asyncMap) -> {
+      Set<JsonObject> removed = new HashSet<>();
+      map.keySet().stream().limit(50).forEach(removed::add);
+      asyncMap
+        .removeAll(removed)
+        .compose(v -> asyncMap.keys())
+        .expecting(that(keys -> {
+          assertEquals(50, keys.size());
+          for (JsonObject key : removed) {
+            assertFalse(keys.contains(key));
+          }
+        }))
+        .onComplete(onSuccess(res -> testComplete()));
+    });
+    await();
+  }
+
+  @Test
+  public void testBulkOperationsRejectInvalidTypes() {
+    getVertx().sharedData().<Object, Object>getAsyncMap("foo").onComplete(onSuccess(asyncMap -> {
+      assertIllegalArgumentException(() -> asyncMap.getAll(Collections.singleton(new SomeObject())));
+      assertIllegalArgumentException(() -> asyncMap.putAll(Collections.singletonMap("foo", new SomeObject())));
+      assertIllegalArgumentException(() -> asyncMap.putAll(Collections.singletonMap(new SomeObject(), "foo"), 10));
+      assertIllegalArgumentException(() -> asyncMap.removeAll(Collections.singleton(new SomeObject())));
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testEntryStream() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    loadData(map, (vertx, asyncMap) -> {
+      Map<JsonObject, Buffer> entries = new HashMap<>();
+      asyncMap.entryStream(7)
+        .exceptionHandler(this::fail)
+        .endHandler(v -> {
+          assertEquals(map, entries);
+          testComplete();
+        })
+        .handler(entry -> assertNull(entries.put(entry.getKey(), entry.getValue())));
+    });
+    await();
+  }
+
+  @Test
+  public void testEntryStreamEndHandlerSetAfterHandler() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    loadData(map, (vertx, asyncMap) -> {
+      Map<JsonObject, Buffer> entries = new HashMap<>();
+      asyncMap.entryStream(7)
+        .exceptionHandler(this::fail)
+        .handler(entry -> assertNull(entries.put(entry.getKey(), entry.getValue())))
+        .endHandler(v -> {
+          assertEquals(map, entries);
+          testComplete();
+        });
+    });
+    await();
+  }
+
+  @Test
+  public void testEntryStreamBackPressure() {
+    Map<JsonObject, Buffer> map = genJsonToBuffer(100);
+    loadData(map, (vertx, asyncMap) -> {
+      Map<JsonObject, Buffer> entries = new HashMap<>();
+      ReadStream<Map.Entry<JsonObject, Buffer>> stream = asyncMap.entryStream(10);
+      stream.pause();
+      stream
+        .endHandler(v -> {
+          assertEquals(map, entries);
+          testComplete();
+        })
+        .handler(entry -> {
+          assertNull(entries.put(entry.getKey(), entry.getValue()));
+          // One entry per fetch
+          vertx.runOnContext(v -> stream.fetch(1));
+        });
+      assertTrue(entries.isEmpty());
+      stream.fetch(1);
+    });
+    await();
+  }
+
   protected Map<JsonObject, Buffer> genJsonToBuffer(int size) {
     Map<JsonObject, Buffer> map = new HashMap<>();
     for (int i = 0; i < size; i++) {
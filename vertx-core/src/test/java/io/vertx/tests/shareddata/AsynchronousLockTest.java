@@ -20,6 +20,7 @@ import io.vertx.test.core.VertxTestBase;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -352,4 +353,89 @@ public class AsynchronousLockTest extends VertxTestBase {
       }));
     await();
   }
+
+  @Test
+  public void testLocalLockFifo() {
+    int numWaiters = 20;
+    SharedData sharedData = getVertx().sharedData();
+    List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    sharedData.getLocalLock("foo").onComplete(onSuccess(lock -> {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0;i < numWaiters;i++) {
+        int val = i;
+        futures.add(sharedData.getLocalLock("foo").andThen(onSuccess(l -> {
+          order.add(val);
+          l.release();
+        })));
+      }
+      lock.release();
+      Future.all(futures).onComplete(onSuccess(v -> {
+        for (int i = 0;i < numWaiters;i++) {
+          assertEquals(i, (int) order.get(i));
+        }
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testLocalReadWriteLock() {
+    SharedData sharedData = getVertx().sharedData();
+    sharedData.getLocalReadLock("foo").onComplete(onSuccess(read1 -> {
+      // Read locks are shared
+      sharedData.getLocalReadLock("foo").onComplete(onSuccess(read2 -> {
+        Future<Lock> write = sharedData.getLocalWriteLock("foo");
+        assertFalse(write.isComplete());
+        // A reader queued after a writer waits for it
+        sharedData.getLocalReadLockWithTimeout("foo", 100).onComplete(onFailure(err1 -> {
+          write.onComplete(onSuccess(lock -> {
+            sharedData.getLocalReadLockWithTimeout("foo", 100).onComplete(onFailure(err2 -> {
+              lock.release();
+              sharedData.getLocalReadLock("foo").onComplete(onSuccess(read3 -> {
+                read3.release();
+                testComplete();
+              }));
+            }));
+          }));
+          read1.release();
+          read2.release();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testLocalSemaphore() {
+    SharedData sharedData = getVertx().sharedData();
+    sharedData.getLocalSemaphore("foo", 2).onComplete(onSuccess(permit1 -> {
+      sharedData.getLocalSemaphore("foo", 2).onComplete(onSuccess(permit2 -> {
+        LockInternal internal = (LockInternal) permit2;
+        long start = System.currentTimeMillis();
+        sharedData.getLocalSemaphoreWithTimeout("foo", 2, 200).onComplete(onFailure(err -> {
+          assertTrue(System.currentTimeMillis() - start >= 200);
+          assertEquals(0, internal.waiters());
+          sharedData.getLocalSemaphore("foo", 3).onComplete(onFailure(err2 -> {
+            assertTrue(err2 instanceof IllegalStateException);
+            sharedData.getLocalSemaphore("foo", 2).onComplete(onSuccess(permit3 -> {
+              permit2.release();
+              permit3.release();
+              testComplete();
+            }));
+            assertEquals(1, internal.waiters());
+            permit1.release();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testIllegalSemaphoreArguments() {
+    assertNullPointerException(() -> getVertx().sharedData().getLocalSemaphore(null, 1));
+    assertIllegalArgumentException(() -> getVertx().sharedData().getLocalSemaphore("foo", 0));
+    assertIllegalArgumentException(() -> getVertx().sharedData().getLocalSemaphoreWithTimeout("foo", 1, -1));
+  }
 }
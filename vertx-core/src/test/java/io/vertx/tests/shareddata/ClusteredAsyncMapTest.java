@@ -13,6 +13,9 @@ package io.vertx.tests.shareddata;
 
 import io.vertx.core.Future;
 import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.LocalMapOptions;
+import io.vertx.core.shareddata.impl.LocalMapStatistics;
+import io.vertx.core.shareddata.impl.SharedDataImpl;
 import org.junit.Test;
 
 import io.vertx.core.Vertx;
@@ -75,4 +78,58 @@ public class ClusteredAsyncMapTest extends AsyncMapTest {
     await();
   }
 
+  @Test
+  public void testNearCache() throws Exception {
+    LocalMapOptions options = new LocalMapOptions().setMaxSize(100).setExpireAfterWrite(60_000);
+    AsyncMap<String, String> map1 = vertices[0].sharedData().<String, String>getClusterWideMap("near", options).await();
+    AsyncMap<String, String> map2 = vertices[1].sharedData().<String, String>getClusterWideMap("near", options).await();
+    map1.put("foo", "bar").await();
+    SharedDataImpl sharedData = (SharedDataImpl) vertices[1].sharedData();
+    // The invalidation published by the put can reach the node after a read, the value is then read again
+    assertWaitUntil(() -> "bar".equals(map2.get("foo").await()) && sharedData.nearCacheStatistics("near").hits() == 1);
+    LocalMapStatistics stats = sharedData.nearCacheStatistics("near");
+    assertEquals(stats.hits() / (double) (stats.hits() + stats.misses()), stats.hitRatio(), 0D);
+    // Mutating a key on a node invalidates it on the others
+    map1.put("foo", "baz").await();
+    assertWaitUntil(() -> "baz".equals(map2.get("foo").await()));
+    map1.clear().await();
+    assertWaitUntil(() -> map2.get("foo").await() == null);
+  }
+
+  @Test
+  public void testNearCacheInvalidatedByPlainMap() throws Exception {
+    LocalMapOptions options = new LocalMapOptions().setExpireAfterWrite(60_000);
+    AsyncMap<String, String> map1 = vertices[0].sharedData().<String, String>getClusterWideMap("near-plain").await();
+    AsyncMap<String, String> map2 = vertices[1].sharedData().<String, String>getClusterWideMap("near-plain", options).await();
+    map1.put("foo", "bar").await();
+    SharedDataImpl sharedData = (SharedDataImpl) vertices[1].sharedData();
+    assertWaitUntil(() -> "bar".equals(map2.get("foo").await()) && sharedData.nearCacheStatistics("near-plain").hits() == 1);
+    // Mutating a key through a map without near cache invalidates it on the other nodes
+    map1.put("foo", "baz").await();
+    assertWaitUntil(() -> "baz".equals(map2.get("foo").await()));
+    map1.clear().await();
+    assertWaitUntil(() -> map2.get("foo").await() == null);
+  }
+
+  @Test
+  public void testNearCacheRequiresExpireAfterWrite() {
+    try {
+      vertices[0].sharedData().getClusterWideMap("near", new LocalMapOptions().setMaxSize(100));
+      fail();
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  @Test
+  public void testNearCacheEntryTtl() throws Exception {
+    LocalMapOptions options = new LocalMapOptions().setExpireAfterWrite(200);
+    AsyncMap<String, String> map1 = vertices[0].sharedData().<String, String>getClusterWideMap("near-ttl", options).await();
+    AsyncMap<String, String> map2 = vertices[1].sharedData().<String, String>getClusterWideMap("near-ttl", options).await();
+    map1.put("foo", "bar", 100).await();
+    assertEquals("bar", map2.get("foo").await());
+    // The value cached before the cluster entry expired is dropped when the near cache entry expires
+    assertWaitUntil(() -> map2.get("foo").await() == null);
+    Thread.sleep(300);
+    assertNull(map2.get("foo").await());
+  }
 }
@@ -11,10 +11,28 @@
 
 package io.vertx.tests.shareddata;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.LocalMapOptions;
+import io.vertx.core.shareddata.impl.LocalAsyncMapImpl;
+import io.vertx.core.shareddata.impl.LocalMapStatistics;
+import io.vertx.core.shareddata.impl.SharedDataImpl;
 import io.vertx.test.core.Repeat;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.vertx.test.core.AssertExpectations.that;
+
 /**
  * @author Thomas Segismont
  */
@@ -45,4 +63,157 @@ public class LocalAsyncMapTest extends AsyncMapTest {
   public void testMapPutIfAbsentTtl() {
     super.testMapPutIfAbsentTtl();
   }
+
+  @Test
+  public void testCacheMaxSize() {
+    vertx.sharedData().<String, String>getLocalAsyncMap("cache", new LocalMapOptions().setMaxSize(2))
+      .compose(map -> map.put("a", "1")
+        .compose(v -> map.put("b", "2"))
+        .compose(v -> map.put("c", "3"))
+        .compose(v -> map.size())
+        .expecting(that(size -> assertEquals(2, (int) size)))
+        .compose(v -> map.get("a"))
+        .expecting(that(Assert::assertNull)))
+      .onComplete(onSuccess(v -> {
+        LocalMapStatistics stats = ((SharedDataImpl) vertx.sharedData()).localAsyncMapStatistics("cache");
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.misses());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testTtlSweeper() {
+    vertx.sharedData().<String, String>getLocalAsyncMap("foo")
+      .compose(map -> map.put("pipo", "molo", 10)
+        .compose(v -> map.put("pipa", "mola", 10)))
+      .onComplete(onSuccess(v -> testComplete()));
+    await();
+    // The entries are not read, the sweeper reclaims them
+    assertWaitUntil(() -> ((SharedDataImpl) vertx.sharedData()).localAsyncMapStatistics("foo").expirations() == 2);
+  }
+
+  @Test
+  public void testBulkOperationsDefaults() {
+    AsyncMap<String, String> map = new SingleKeyAsyncMap<>(new LocalAsyncMapImpl<>((VertxInternal) vertx));
+    Map<String, String> entries = new HashMap<>();
+    entries.put("a", "1");
+    entries.put("b", "2");
+    entries.put("c", "3");
+    map.putAll(entries)
+      .compose(v -> map.getAll(new HashSet<>(Arrays.asList("a", "b", "d"))))
+      .expecting(that(res -> {
+        assertEquals(2, res.size());
+        assertEquals("1", res.get("a"));
+        assertEquals("2", res.get("b"));
+      }))
+      .compose(v -> map.removeAll(new HashSet<>(Arrays.asList("a", "c"))))
+      .compose(v -> map.keys())
+      .expecting(that(keys -> assertEquals(Collections.singleton("b"), keys)))
+      .onComplete(onSuccess(v -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testEntryStreamDefault() {
+    AsyncMap<String, String> map = new SingleKeyAsyncMap<>(new LocalAsyncMapImpl<>((VertxInternal) vertx));
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0;i < 50;i++) {
+      expected.put("key-" + i, "value-" + i);
+    }
+    Map<String, String> entries = new HashMap<>();
+    map.putAll(expected).onComplete(onSuccess(v -> {
+      map.entryStream(8)
+        .exceptionHandler(this::fail)
+        .endHandler(v2 -> {
+          assertEquals(expected, entries);
+          testComplete();
+        })
+        .handler(entry -> entries.put(entry.getKey(), entry.getValue()));
+    }));
+    await();
+  }
+
+  /**
+   * Only implements the single-key operations, the bulk operations use the defaults of {@link AsyncMap}.
+   */
+  private static class SingleKeyAsyncMap<K, V> implements AsyncMap<K, V> {
+
+    private final AsyncMap<K, V> delegate;
+
+    SingleKeyAsyncMap(AsyncMap<K, V> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Future<V> get(K k) {
+      return delegate.get(k);
+    }
+
+    @Override
+    public Future<Void> put(K k, V v) {
+      return delegate.put(k, v);
+    }
+
+    @Override
+    public Future<Void> put(K k, V v, long ttl) {
+      return delegate.put(k, v, ttl);
+    }
+
+    @Override
+    public Future<V> putIfAbsent(K k, V v) {
+      return delegate.putIfAbsent(k, v);
+    }
+
+    @Override
+    public Future<V> putIfAbsent(K k, V v, long ttl) {
+      return delegate.putIfAbsent(k, v, ttl);
+    }
+
+    @Override
+    public Future<V> remove(K k) {
+      return delegate.remove(k);
+    }
+
+    @Override
+    public Future<Boolean> removeIfPresent(K k, V v) {
+      return delegate.removeIfPresent(k, v);
+    }
+
+    @Override
+    public Future<V> replace(K k, V v) {
+      return delegate.replace(k, v);
+    }
+
+    @Override
+    public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue) {
+      return delegate.replaceIfPresent(k, oldValue, newValue);
+    }
+
+    @Override
+    public Future<Void> clear() {
+      return delegate.clear();
+    }
+
+    @Override
+    public Future<Integer> size() {
+      return delegate.size();
+    }
+
+    @Override
+    public Future<Set<K>> keys() {
+      return delegate.keys();
+    }
+
+    @Override
+    public Future<List<V>> values() {
+      return delegate.values();
+    }
+
+    @Override
+    public Future<Map<K, V>> entries() {
+      return delegate.entries();
+    }
+  }
 }
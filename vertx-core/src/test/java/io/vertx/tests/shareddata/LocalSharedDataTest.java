@@ -12,11 +12,15 @@
 package io.vertx.tests.shareddata;
 
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.LocalMapOptions;
 import io.vertx.core.shareddata.Shareable;
 import io.vertx.core.shareddata.SharedData;
+import io.vertx.core.shareddata.impl.LocalMapStatistics;
+import io.vertx.core.shareddata.impl.SharedDataImpl;
 import io.vertx.tests.shareddata.AsyncMapTest.SomeClusterSerializableObject;
 import io.vertx.tests.shareddata.AsyncMapTest.SomeSerializableObject;
 import io.vertx.test.core.TestUtils;
@@ -374,6 +378,175 @@ public class LocalSharedDataTest extends VertxTestBase {
     testMapOperationResult(LocalMap::remove);
   }
 
+  @Test
+  public void testCacheMaxSize() {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache", new LocalMapOptions().setMaxSize(2));
+    map.put("a", "1");
+    map.put("b", "2");
+    // Read a, so b is the least recently used entry
+    assertEquals("1", map.get("a"));
+    map.put("c", "3");
+    assertEquals(2, map.size());
+    assertTrue(map.containsKey("a"));
+    assertFalse(map.containsKey("b"));
+    assertTrue(map.containsKey("c"));
+    assertNull(map.get("b"));
+    LocalMapStatistics stats = ((SharedDataImpl) sharedData).localMapStatistics("cache");
+    assertEquals(1, stats.hits());
+    assertEquals(1, stats.misses());
+    assertEquals(1, stats.evictions());
+  }
+
+  @Test
+  public void testCacheExpireAfterWrite() {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache", new LocalMapOptions().setExpireAfterWrite(10));
+    map.put("a", "1");
+    assertEquals("1", map.get("a"));
+    assertWaitUntil(() -> map.get("a") == null);
+    assertEquals(0, map.size());
+    assertTrue(map.isEmpty());
+    assertEquals(1, ((SharedDataImpl) sharedData).localMapStatistics("cache").expirations());
+  }
+
+  @Test
+  public void testCacheExpireAfterAccess() throws Exception {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache", new LocalMapOptions().setExpireAfterAccess(200));
+    map.put("a", "1");
+    map.put("b", "2");
+    long start = System.currentTimeMillis();
+    while (System.currentTimeMillis() - start < 400) {
+      assertEquals("1", map.get("a"));
+      Thread.sleep(20);
+    }
+    assertEquals("1", map.get("a"));
+    assertNull(map.get("b"));
+    assertEquals(Collections.singleton("a"), map.keySet());
+  }
+
+  @Test
+  public void testCacheSweeper() {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache", new LocalMapOptions().setExpireAfterWrite(10));
+    for (int i = 0;i < 100;i++) {
+      map.put("key-" + i, "value-" + i);
+    }
+    // The entries are not read, the sweeper reclaims them
+    assertWaitUntil(() -> ((SharedDataImpl) sharedData).localMapStatistics("cache").expirations() == 100);
+    assertEquals(0, ((SharedDataImpl) sharedData).localMapStatistics("cache").misses());
+    map.close();
+  }
+
+  @Test
+  public void testCacheSweeperAccessedEntries() throws Exception {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache", new LocalMapOptions().setExpireAfterAccess(100));
+    map.put("a", "1");
+    map.put("b", "2");
+    // The sweeper reclaims b and links a again at its access deadline
+    long start = System.currentTimeMillis();
+    while (((SharedDataImpl) sharedData).localMapStatistics("cache").expirations() == 0) {
+      assertEquals("1", map.get("a"));
+      assertTrue(System.currentTimeMillis() - start < 10_000);
+      Thread.sleep(10);
+    }
+    assertEquals("1", map.get("a"));
+    assertWaitUntil(() -> ((SharedDataImpl) sharedData).localMapStatistics("cache").expirations() == 2);
+    assertEquals(0, ((SharedDataImpl) sharedData).localMapStatistics("cache").misses());
+    map.close();
+  }
+
+  @Test
+  public void testCacheOptionsOnlyApplyOnCreation() {
+    LocalMap<String, String> map = sharedData.getLocalMap("cache");
+    assertSame(map, sharedData.getLocalMap("cache", new LocalMapOptions().setMaxSize(1)));
+    map.put("a", "1");
+    map.put("b", "2");
+    assertEquals(2, map.size());
+    assertNull(((SharedDataImpl) sharedData).localMapStatistics("cache"));
+  }
+
+  @Test
+  public void testCacheCompute() {
+    LocalMap<String, Integer> map = sharedData.getLocalMap("cache", new LocalMapOptions().setMaxSize(10));
+    assertEquals(1, (int) map.merge("a", 1, Integer::sum));
+    assertEquals(2, (int) map.merge("a", 1, Integer::sum));
+    assertEquals(2, (int) map.computeIfAbsent("a", k -> 5));
+    assertEquals(3, (int) map.computeIfPresent("a", (k, v) -> v + 1));
+    assertNull(map.compute("a", (k, v) -> null));
+    assertFalse(map.containsKey("a"));
+    assertEquals(5, (int) map.computeIfAbsent("b", k -> 5));
+    assertTrue(map.replaceIfPresent("b", 5, 6));
+    assertFalse(map.replaceIfPresent("b", 5, 7));
+    assertTrue(map.removeIfPresent("b", 6));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testInvalidCacheOptions() {
+    assertIllegalArgumentException(() -> new LocalMapOptions().setMaxSize(-1));
+    assertIllegalArgumentException(() -> new LocalMapOptions().setExpireAfterWrite(-1));
+    assertIllegalArgumentException(() -> new LocalMapOptions().setExpireAfterAccess(-1));
+  }
+
+  @Test
+  public void testOffHeapMap() {
+    LocalMap<String, Object> map = sharedData.getOffHeapLocalMap("offheap", 1024);
+    Buffer buffer = TestUtils.randomBuffer(100);
+    byte[] bytes = TestUtils.randomByteArray(50);
+    assertNull(map.put("buffer", buffer));
+    assertNull(map.put("bytes", bytes));
+    Buffer found = (Buffer) map.get("buffer");
+    assertEquals(buffer, found);
+    assertTrue(((BufferInternal) found).isReadOnly());
+    byte[] foundBytes = (byte[]) map.get("bytes");
+    assertTrue(Arrays.equals(bytes, foundBytes));
+    assertNotSame(foundBytes, map.get("bytes"));
+    assertTrue(map.replaceIfPresent("bytes", bytes, new byte[] { 1 }));
+    assertFalse(map.removeIfPresent("buffer", Buffer.buffer("other")));
+    assertTrue(map.removeIfPresent("buffer", buffer));
+    assertEquals(1, map.size());
+    assertIllegalArgumentException(() -> map.put("string", "value"));
+    assertIllegalArgumentException(() -> map.put("big", TestUtils.randomBuffer(2048)));
+    assertNotSame(map, sharedData.getLocalMap("offheap"));
+    assertSame(map, sharedData.getOffHeapLocalMap("offheap", 1024));
+    assertIllegalArgumentException(() -> sharedData.getOffHeapLocalMap("other", 0));
+  }
+
+  @Test
+  public void testOffHeapMapEviction() {
+    LocalMap<Integer, Buffer> map = sharedData.getOffHeapLocalMap("offheap", 256);
+    for (int i = 0;i < 10;i++) {
+      map.put(i, TestUtils.randomBuffer(100));
+    }
+    // The oldest values are evicted
+    assertEquals(2, map.size());
+    assertTrue(map.containsKey(8));
+    assertTrue(map.containsKey(9));
+    LocalMapStatistics stats = ((SharedDataImpl) sharedData).offHeapLocalMapStatistics("offheap");
+    assertEquals(8, stats.evictions());
+    assertEquals(256, stats.memoryUsed());
+    assertEquals(256, stats.memoryCapacity());
+    Buffer value = map.get(9);
+    map.close();
+    assertNull(((SharedDataImpl) sharedData).offHeapLocalMapStatistics("offheap"));
+    // A value read before the slab was dropped is still readable
+    assertEquals(100, value.length());
+  }
+
+  @Test
+  public void testOffHeapMapEvictsOldestSlab() {
+    int capacity = 1024 * 1024;
+    LocalMap<Integer, Buffer> map = sharedData.getOffHeapLocalMap("offheap", capacity);
+    Buffer value = TestUtils.randomBuffer(1000);
+    for (int i = 0;i < 1100;i++) {
+      map.put(i, value);
+    }
+    // Only the oldest slab is dropped when the capacity is reached
+    assertTrue(map.size() > 900);
+    assertTrue(map.containsKey(1099));
+    LocalMapStatistics stats = ((SharedDataImpl) sharedData).offHeapLocalMapStatistics("offheap");
+    assertTrue(stats.memoryUsed() <= capacity);
+    map.close();
+  }
+
   private void testMapOperationResult(BiFunction<LocalMap<String, ShareableObject>, String, ShareableObject> operation) {
     final String key = "key";
     final ShareableObject value = new ShareableObject("some test data");
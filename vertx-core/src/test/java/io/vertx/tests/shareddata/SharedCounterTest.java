@@ -12,9 +12,13 @@
 package io.vertx.tests.shareddata;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.Counter;
+import io.vertx.core.shareddata.LocalCounter;
 import io.vertx.test.core.VertxTestBase;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+
 import static io.vertx.test.core.TestUtils.assertNullPointerException;
 
 /**
@@ -165,4 +169,60 @@ public class SharedCounterTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testStripedLocalCounter() throws Exception {
+    Vertx vertx = getVertx();
+    LocalCounter counter = vertx.sharedData().getStripedLocalCounter("striped");
+    assertSame(counter, vertx.sharedData().getStripedLocalCounter("striped"));
+    int threads = 4;
+    int increments = 10_000;
+    CountDownLatch latch = new CountDownLatch(threads);
+    for (int i = 0;i < threads;i++) {
+      vertx.runOnContext(v -> {
+        for (int j = 0;j < increments;j++) {
+          counter.addLocal(1);
+        }
+        latch.countDown();
+      });
+    }
+    awaitLatch(latch);
+    assertEquals(threads * increments, counter.getLocal());
+    assertEquals(threads * increments + 2, counter.addAndGetLocal(2));
+    Counter c = counter;
+    c.incrementAndGet().onComplete(onSuccess(res -> {
+      assertEquals(threads * increments + 3, res.longValue());
+      c.compareAndSet(threads * increments + 3, 5).onComplete(onSuccess(set -> {
+        assertTrue(set);
+        assertEquals(5L, counter.getLocal());
+        c.compareAndSet(4, 7).onComplete(onSuccess(set2 -> {
+          assertFalse(set2);
+          c.getAndAdd(3).onComplete(onSuccess(res2 -> {
+            assertEquals(5L, res2.longValue());
+            assertEquals(8L, counter.getLocal());
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testStripedLocalCounterNameClash() {
+    Vertx vertx = getVertx();
+    vertx.sharedData().getLocalCounter("plain").onComplete(onSuccess(counter -> {
+      try {
+        vertx.sharedData().getStripedLocalCounter("plain");
+        fail();
+      } catch (IllegalStateException ignore) {
+      }
+      assertNullPointerException(() -> vertx.sharedData().getStripedLocalCounter(null));
+      vertx.sharedData().getStripedLocalCounter("striped");
+      vertx.sharedData().getLocalCounter("striped").onComplete(onFailure(err -> {
+        assertTrue(err instanceof IllegalStateException);
+        testComplete();
+      }));
+    }));
+    await();
+  }
 }